@@ -0,0 +1,116 @@
+package org.example.benchmarks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.example.controller.DashboardRequests.CreateFood;
+import org.example.controller.DashboardResponses;
+import org.example.controller.DashboardResponses.FoodResponse;
+import org.example.foodcategories.FoodCategory;
+import org.example.nutrition.MacroProfile;
+import org.example.repository.projection.FoodSummary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request/response (de)serialization of the food endpoints, Map-based vs typed:
+ *  • readCreateFoodAsMap() / readCreateFoodAsRecord()  - binding a POST /api/foods body
+ *  • writeMealFoodsAsMaps() / writeMealFoodsAsRecords() - building and writing
+ *    the GET /api/meals/{mealId}/foods body
+ * The Map variants reproduce the controller code before the records were introduced.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ApiBindingBenchmark {
+
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() { };
+
+    @Param({"10", "100"})
+    public int foodCount;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private ObjectReader createFoodReader;
+    private ObjectWriter foodsWriter;
+
+    private byte[] createFoodJson;
+    private List<FoodSummary> foods;
+    private Map<Long, FoodCategory> categoriesById;
+
+    @Setup
+    public void setUp() {
+        createFoodReader = mapper.readerFor(CreateFood.class);
+        foodsWriter = mapper.writerFor(new TypeReference<List<FoodResponse>>() { });
+
+        createFoodJson = "{\"mealId\":42,\"categoryId\":\"7\",\"quantity\":150}".getBytes(StandardCharsets.UTF_8);
+
+        List<FoodCategory> categories = SyntheticData.categories(200);
+        foods = SyntheticData.summaries(SyntheticData.foods(foodCount, categories));
+        categoriesById = new HashMap<>();
+        for (FoodCategory category : categories) {
+            categoriesById.put(category.getId(), category);
+        }
+    }
+
+    @Benchmark
+    public long readCreateFoodAsMap() throws Exception {
+        Map<String, Object> payload = mapper.readValue(createFoodJson, MAP_TYPE);
+        long mealId = Long.valueOf(payload.get("mealId").toString());
+        long categoryId = Long.valueOf(payload.get("categoryId").toString());
+        int quantity = Integer.valueOf(payload.get("quantity").toString());
+        return mealId + categoryId + quantity;
+    }
+
+    @Benchmark
+    public long readCreateFoodAsRecord() throws Exception {
+        CreateFood request = createFoodReader.readValue(createFoodJson);
+        return request.mealId() + request.categoryId() + request.quantity();
+    }
+
+    @Benchmark
+    public byte[] writeMealFoodsAsMaps() throws Exception {
+        List<Map<String, Object>> foodData = new ArrayList<>(foods.size());
+        for (FoodSummary food : foods) {
+            FoodCategory category = categoriesById.get(food.categoryId());
+            MacroProfile profile = MacroProfile.of(category);
+            int quantity = food.quantity();
+
+            Map<String, Object> foodMap = new HashMap<>();
+            foodMap.put("id", food.id());
+            foodMap.put("categoryId", food.categoryId());
+            foodMap.put("categoryName", category != null ? category.getName() : "Unknown Category");
+            foodMap.put("quantity", quantity);
+            foodMap.put("prot", profile.protFor(quantity));
+            foodMap.put("carb", profile.carbFor(quantity));
+            foodMap.put("fat", profile.fatFor(quantity));
+            foodMap.put("kcal", profile.kcalFor(quantity));
+            foodMap.put("gTot", quantity);
+            foodMap.put("mealId", food.mealId());
+            foodData.add(foodMap);
+        }
+        return mapper.writeValueAsBytes(foodData);
+    }
+
+    @Benchmark
+    public byte[] writeMealFoodsAsRecords() throws Exception {
+        List<FoodResponse> foodData = new ArrayList<>(foods.size());
+        for (FoodSummary food : foods) {
+            foodData.add(DashboardResponses.foodResponse(food, categoriesById.get(food.categoryId())));
+        }
+        return foodsWriter.writeValueAsBytes(foodData);
+    }
+}
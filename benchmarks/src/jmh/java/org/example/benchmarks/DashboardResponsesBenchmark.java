@@ -0,0 +1,79 @@
+package org.example.benchmarks;
+
+import org.example.controller.DashboardResponses;
+import org.example.foodcategories.FoodCategory;
+import org.example.repository.projection.FoodSummary;
+import org.example.service.FoodCategoryCatalog;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response building of the dashboard:
+ *  • foodCategoriesJson() - rebuilding the categories snapshot inlined by dashboard()
+ *  • mealFoods()          - the per-row responses returned by getMealFoods()
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DashboardResponsesBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Categories {
+
+        @Param({"50", "500"})
+        public int categoryCount;
+
+        List<FoodCategory> categories;
+
+        @Setup
+        public void setUp() {
+            categories = SyntheticData.categories(categoryCount);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class MealFoods {
+
+        @Param({"10", "100", "1000"})
+        public int foodCount;
+
+        Map<Long, FoodCategory> categoriesById;
+        List<FoodSummary> foods;
+
+        @Setup
+        public void setUp() {
+            List<FoodCategory> categories = SyntheticData.categories(200);
+            foods = SyntheticData.summaries(SyntheticData.foods(foodCount, categories));
+
+            categoriesById = new HashMap<>();
+            for (FoodCategory category : categories) {
+                categoriesById.put(category.getId(), category);
+            }
+        }
+    }
+
+    @Benchmark
+    public FoodCategoryCatalog.Snapshot foodCategoriesJson(Categories state) {
+        return FoodCategoryCatalog.Snapshot.of(state.categories);
+    }
+
+    @Benchmark
+    public List<DashboardResponses.FoodResponse> mealFoods(MealFoods state) {
+        List<DashboardResponses.FoodResponse> foodData = new ArrayList<>(state.foods.size());
+        for (FoodSummary food : state.foods) {
+            foodData.add(DashboardResponses.foodResponse(food, state.categoriesById.get(food.categoryId())));
+        }
+        return foodData;
+    }
+}
@@ -0,0 +1,70 @@
+package org.example.benchmarks;
+
+import org.example.foodcategories.FoodCategory;
+import org.example.model.Food;
+import org.example.nutrition.MacroProfile;
+import org.example.nutrition.NutritionAggregation;
+import org.example.repository.projection.FoodNutritionRow;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Nutrition math over one synthetic athlete:
+ *  • aggregate()   - full recomputation, as done by MacroTotalsRecalculator
+ *  • maintain()    - incremental meal/day totals (MacroTotals.add), the in-memory
+ *                    form of the relative UPDATEs NutritionService issues per food write
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class NutritionAggregationBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int foodCount;
+
+    private List<FoodNutritionRow> rows;
+    private Map<Long, MacroProfile> profiles;
+    private List<Food> foods;
+    private Map<Long, FoodCategory> categoriesById;
+
+    @Setup
+    public void setUp() {
+        List<FoodCategory> categories = SyntheticData.categories(200);
+        foods = SyntheticData.foods(foodCount, categories);
+        rows = SyntheticData.rows(foods);
+
+        profiles = new HashMap<>();
+        categoriesById = new HashMap<>();
+        for (FoodCategory category : categories) {
+            profiles.put(category.getId(), MacroProfile.of(category));
+            categoriesById.put(category.getId(), category);
+        }
+    }
+
+    @Benchmark
+    public NutritionAggregation aggregate() {
+        return NutritionAggregation.of(rows, profiles);
+    }
+
+    @Benchmark
+    public List<Food> maintain() {
+        // Totals keep growing across invocations; only the cost per food matters here
+        for (Food food : foods) {
+            MacroProfile profile = MacroProfile.of(categoriesById.get(food.getCategoryId()));
+            food.getMeal().getTotals().add(profile, food.getQuantity());
+            food.getMeal().getDay().getTotals().add(profile, food.getQuantity());
+        }
+        return foods;
+    }
+}
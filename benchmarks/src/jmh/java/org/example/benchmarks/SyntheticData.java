@@ -0,0 +1,117 @@
+package org.example.benchmarks;
+
+import org.example.foodcategories.FoodCategory;
+import org.example.model.Day;
+import org.example.model.Food;
+import org.example.model.Meal;
+import org.example.repository.projection.FoodNutritionRow;
+import org.example.repository.projection.FoodSummary;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic test data shaped like a real athlete's plan:
+ * 4 meals per day and 5 foods per meal, drawn from a fixed set of categories.
+ */
+final class SyntheticData {
+
+    static final int MEALS_PER_DAY = 4;
+    static final int FOODS_PER_MEAL = 5;
+
+    private SyntheticData() {
+    }
+
+    static List<FoodCategory> categories(int count) {
+        Random random = new Random(42);
+        List<FoodCategory> categories = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            FoodCategory category = new FoodCategory(
+                    "Category " + i,
+                    round(random.nextDouble() * 30),
+                    round(random.nextDouble() * 80),
+                    round(random.nextDouble() * 40),
+                    round(random.nextDouble() * 600));
+            category.setId((long) i + 1);
+            categories.add(category);
+        }
+        return categories;
+    }
+
+    /**
+     * Builds foodCount foods spread over as many days and meals as needed.
+     */
+    static List<Food> foods(int foodCount, List<FoodCategory> categories) {
+        Random random = new Random(7);
+        List<Food> foods = new ArrayList<>(foodCount);
+        Day day = null;
+        Meal meal = null;
+        for (int i = 0; i < foodCount; i++) {
+            if (i % (MEALS_PER_DAY * FOODS_PER_MEAL) == 0) {
+                day = new Day(LocalDate.of(2024, 1, 1).plusDays(i), "Day " + i, null);
+                day.setId((long) i + 1);
+            }
+            if (i % FOODS_PER_MEAL == 0) {
+                meal = new Meal("Meal " + i, day);
+                meal.setId((long) i + 1);
+            }
+            FoodCategory category = categories.get(random.nextInt(categories.size()));
+            Food food = new Food(10 + random.nextInt(300), meal, category.getId());
+            food.setId((long) i + 1);
+            foods.add(food);
+        }
+        return foods;
+    }
+
+    /**
+     * The projection rows the recalculator would read for the same foods.
+     */
+    static List<FoodNutritionRow> rows(List<Food> foods) {
+        List<FoodNutritionRow> rows = new ArrayList<>(foods.size());
+        for (Food food : foods) {
+            rows.add(new Row(food.getMeal().getDay().getId(), food.getMeal().getId(),
+                    food.getCategoryId(), food.getQuantity()));
+        }
+        return rows;
+    }
+
+    /**
+     * The projected foods getMealFoods would read for the same foods.
+     */
+    static List<FoodSummary> summaries(List<Food> foods) {
+        List<FoodSummary> summaries = new ArrayList<>(foods.size());
+        for (Food food : foods) {
+            summaries.add(new FoodSummary(food.getId(), food.getCategoryId(), food.getQuantity(), food.getMeal().getId()));
+        }
+        return summaries;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 10) / 10.0;
+    }
+
+    private record Row(Long dayId, Long mealId, Long categoryId, int quantity) implements FoodNutritionRow {
+
+        @Override
+        public Long getDayId() {
+            return dayId;
+        }
+
+        @Override
+        public Long getMealId() {
+            return mealId;
+        }
+
+        @Override
+        public Long getCategoryId() {
+            return categoryId;
+        }
+
+        @Override
+        public int getQuantity() {
+            return quantity;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package org.example.config;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Streamed responses (the athlete export) are written on their own small pool
+ * rather than on the application task executor, so that a few long downloads
+ * cannot hold up the food category lookups of the write endpoints.
+ *
+ * The pool is deliberately not a bean: an Executor bean would replace Spring
+ * Boot's applicationTaskExecutor, which ConcurrentLookups relies on.
+ */
+@Configuration
+public class AsyncRequestConfig implements WebMvcConfigurer, DisposableBean {
+
+    private final ThreadPoolTaskExecutor streamingExecutor = new ThreadPoolTaskExecutor();
+
+    public AsyncRequestConfig(
+            @Value("${app.export.max-concurrent:4}") int maxConcurrent,
+            @Value("${app.export.queue-capacity:50}") int queueCapacity) {
+        streamingExecutor.setCorePoolSize(maxConcurrent);
+        streamingExecutor.setMaxPoolSize(maxConcurrent);
+        streamingExecutor.setQueueCapacity(queueCapacity);
+        streamingExecutor.setThreadNamePrefix("export-");
+        streamingExecutor.initialize();
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(streamingExecutor);
+    }
+
+    @Override
+    public void destroy() {
+        streamingExecutor.shutdown();
+    }
+}
@@ -6,6 +6,8 @@ import org.example.model.Coach;
 import org.example.repository.AthleteRepository;
 import org.example.repository.CoachRepository;
 import org.example.repository.foodcategories.FoodCategoryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
@@ -13,6 +15,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 @Component
 public class DataInitializer implements CommandLineRunner {
+    private static final Logger logger = LoggerFactory.getLogger(DataInitializer.class);
 
     private final FoodCategoryRepository foodCategoryRepository;
     private final CoachRepository coachRepository;
@@ -40,7 +43,7 @@ public class DataInitializer implements CommandLineRunner {
     private void initializeFoodCategories() {
         // Check if food categories already exist
         if (foodCategoryRepository.count() == 0) {
-            System.out.println("Initializing food categories...");
+            logger.info("Initializing food categories...");
             
             // Create the three food categories with nutritional values
             FoodCategory potato = new FoodCategory("potato", 2.0, 80.0, 0.5, 18.0);
@@ -51,16 +54,16 @@ public class DataInitializer implements CommandLineRunner {
             foodCategoryRepository.save(milk);
             foodCategoryRepository.save(beef);
             
-            System.out.println("Food categories initialized successfully!");
+            logger.info("Food categories initialized successfully!");
         } else {
-            System.out.println("Food categories already exist, skipping initialization.");
+            logger.info("Food categories already exist, skipping initialization.");
         }
     }
 
     private void initializeDemoData() {
         // Check if any coaches exist
         if (coachRepository.count() == 0) {
-            System.out.println("Initializing demo coach and athlete...");
+            logger.info("Initializing demo coach and athlete...");
 
             // Create demo coach
             Coach demoCoach = new Coach();
@@ -76,9 +79,9 @@ public class DataInitializer implements CommandLineRunner {
             demoAthlete.setCoach(demoCoach);
             athleteRepository.save(demoAthlete);
 
-            System.out.println("Demo coach and athlete initialized successfully!");
+            logger.info("Demo coach and athlete initialized successfully!");
         } else {
-            System.out.println("Coach data already exists, skipping demo data initialization.");
+            logger.info("Coach data already exists, skipping demo data initialization.");
         }
     }
 } 
\ No newline at end of file
@@ -1,12 +1,23 @@
 package org.example.config;
 
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.observability.QueryObservability;
+import org.example.observability.SqlStatementCounter;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
 import org.springframework.boot.jdbc.DataSourceBuilder;
 import org.springframework.boot.orm.jpa.EntityManagerFactoryBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
 import org.springframework.orm.jpa.JpaTransactionManager;
 import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
 import org.springframework.transaction.PlatformTransactionManager;
@@ -14,6 +25,9 @@ import org.springframework.transaction.annotation.EnableTransactionManagement;
 
 import javax.sql.DataSource;
 import jakarta.persistence.EntityManagerFactory;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 @Configuration
 @EnableTransactionManagement
@@ -28,6 +42,26 @@ public class DatabaseConfig {
     @Value("${spring.datasource.primary.password}")
     private String primaryDbPassword;
     
+    // Read replicas of the primary database, comma-separated; none by default
+    @Value("${app.read-replicas.urls:}")
+    private List<String> replicaUrls;
+
+    @Value("${app.read-replicas.username:${spring.datasource.primary.username}}")
+    private String replicaUsername;
+
+    @Value("${app.read-replicas.password:${spring.datasource.primary.password}}")
+    private String replicaPassword;
+
+    @Value("${app.read-replicas.validation-timeout-seconds:2}")
+    private int replicaValidationTimeoutSeconds;
+
+    // Query observability: Hibernate statistics (see /actuator/queries) and slow-query log
+    @Value("${app.query-observability.statistics:false}")
+    private boolean queryStatistics;
+
+    @Value("${app.query-observability.slow-query-ms:0}")
+    private long slowQueryMillis;
+
     @Value("${spring.datasource.foodcategories.url}")
     private String foodCategoriesDbUrl;
     
@@ -38,28 +72,77 @@ public class DatabaseConfig {
     private String foodCategoriesDbPassword;
 
     // Primary DataSource (athletes, coaches, days, foods, meals - NO FOOD CATEGORIES)
+    // Pool settings are bound from spring.datasource.primary.hikari.*; Boot's actuator
+    // publishes the pool as hikaricp.connections.* metrics tagged pool=primary
     @Primary
     @Bean(name = "primaryDataSource")
-    public DataSource primaryDataSource() {
-        return DataSourceBuilder.create()
+    @ConfigurationProperties(prefix = "spring.datasource.primary.hikari")
+    public HikariDataSource primaryDataSource() {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
                 .driverClassName("org.postgresql.Driver")
                 .url(primaryDbUrl)
                 .username(primaryDbUsername)
                 .password(primaryDbPassword)
                 .build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    // Primary with its read replicas: read-only transactions are served by a replica.
+    // Flyway and other non-JPA users keep the @Primary primaryDataSource
+    @Bean(name = "primaryRoutingDataSource")
+    public ReadReplicaRoutingDataSource primaryRoutingDataSource(
+            @Qualifier("primaryDataSource") DataSource primaryDataSource,
+            Environment environment,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            String name = "replica-" + (i + 1);
+            replicas.put(name, replicaDataSource(name, replicaUrls.get(i).trim(), environment, meterRegistry));
+        }
+        return new ReadReplicaRoutingDataSource(primaryDataSource, replicas, replicaValidationTimeoutSeconds);
+    }
+
+    // Replica pools are not beans (their number comes from configuration), so bind their
+    // spring.datasource.replica.hikari.* settings and metrics here
+    private HikariDataSource replicaDataSource(String name, String url, Environment environment,
+                                               ObjectProvider<MeterRegistry> meterRegistry) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName("org.postgresql.Driver")
+                .url(url)
+                .username(replicaUsername)
+                .password(replicaPassword)
+                .build();
+        dataSource.setPoolName(name);
+        dataSource.setReadOnly(true);
+        Binder.get(environment).bind("spring.datasource.replica.hikari", Bindable.ofInstance(dataSource));
+        meterRegistry.ifAvailable(registry -> dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+        return dataSource;
     }
 
     // Primary EntityManagerFactory - NO FOOD CATEGORIES
+    // The routing data source is wrapped so the connection is only taken at the first
+    // statement, once the transaction's read-only flag is known
     @Primary
     @Bean(name = "primaryEntityManagerFactory")
     public LocalContainerEntityManagerFactoryBean primaryEntityManagerFactory(
             EntityManagerFactoryBuilder builder,
-            @Qualifier("primaryDataSource") DataSource dataSource) {
+            @Qualifier("primaryRoutingDataSource") ReadReplicaRoutingDataSource routingDataSource) {
+        DataSource dataSource = new LazyConnectionDataSourceProxy(
+                new SqlStatementCounter(routingDataSource, SqlStatementCounter.PRIMARY));
         
-        java.util.Map<String, Object> properties = new java.util.HashMap<>();
+        Map<String, Object> properties = new java.util.HashMap<>();
         properties.put("hibernate.dialect", "org.hibernate.dialect.PostgreSQLDialect");
         properties.put("hibernate.hbm2ddl.auto", "update");
-        properties.put("hibernate.show_sql", "true");
+        // Statements are counted per request (see RequestMetricsInterceptor); log them with logging.level.org.hibernate.SQL=DEBUG
+        properties.put("hibernate.show_sql", "false");
+        // Group inserts/updates into JDBC batches (used by saveAll, e.g. bulk food edits)
+        properties.put("hibernate.jdbc.batch_size", "50");
+        properties.put("hibernate.order_inserts", "true");
+        properties.put("hibernate.order_updates", "true");
+        properties.putAll(QueryObservability.hibernateProperties(queryStatistics, slowQueryMillis));
         
         return builder
                 .dataSource(dataSource)
@@ -78,14 +161,19 @@ public class DatabaseConfig {
     }
 
     // Food Categories DataSource - SECOND DATABASE
+    // Sized independently from spring.datasource.foodcategories.hikari.*, metrics tagged pool=foodCategories
     @Bean(name = "foodCategoriesDataSource")
-    public DataSource foodCategoriesDataSource() {
-        return DataSourceBuilder.create()
+    @ConfigurationProperties(prefix = "spring.datasource.foodcategories.hikari")
+    public HikariDataSource foodCategoriesDataSource() {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
                 .driverClassName("org.postgresql.Driver")
                 .url(foodCategoriesDbUrl)
                 .username(foodCategoriesDbUsername)
                 .password(foodCategoriesDbPassword)
                 .build();
+        dataSource.setPoolName("foodCategories");
+        return dataSource;
     }
 
     // Food Categories EntityManagerFactory - ONLY FOOD CATEGORIES
@@ -94,13 +182,14 @@ public class DatabaseConfig {
             EntityManagerFactoryBuilder builder,
             @Qualifier("foodCategoriesDataSource") DataSource dataSource) {
         
-        java.util.Map<String, Object> properties = new java.util.HashMap<>();
+        Map<String, Object> properties = new java.util.HashMap<>();
         properties.put("hibernate.dialect", "org.hibernate.dialect.PostgreSQLDialect");
         properties.put("hibernate.hbm2ddl.auto", "update");
-        properties.put("hibernate.show_sql", "true");
+        properties.put("hibernate.show_sql", "false");
+        properties.putAll(QueryObservability.hibernateProperties(queryStatistics, slowQueryMillis));
         
         return builder
-                .dataSource(dataSource)
+                .dataSource(new SqlStatementCounter(dataSource, SqlStatementCounter.FOOD_CATEGORIES))
                 .packages("org.example.foodcategories")
                 .persistenceUnit("foodCategories")
                 .properties(properties)
@@ -0,0 +1,51 @@
+package org.example.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.example.foodcategories.FoodCategoryCache;
+import org.example.foodcategories.FoodCategoryReplica;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Application metrics published through actuator (/actuator/metrics, /actuator/prometheus).
+ */
+@Configuration
+public class MetricsConfig implements WebMvcConfigurer {
+
+    private final MeterRegistry registry;
+
+    public MetricsConfig(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry interceptors) {
+        interceptors.addInterceptor(new RequestMetricsInterceptor(registry));
+    }
+
+    // Totals of the food category cache, next to the per-request lookup counts
+    @Bean
+    public MeterBinder foodCategoryCacheMetrics(FoodCategoryCache cache) {
+        return meters -> {
+            FunctionCounter.builder("food.category.cache.hits", cache, c -> c.stats().hits()).register(meters);
+            FunctionCounter.builder("food.category.cache.misses", cache, c -> c.stats().misses()).register(meters);
+            FunctionCounter.builder("food.category.cache.evictions", cache, c -> c.stats().evictions()).register(meters);
+            Gauge.builder("food.category.cache.size", cache, c -> c.stats().size()).register(meters);
+        };
+    }
+
+    // Seconds since the food_categories_replica copy was last synced by this instance (NaN before the first sync)
+    @Bean
+    public MeterBinder foodCategoryReplicaMetrics(FoodCategoryReplica replica) {
+        return meters -> Gauge.builder("food.categories.replica.lag", replica,
+                        r -> r.lag().map(lag -> lag.toMillis() / 1000.0).orElse(Double.NaN))
+                .description("Time since the primary database's copy of food_categories was last synced")
+                .baseUnit("seconds")
+                .register(meters);
+    }
+}
@@ -0,0 +1,24 @@
+package org.example.config;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically validates the read replicas, so a replica that went down stops
+ * receiving reads and one that came back starts receiving them again.
+ */
+@Component
+public class ReadReplicaHealthCheck {
+
+    private final ReadReplicaRoutingDataSource routingDataSource;
+
+    public ReadReplicaHealthCheck(@Qualifier("primaryRoutingDataSource") ReadReplicaRoutingDataSource routingDataSource) {
+        this.routingDataSource = routingDataSource;
+    }
+
+    @Scheduled(fixedDelayString = "${app.read-replicas.health-check-interval-ms:10000}")
+    public void checkReplicas() {
+        routingDataSource.checkReplicas();
+    }
+}
@@ -0,0 +1,156 @@
+package org.example.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Primary database with optional read replicas.
+ *
+ * Connections opened inside a {@code @Transactional(readOnly = true)} go to
+ * the replicas in turn; everything else goes to the primary. A replica that
+ * fails to hand out a connection, or fails the periodic health check, is
+ * skipped until a later check finds it valid again. With no healthy replica,
+ * reads fall back to the primary. Replicas may lag: reads that must see a
+ * write the same user just made (the nutrition totals the dashboard re-reads
+ * after a food edit) run in read-write transactions to stay on the primary.
+ *
+ * Must sit behind a LazyConnectionDataSourceProxy: the transaction manager
+ * opens its connection before the read-only flag of the transaction is set,
+ * the proxy defers that until the first statement.
+ */
+public class ReadReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(ReadReplicaRoutingDataSource.class);
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final int validationTimeoutSeconds;
+    private final AtomicInteger next = new AtomicInteger();
+
+    /**
+     * @param primary                  the database taking writes (and reads outside read-only transactions)
+     * @param replicas                 replica name -> data source, in round-robin order; may be empty
+     * @param validationTimeoutSeconds how long a health check waits for a replica
+     */
+    public ReadReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, int validationTimeoutSeconds) {
+        this.primary = primary;
+        this.replicas = new ArrayList<>(replicas.size());
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+        replicas.forEach((name, dataSource) -> this.replicas.add(new Replica(name, dataSource)));
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connect(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return connect(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    private Connection connect(ConnectionOpener opener) throws SQLException {
+        Replica replica = replicaForCurrentTransaction();
+        if (replica != null) {
+            try {
+                return opener.open(replica.dataSource);
+            } catch (SQLException e) {
+                // Serve this read from the primary, retry the replica after the next successful check
+                replica.markDown(e);
+            }
+        }
+        return opener.open(primary);
+    }
+
+    /**
+     * Next healthy replica if the current transaction is read-only, null to use the primary.
+     */
+    private Replica replicaForCurrentTransaction() {
+        if (replicas.isEmpty() || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return null;
+        }
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Validates a connection of every replica and updates which ones reads may use.
+     */
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                if (connection.isValid(validationTimeoutSeconds)) {
+                    replica.markUp();
+                } else {
+                    replica.markDown(new SQLException("Connection is not valid"));
+                }
+            } catch (SQLException e) {
+                replica.markDown(e);
+            }
+        }
+    }
+
+    /**
+     * Names of the replicas currently serving reads.
+     */
+    public List<String> healthyReplicas() {
+        return replicas.stream().filter(replica -> replica.healthy).map(replica -> replica.name).toList();
+    }
+
+    /**
+     * Closes the replica pools; the primary is closed by its own bean.
+     */
+    @Override
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface ConnectionOpener {
+        Connection open(DataSource dataSource) throws SQLException;
+    }
+
+    private static final class Replica {
+        final String name;
+        final DataSource dataSource;
+        volatile boolean healthy = true;
+
+        Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        void markDown(SQLException cause) {
+            if (healthy) {
+                healthy = false;
+                logger.warn("Read replica {} is unavailable, reads fall back to the primary: {}", name, cause.getMessage());
+            }
+        }
+
+        void markUp() {
+            if (!healthy) {
+                healthy = true;
+                logger.info("Read replica {} is available again", name);
+            }
+        }
+    }
+}
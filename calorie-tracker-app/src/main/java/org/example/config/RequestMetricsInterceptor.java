@@ -0,0 +1,107 @@
+package org.example.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.controller.DashboardController;
+import org.example.observability.RequestStatistics;
+import org.example.observability.SqlStatementCounter;
+import org.springframework.boot.actuate.metrics.http.Outcome;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Times every DashboardController endpoint and records how much database
+ * work each request did, so an N+1 regression shows up as a jump in the
+ * per-request statement count of one endpoint:
+ *  • dashboard.requests                 - latency, by endpoint and outcome
+ *  • dashboard.request.statements       - SQL statements, by endpoint and persistence unit;
+ *                                         JdbcTemplate work (import, export) included
+ *  • dashboard.request.category.lookups - FoodCategoryCache lookups, by endpoint
+ *
+ * An async endpoint (the streamed export) is timed from its first dispatch to
+ * the end of the async dispatch that completes it, so the latency includes
+ * the streaming. Statistics are recorded on the first dispatch's thread, and
+ * by the streaming body, which resumes them (see exportAthlete).
+ */
+public class RequestMetricsInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String SAMPLE_ATTRIBUTE = RequestMetricsInterceptor.class.getName() + ".sample";
+    private static final String STATISTICS_ATTRIBUTE = RequestMetricsInterceptor.class.getName() + ".statistics";
+    private static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+
+    private final MeterRegistry registry;
+
+    public RequestMetricsInterceptor(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // The async dispatch continues the sample started by the first dispatch
+        if (request.getDispatcherType() != DispatcherType.ASYNC && endpointOf(handler) != null) {
+            request.setAttribute(SAMPLE_ATTRIBUTE, Timer.start(registry));
+            request.setAttribute(STATISTICS_ATTRIBUTE, RequestStatistics.begin());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // The request thread goes back to the pool before afterCompletion runs
+        RequestStatistics.end();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Timer.Sample sample = (Timer.Sample) request.getAttribute(SAMPLE_ATTRIBUTE);
+        String endpoint = endpointOf(handler);
+        if (sample == null || endpoint == null) {
+            return;
+        }
+        RequestStatistics statistics = (RequestStatistics) request.getAttribute(STATISTICS_ATTRIBUTE);
+        RequestStatistics.end();
+
+        Outcome outcome = ex != null ? Outcome.SERVER_ERROR : Outcome.forStatus(response.getStatus());
+        sample.stop(Timer.builder("dashboard.requests")
+                .description("DashboardController request latency")
+                .tag("endpoint", endpoint)
+                .tag("outcome", outcome.name())
+                .publishPercentiles(PERCENTILES)
+                .publishPercentileHistogram()
+                .register(registry));
+
+        if (statistics != null) {
+            statements(endpoint, SqlStatementCounter.PRIMARY).record(statistics.statements(SqlStatementCounter.PRIMARY));
+            statements(endpoint, SqlStatementCounter.FOOD_CATEGORIES).record(statistics.statements(SqlStatementCounter.FOOD_CATEGORIES));
+            DistributionSummary.builder("dashboard.request.category.lookups")
+                    .description("FoodCategoryCache lookups per request")
+                    .tag("endpoint", endpoint)
+                    .publishPercentiles(PERCENTILES)
+                    .register(registry)
+                    .record(statistics.foodCategoryLookups());
+        }
+    }
+
+    private DistributionSummary statements(String endpoint, String persistenceUnit) {
+        return DistributionSummary.builder("dashboard.request.statements")
+                .description("SQL statements executed per request")
+                .tag("endpoint", endpoint)
+                .tag("unit", persistenceUnit)
+                .publishPercentiles(PERCENTILES)
+                .register(registry);
+    }
+
+    /**
+     * The controller method's name, or null for handlers other than DashboardController.
+     */
+    private static String endpointOf(Object handler) {
+        if (handler instanceof HandlerMethod method && method.getBeanType() == DashboardController.class) {
+            return method.getMethod().getName();
+        }
+        return null;
+    }
+}
@@ -1,7 +1,6 @@
 package org.example.controller;
 
 import org.example.model.Athlete;
-import org.example.model.Coach;
 import org.example.repository.AthleteRepository;
 import org.example.service.CoachUserDetailsService;
 import org.springframework.stereotype.Controller;
@@ -44,7 +43,7 @@ public class AthleteController {
                 .orElseThrow(() -> new IllegalArgumentException("Invalid athlete ID:" + id));
 
         // guard: only this coach may edit
-        if (!a.getCoach().getUsername().equals(principal.getName())) {
+        if (!isOwnedByCurrentCoach(a, principal)) {
             throw new IllegalArgumentException("Not your athlete");
         }
 
@@ -65,7 +64,7 @@ public class AthleteController {
                 .orElseThrow(() -> new IllegalArgumentException("Invalid athlete ID:" + id));
 
         // guard again
-        if (!existing.getCoach().getUsername().equals(principal.getName())) {
+        if (!isOwnedByCurrentCoach(existing, principal)) {
             throw new IllegalArgumentException("Not your athlete");
         }
 
@@ -87,11 +86,19 @@ public class AthleteController {
         Athlete existing = athleteRepo.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Invalid athlete ID:" + id));
 
-        if (!existing.getCoach().getUsername().equals(principal.getName())) {
+        if (!isOwnedByCurrentCoach(existing, principal)) {
             throw new IllegalArgumentException("Not your athlete");
         }
 
         athleteRepo.delete(existing);
         return "redirect:/";
     }
+
+    /**
+     * Compare coach ids, so the check does not load the athlete's coach.
+     */
+    private boolean isOwnedByCurrentCoach(Athlete athlete, Principal principal) {
+        Long coachId = coachService.loadCoachIdByUsername(principal.getName());
+        return athlete.getCoach().getId().equals(coachId);
+    }
 }
@@ -1,45 +1,114 @@
 package org.example.controller;
 
+import org.example.controller.DashboardRequests.BatchFood;
+import org.example.controller.DashboardRequests.CreateDay;
+import org.example.controller.DashboardRequests.CreateFood;
+import org.example.controller.DashboardRequests.CreateMeal;
+import org.example.controller.DashboardRequests.UpdateDay;
+import org.example.controller.DashboardRequests.UpdateFood;
+import org.example.controller.DashboardRequests.UpdateMeal;
+import org.example.controller.DashboardResponses.AthleteNutritionResponse;
+import org.example.controller.DashboardResponses.DayNutritionResponse;
+import org.example.controller.DashboardResponses.DayResponse;
+import org.example.controller.DashboardResponses.ErrorResponse;
+import org.example.controller.DashboardResponses.FoodResponse;
+import org.example.controller.DashboardResponses.MealNutritionResponse;
+import org.example.controller.DashboardResponses.MealResponse;
+import org.example.controller.DashboardResponses.SuccessResponse;
 import org.example.model.*;
 import org.example.repository.*;
-import org.example.repository.foodcategories.FoodCategoryRepository;
+import org.example.repository.projection.DaySummary;
+import org.example.repository.projection.DayTotals;
+import org.example.repository.projection.FoodSummary;
+import org.example.repository.projection.MealSummary;
+import org.example.repository.projection.MealTotals;
 import org.example.foodcategories.FoodCategory;
+import org.example.foodcategories.FoodCategoryCache;
+import org.example.observability.RequestStatistics;
+import org.example.service.AthleteExportService;
 import org.example.service.CoachUserDetailsService;
+import org.example.service.ConcurrentLookups;
+import org.example.service.FoodCategoryCatalog;
+import org.example.service.MealPlanImportService;
+import org.example.service.NutritionService;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.security.Principal;
 import java.time.LocalDate;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.example.controller.DashboardResponses.foodResponse;
 
 @Controller
 public class DashboardController {
 
+    // Bounds used when a listing has no date-range filter
+    private static final LocalDate EARLIEST_DATE = LocalDate.of(1, 1, 1);
+    private static final LocalDate LATEST_DATE = LocalDate.of(9999, 12, 31);
+
+    // Day headers rendered with the dashboard; meals and foods are fetched by the page on demand
+    private static final int DASHBOARD_DAYS = 31;
+
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 500;
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final AthleteRepository athleteRepo;
     private final DayRepository dayRepo;
     private final MealRepository mealRepo;
     private final FoodRepository foodRepo;
-    private final FoodCategoryRepository foodCategoryRepo;
+    private final FoodCategoryCatalog foodCategoryCatalog;
+    private final FoodCategoryCache foodCategoryCache;
     private final CoachUserDetailsService coachService;
+    private final NutritionService nutritionService;
+    private final ConcurrentLookups lookups;
+    private final AthleteExportService exportService;
+    private final MealPlanImportService importService;
 
     public DashboardController(
             AthleteRepository athleteRepo,
             DayRepository dayRepo,
             MealRepository mealRepo,
             FoodRepository foodRepo,
-            FoodCategoryRepository foodCategoryRepo,
-            CoachUserDetailsService coachService) {
+            FoodCategoryCatalog foodCategoryCatalog,
+            FoodCategoryCache foodCategoryCache,
+            CoachUserDetailsService coachService,
+            NutritionService nutritionService,
+            ConcurrentLookups lookups,
+            AthleteExportService exportService,
+            MealPlanImportService importService) {
         this.athleteRepo = athleteRepo;
         this.dayRepo = dayRepo;
         this.mealRepo = mealRepo;
         this.foodRepo = foodRepo;
-        this.foodCategoryRepo = foodCategoryRepo;
+        this.foodCategoryCatalog = foodCategoryCatalog;
+        this.foodCategoryCache = foodCategoryCache;
         this.coachService = coachService;
+        this.nutritionService = nutritionService;
+        this.lookups = lookups;
+        this.exportService = exportService;
+        this.importService = importService;
     }
 
     /**
@@ -52,35 +121,15 @@ public class DashboardController {
         Model model, 
         Principal principal) {
 
-        Coach coach = coachService.loadCoachByUsername(principal.getName());
+        Long coachId = coachService.loadCoachIdByUsername(principal.getName());
         
-        // Load all food categories for dropdown
-        List<FoodCategory> foodCategories = foodCategoryRepo.findAll();
-        model.addAttribute("foodCategories", foodCategories);
-        
-        // Create a simple JSON string for JavaScript (manual serialization)
-        StringBuilder jsonBuilder = new StringBuilder("[");
-        for (int i = 0; i < foodCategories.size(); i++) {
-            FoodCategory category = foodCategories.get(i);
-            jsonBuilder.append("{")
-                    .append("\"id\":").append(category.getId()).append(",")
-                    .append("\"name\":\"").append(category.getName()).append("\",")
-                    .append("\"prot\":").append(category.getProt() != null ? category.getProt() : 0).append(",")
-                    .append("\"kcal\":").append(category.getKcal() != null ? category.getKcal() : 0).append(",")
-                    .append("\"fat\":").append(category.getFat() != null ? category.getFat() : 0).append(",")
-                    .append("\"carb\":").append(category.getCarb() != null ? category.getCarb() : 0)
-                    .append("}");
-            if (i < foodCategories.size() - 1) {
-                jsonBuilder.append(",");
-            }
-        }
-        jsonBuilder.append("]");
-        String foodCategoriesJsonString = jsonBuilder.toString();
-        System.out.println("DEBUG: Food categories JSON string: " + foodCategoriesJsonString);
-        model.addAttribute("foodCategoriesJson", foodCategoriesJsonString);
+        // Food categories for the dropdown, pre-serialized for JavaScript
+        FoodCategoryCatalog.Snapshot catalog = foodCategoryCatalog.current();
+        model.addAttribute("foodCategories", catalog.categories());
+        model.addAttribute("foodCategoriesJson", catalog.jsonText());
         
         // Always load all athletes for the coach (for athlete selection dropdown)
-        List<Athlete> allAthletes = athleteRepo.findByCoach(coach);
+        List<Athlete> allAthletes = athleteRepo.findByCoachId(coachId);
         model.addAttribute("athletes", allAthletes);
         
         // Already loaded above - removing duplicate
@@ -98,25 +147,20 @@ public class DashboardController {
         
         // If an athlete is selected, load their specific data
         if (athleteId != null) {
-            Athlete selectedAthlete = athleteRepo.findById(athleteId)
-                    .filter(a -> a.getCoach().equals(coach)) // Security: only coach's athletes
+            // Security: only coach's athletes
+            Athlete selectedAthlete = athleteRepo.findByIdAndCoachId(athleteId, coachId)
                     .orElse(null);
             
             if (selectedAthlete != null) {
                 model.addAttribute("selectedAthlete", selectedAthlete);
                 
-                // Load days for this athlete
-                List<Day> athleteDays = dayRepo.findByAthleteOrderByDateDesc(selectedAthlete);
+                // Load only the day headers of the visible window. Meals, foods and
+                // nutrition are fetched by the page through the REST API, so the
+                // render cost does not grow with the athlete's history.
+                List<Day> athleteDays = dayRepo.findPageByAthleteId(
+                        selectedAthlete.getId(), EARLIEST_DATE, LATEST_DATE, PageRequest.of(0, DASHBOARD_DAYS));
                 model.addAttribute("days", athleteDays);
                 
-                // Load meals for this athlete's days
-                List<Meal> athleteMeals = mealRepo.findByDayAthleteOrderByDayDateDesc(selectedAthlete);
-                model.addAttribute("meals", athleteMeals);
-                
-                // Load foods for this athlete's meals
-                List<Food> athleteFoods = foodRepo.findByMealDayAthleteOrderByMealDayDateDesc(selectedAthlete);
-                model.addAttribute("foods", athleteFoods);
-                
                 // Pre-populate forms with selected athlete
                 Day newDay = new Day();
                 newDay.setAthlete(selectedAthlete);
@@ -127,8 +171,6 @@ public class DashboardController {
             // No athlete selected - show empty collections
             model.addAttribute("selectedAthlete", null);
             model.addAttribute("days", List.of());
-            model.addAttribute("meals", List.of());
-            model.addAttribute("foods", List.of());
         }
         
         return "index";
@@ -139,7 +181,7 @@ public class DashboardController {
      */
     @PostMapping("/athletes")
     public String addAthlete(@ModelAttribute("newAthlete") Athlete athlete, Principal principal) {
-        Coach coach = coachService.loadCoachByUsername(principal.getName());
+        Coach coach = coachService.loadCoachByUsername(principal.getName()); // the new athlete needs the entity
         athlete.setCoach(coach);
         athleteRepo.save(athlete);
         return "redirect:/";
@@ -162,10 +204,12 @@ public class DashboardController {
     }
     
     @PostMapping("/foods")
+    @Transactional("primaryTransactionManager")
     public String addFood(@ModelAttribute("newFood") Food food, @RequestParam Long mealId, @RequestParam Long athleteId) {
         Meal meal = mealRepo.findById(mealId).orElseThrow();
         food.setMeal(meal);
         foodRepo.save(food);
+        nutritionService.foodAdded(food, foodCategoryCache.findById(food.getCategoryId()).orElse(null));
         return "redirect:/?athleteId=" + athleteId;
     }
 
@@ -176,29 +220,25 @@ public class DashboardController {
      */
     @PostMapping("/api/days")
     @ResponseBody
-    public ResponseEntity<?> createDay(@RequestBody Map<String, Object> payload, Principal principal) {
+    public ResponseEntity<?> createDay(@RequestBody CreateDay request, Principal principal) {
         try {
-            Object athleteIdObj = payload.get("athleteId");
-            Object dayNameObj = payload.get("dayName");
-            
-            if (athleteIdObj == null) {
-                return ResponseEntity.badRequest().body(Map.of("error", "athleteId is required"));
+            if (request.athleteId() == null) {
+                return ResponseEntity.badRequest().body(new ErrorResponse("athleteId is required"));
             }
-            if (dayNameObj == null) {
-                return ResponseEntity.badRequest().body(Map.of("error", "dayName is required"));
+            if (request.dayName() == null) {
+                return ResponseEntity.badRequest().body(new ErrorResponse("dayName is required"));
             }
             
-            Long athleteId = Long.valueOf(athleteIdObj.toString());
-            String dayName = dayNameObj.toString();
+            Long athleteId = request.athleteId();
+            String dayName = request.dayName();
 
-            Coach coach = coachService.loadCoachByUsername(principal.getName());
-            Athlete athlete = athleteRepo.findById(athleteId)
-                    .filter(a -> a.getCoach().equals(coach))
+            Long coachId = coachService.loadCoachIdByUsername(principal.getName());
+            Athlete athlete = athleteRepo.findByIdAndCoachId(athleteId, coachId)
                     .orElseThrow(() -> new RuntimeException("Athlete not found"));
 
             // Check if this day name already exists for this athlete
             if (dayRepo.findByAthleteAndDayName(athlete, dayName).isPresent()) {
-                return ResponseEntity.badRequest().body(Map.of("error", "Day already exists for this athlete"));
+                return ResponseEntity.badRequest().body(new ErrorResponse("Day already exists for this athlete"));
             }
 
             Day day = new Day();
@@ -208,13 +248,9 @@ public class DashboardController {
             
             Day savedDay = dayRepo.save(day);
             
-            return ResponseEntity.ok(Map.of(
-                "id", savedDay.getId(),
-                "dayName", savedDay.getDayName(),
-                "athleteId", savedDay.getAthlete().getId()
-            ));
+            return ResponseEntity.ok(DayResponse.of(savedDay));
         } catch (Exception e) {
-            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
         }
     }
 
@@ -223,30 +259,28 @@ public class DashboardController {
      */
     @PutMapping("/api/days/{dayId}")
     @ResponseBody
-    public ResponseEntity<?> updateDay(@PathVariable Long dayId, @RequestBody Map<String, Object> payload, Principal principal) {
+    public ResponseEntity<?> updateDay(@PathVariable Long dayId, @RequestBody UpdateDay request, Principal principal) {
         try {
-            String newDayName = payload.get("dayName").toString();
+            if (request.dayName() == null) {
+                return ResponseEntity.badRequest().body(new ErrorResponse("dayName is required"));
+            }
+            String newDayName = request.dayName();
 
-            Coach coach = coachService.loadCoachByUsername(principal.getName());
-            Day day = dayRepo.findById(dayId)
-                    .filter(d -> d.getAthlete().getCoach().equals(coach))
+            Long coachId = coachService.loadCoachIdByUsername(principal.getName());
+            Day day = dayRepo.findByIdAndAthleteCoachId(dayId, coachId)
                     .orElseThrow(() -> new RuntimeException("Day not found"));
 
             // Check if this day name already exists for this athlete (excluding current day)
             if (dayRepo.findByAthleteAndDayNameAndIdNot(day.getAthlete(), newDayName, dayId).isPresent()) {
-                return ResponseEntity.badRequest().body(Map.of("error", "Day name already exists for this athlete"));
+                return ResponseEntity.badRequest().body(new ErrorResponse("Day name already exists for this athlete"));
             }
 
             day.setDayName(newDayName);
             Day savedDay = dayRepo.save(day);
             
-            return ResponseEntity.ok(Map.of(
-                "id", savedDay.getId(),
-                "dayName", savedDay.getDayName(),
-                "athleteId", savedDay.getAthlete().getId()
-            ));
+            return ResponseEntity.ok(DayResponse.of(savedDay));
         } catch (Exception e) {
-            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
         }
     }
 
@@ -257,47 +291,59 @@ public class DashboardController {
     @ResponseBody
     public ResponseEntity<?> deleteDay(@PathVariable Long dayId, Principal principal) {
         try {
-            Coach coach = coachService.loadCoachByUsername(principal.getName());
-            Day day = dayRepo.findById(dayId)
-                    .filter(d -> d.getAthlete().getCoach().equals(coach))
+            Long coachId = coachService.loadCoachIdByUsername(principal.getName());
+            Day day = dayRepo.findByIdAndAthleteCoachId(dayId, coachId)
                     .orElseThrow(() -> new RuntimeException("Day not found"));
 
             dayRepo.delete(day);
             
-            return ResponseEntity.ok(Map.of("success", true));
+            return ResponseEntity.ok(SuccessResponse.OK);
         } catch (Exception e) {
-            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
         }
     }
 
     /**
-     * Get days for an athlete
+     * Get days for an athlete, newest first, optionally within [from, to].
+     * Keyset-paginated: when more days follow, the X-Next-Cursor response header
+     * holds the value to pass as ?cursor= to get the next page.
      */
     @GetMapping("/api/athletes/{athleteId}/days")
     @ResponseBody
-    public ResponseEntity<?> getAthletesDays(@PathVariable Long athleteId, Principal principal) {
+    @Transactional(value = "primaryTransactionManager", readOnly = true)
+    public ResponseEntity<?> getAthletesDays(
+            @PathVariable Long athleteId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit,
+            Principal principal) {
         try {
-            Coach coach = coachService.loadCoachByUsername(principal.getName());
-            Athlete athlete = athleteRepo.findById(athleteId)
-                    .filter(a -> a.getCoach().equals(coach))
-                    .orElseThrow(() -> new RuntimeException("Athlete not found"));
+            if (limit < 1 || limit > MAX_PAGE_SIZE) {
+                return ResponseEntity.badRequest().body(new ErrorResponse("limit must be between 1 and " + MAX_PAGE_SIZE));
+            }
 
-            List<Day> days = dayRepo.findByAthleteOrderByDateDesc(athlete);
-            
-            List<Map<String, Object>> dayData = days.stream()
-                    .map(day -> {
-                        Map<String, Object> dayMap = new HashMap<>();
-                        dayMap.put("id", day.getId());
-                        dayMap.put("dayName", day.getDayName() != null ? day.getDayName() : "Monday");
-                        dayMap.put("date", day.getDate().toString());
-                        dayMap.put("athleteId", day.getAthlete().getId());
-                        return dayMap;
-                    })
-                    .toList();
-            
-            return ResponseEntity.ok(dayData);
+            Long coachId = coachService.loadCoachIdByUsername(principal.getName());
+            if (!athleteRepo.existsByIdAndCoachId(athleteId, coachId)) {
+                throw new RuntimeException("Athlete not found");
+            }
+
+            // Fetch one extra row to know whether another page follows
+            LocalDate rangeFrom = from != null ? from : EARLIEST_DATE;
+            LocalDate rangeTo = to != null ? to : LATEST_DATE;
+            PageRequest page = PageRequest.of(0, limit + 1);
+            List<DaySummary> days;
+            if (cursor != null) {
+                DateIdCursor after = DateIdCursor.parse(cursor);
+                days = dayRepo.findSummaryPageByAthleteIdAfter(athleteId, rangeFrom, rangeTo, after.date(), after.id(), page);
+            } else {
+                days = dayRepo.findSummaryPageByAthleteId(athleteId, rangeFrom, rangeTo, page);
+            }
+
+            KeysetPage<DaySummary> result = KeysetPage.of(days, limit, day -> new DateIdCursor(day.date(), day.id()));
+            return result.respond(result.rows());
         } catch (Exception e) {
-            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
         }
     }
 
@@ -308,29 +354,25 @@ public class DashboardController {
      */
     @PostMapping("/api/meals")
     @ResponseBody
-    public ResponseEntity<?> createMeal(@RequestBody Map<String, Object> payload, Principal principal) {
+    public ResponseEntity<?> createMeal(@RequestBody CreateMeal request, Principal principal) {
         try {
-            Object dayIdObj = payload.get("dayId");
-            Object mealNameObj = payload.get("mealName");
-            
-            if (dayIdObj == null) {
-                return ResponseEntity.badRequest().body(Map.of("error", "dayId is required"));
+            if (request.dayId() == null) {
+                return ResponseEntity.badRequest().body(new ErrorResponse("dayId is required"));
             }
-            if (mealNameObj == null) {
-                return ResponseEntity.badRequest().body(Map.of("error", "mealName is required"));
+            if (request.mealName() == null) {
+                return ResponseEntity.badRequest().body(new ErrorResponse("mealName is required"));
             }
             
-            Long dayId = Long.valueOf(dayIdObj.toString());
-            String mealName = mealNameObj.toString();
+            Long dayId = request.dayId();
+            String mealName = request.mealName();
 
-            Coach coach = coachService.loadCoachByUsername(principal.getName());
-            Day day = dayRepo.findById(dayId)
-                    .filter(d -> d.getAthlete().getCoach().equals(coach))
+            Long coachId = coachService.loadCoachIdByUsername(principal.getName());
+            Day day = dayRepo.findByIdAndAthleteCoachId(dayId, coachId)
                     .orElseThrow(() -> new RuntimeException("Day not found"));
 
             // Check if this meal name already exists for this day
             if (mealRepo.findByDayAndName(day, mealName).isPresent()) {
-                return ResponseEntity.badRequest().body(Map.of("error", "Meal already exists for this day"));
+                return ResponseEntity.badRequest().body(new ErrorResponse("Meal already exists for this day"));
             }
 
             Meal meal = new Meal();
@@ -339,13 +381,9 @@ public class DashboardController {
             
             Meal savedMeal = mealRepo.save(meal);
             
-            return ResponseEntity.ok(Map.of(
-                "id", savedMeal.getId(),
-                "name", savedMeal.getName(),
-                "dayId", savedMeal.getDay().getId()
-            ));
+            return ResponseEntity.ok(MealResponse.of(savedMeal));
         } catch (Exception e) {
-            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
         }
     }
 
@@ -354,30 +392,28 @@ public class DashboardController {
      */
     @PutMapping("/api/meals/{mealId}")
     @ResponseBody
-    public ResponseEntity<?> updateMeal(@PathVariable Long mealId, @RequestBody Map<String, Object> payload, Principal principal) {
+    public ResponseEntity<?> updateMeal(@PathVariable Long mealId, @RequestBody UpdateMeal request, Principal principal) {
         try {
-            String newMealName = payload.get("mealName").toString();
+            if (request.mealName() == null) {
+                return ResponseEntity.badRequest().body(new ErrorResponse("mealName is required"));
+            }
+            String newMealName = request.mealName();
 
-            Coach coach = coachService.loadCoachByUsername(principal.getName());
-            Meal meal = mealRepo.findById(mealId)
-                    .filter(m -> m.getDay().getAthlete().getCoach().equals(coach))
+            Long coachId = coachService.loadCoachIdByUsername(principal.getName());
+            Meal meal = mealRepo.findByIdAndDayAthleteCoachId(mealId, coachId)
                     .orElseThrow(() -> new RuntimeException("Meal not found"));
 
             // Check if this meal name already exists for this day (excluding current meal)
             if (mealRepo.findByDayAndNameAndIdNot(meal.getDay(), newMealName, mealId).isPresent()) {
-                return ResponseEntity.badRequest().body(Map.of("error", "Meal name already exists for this day"));
+                return ResponseEntity.badRequest().body(new ErrorResponse("Meal name already exists for this day"));
             }
 
             meal.setName(newMealName);
             Meal savedMeal = mealRepo.save(meal);
             
-            return ResponseEntity.ok(Map.of(
-                "id", savedMeal.getId(),
-                "name", savedMeal.getName(),
-                "dayId", savedMeal.getDay().getId()
-            ));
+            return ResponseEntity.ok(MealResponse.of(savedMeal));
         } catch (Exception e) {
-            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
         }
     }
 
@@ -386,18 +422,19 @@ public class DashboardController {
      */
     @DeleteMapping("/api/meals/{mealId}")
     @ResponseBody
+    @Transactional("primaryTransactionManager")
     public ResponseEntity<?> deleteMeal(@PathVariable Long mealId, Principal principal) {
         try {
-            Coach coach = coachService.loadCoachByUsername(principal.getName());
-            Meal meal = mealRepo.findById(mealId)
-                    .filter(m -> m.getDay().getAthlete().getCoach().equals(coach))
+            Long coachId = coachService.loadCoachIdByUsername(principal.getName());
+            Meal meal = mealRepo.findByIdAndDayAthleteCoachId(mealId, coachId)
                     .orElseThrow(() -> new RuntimeException("Meal not found"));
 
+            nutritionService.mealRemoved(meal);
             mealRepo.delete(meal);
             
-            return ResponseEntity.ok(Map.of("success", true));
+            return ResponseEntity.ok(SuccessResponse.OK);
         } catch (Exception e) {
-            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
         }
     }
 
@@ -406,103 +443,189 @@ public class DashboardController {
      */
     @GetMapping("/api/days/{dayId}/meals")
     @ResponseBody
+    @Transactional(value = "primaryTransactionManager", readOnly = true)
     public ResponseEntity<?> getDayMeals(@PathVariable Long dayId, Principal principal) {
         try {
-            Coach coach = coachService.loadCoachByUsername(principal.getName());
-            Day day = dayRepo.findById(dayId)
-                    .filter(d -> d.getAthlete().getCoach().equals(coach))
-                    .orElseThrow(() -> new RuntimeException("Day not found"));
+            Long coachId = coachService.loadCoachIdByUsername(principal.getName());
+            if (!dayRepo.existsByIdAndAthleteCoachId(dayId, coachId)) {
+                throw new RuntimeException("Day not found");
+            }
 
-            List<Meal> meals = mealRepo.findByDayOrderByIdAsc(day);
+            List<MealSummary> meals = mealRepo.findSummariesByDayId(dayId);
             
-            List<Map<String, Object>> mealData = meals.stream()
-                    .map(meal -> {
-                        Map<String, Object> mealMap = new HashMap<>();
-                        mealMap.put("id", meal.getId());
-                        mealMap.put("name", meal.getName());
-                        mealMap.put("dayId", meal.getDay().getId());
-                        return mealMap;
-                    })
-                    .toList();
-            
-            return ResponseEntity.ok(mealData);
+            return ResponseEntity.ok(meals);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        }
+    }
+
+    /**
+     * Get meals of an athlete, newest day first, optionally within [from, to].
+     * Keyset-paginated on (day date, meal id), like GET /api/athletes/{id}/days.
+     */
+    @GetMapping("/api/athletes/{athleteId}/meals")
+    @ResponseBody
+    @Transactional(value = "primaryTransactionManager", readOnly = true)
+    public ResponseEntity<?> getAthletesMeals(
+            @PathVariable Long athleteId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit,
+            Principal principal) {
+        try {
+            if (limit < 1 || limit > MAX_PAGE_SIZE) {
+                return ResponseEntity.badRequest().body(new ErrorResponse("limit must be between 1 and " + MAX_PAGE_SIZE));
+            }
+
+            Long coachId = coachService.loadCoachIdByUsername(principal.getName());
+            if (!athleteRepo.existsByIdAndCoachId(athleteId, coachId)) {
+                throw new RuntimeException("Athlete not found");
+            }
+
+            LocalDate rangeFrom = from != null ? from : EARLIEST_DATE;
+            LocalDate rangeTo = to != null ? to : LATEST_DATE;
+            PageRequest page = PageRequest.of(0, limit + 1);
+            List<Meal> meals;
+            if (cursor != null) {
+                DateIdCursor after = DateIdCursor.parse(cursor);
+                meals = mealRepo.findPageByAthleteIdAfter(athleteId, rangeFrom, rangeTo, after.date(), after.id(), page);
+            } else {
+                meals = mealRepo.findPageByAthleteId(athleteId, rangeFrom, rangeTo, page);
+            }
+
+            KeysetPage<Meal> result = KeysetPage.of(meals, limit,
+                    meal -> new DateIdCursor(meal.getDay().getDate(), meal.getId()));
+            return result.respond(result.rows().stream().map(MealResponse::of).toList());
         } catch (Exception e) {
-            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
         }
     }
 
     // === REST API endpoints for food management ===
 
+    private static String categoryKey(Long categoryId) {
+        return "food-category:" + categoryId;
+    }
+
+    /**
+     * Gives up on a lookup whose result is no longer needed, e.g. after a failed ownership check.
+     */
+    private static void cancel(ConcurrentLookups.Lookup<?> lookup) {
+        if (lookup != null) {
+            lookup.cancel();
+        }
+    }
+
     /**
      * Create a new food for a meal
      */
     @PostMapping("/api/foods")
     @ResponseBody
-    public ResponseEntity<?> createFood(@RequestBody Map<String, Object> payload, Principal principal) {
+    @Transactional("primaryTransactionManager")
+    public ResponseEntity<?> createFood(@RequestBody CreateFood request, Principal principal) {
         try {
-            Object mealIdObj = payload.get("mealId");
-            Object categoryIdObj = payload.get("categoryId");
-            Object quantityObj = payload.get("quantity");
-            
-            if (mealIdObj == null) {
-                return ResponseEntity.badRequest().body(Map.of("error", "mealId is required"));
+            if (request.mealId() == null) {
+                return ResponseEntity.badRequest().body(new ErrorResponse("mealId is required"));
             }
             
-            Long mealId = Long.valueOf(mealIdObj.toString());
-            int quantity = quantityObj != null ? Integer.valueOf(quantityObj.toString()) : 1;
+            Long mealId = request.mealId();
+            int quantity = request.quantity() != null ? request.quantity() : 1;
 
-            Coach coach = coachService.loadCoachByUsername(principal.getName());
-            Meal meal = mealRepo.findById(mealId)
-                    .filter(m -> m.getDay().getAthlete().getCoach().equals(coach))
-                    .orElseThrow(() -> new RuntimeException("Meal not found"));
+            // The category lives in the food-categories database: fetch it while the primary checks ownership
+            Long categoryId = request.categoryId();
+            ConcurrentLookups.Lookup<Optional<FoodCategory>> categoryLookup = categoryId != null
+                    ? lookups.start(categoryKey(categoryId), () -> foodCategoryCache.findById(categoryId))
+                    : null;
 
-            // Get the food category ID - use provided categoryId or default to first available
-            Long categoryId;
-            if (categoryIdObj != null) {
-                categoryId = Long.valueOf(categoryIdObj.toString());
-                // Verify category exists in food categories database
-                foodCategoryRepo.findById(categoryId)
+            Meal meal;
+            try {
+                Long coachId = coachService.loadCoachIdByUsername(principal.getName());
+                meal = mealRepo.findByIdAndDayAthleteCoachId(mealId, coachId)
+                        .orElseThrow(() -> new RuntimeException("Meal not found"));
+            } catch (RuntimeException e) {
+                cancel(categoryLookup);
+                throw e;
+            }
+
+            // Use provided category or default to first available; fetched once and reused below
+            FoodCategory foodCategory;
+            if (categoryLookup != null) {
+                foodCategory = categoryLookup.join()
                         .orElseThrow(() -> new RuntimeException("Food category not found"));
             } else {
-                // Default to first food category if none specified
-                FoodCategory firstCategory = foodCategoryRepo.findAll().stream()
+                foodCategory = foodCategoryCatalog.current().categories().stream()
                         .findFirst()
                         .orElseThrow(() -> new RuntimeException("No food categories available"));
-                categoryId = firstCategory.getId();
             }
 
             Food food = new Food();
             food.setMeal(meal);
             food.setQuantity(quantity);
-            food.setCategoryId(categoryId);
+            food.setCategoryId(foodCategory.getId());
             
             Food savedFood = foodRepo.save(food);
-            
-            // Get food category from second database and calculate nutritional values
-            FoodCategory foodCategory = foodCategoryRepo.findById(savedFood.getCategoryId())
-                    .orElseThrow(() -> new RuntimeException("Food category not found"));
-            int foodQuantity = savedFood.getQuantity();
-            
-            float prot = (foodCategory.getProt() != null ? foodCategory.getProt().floatValue() : 0.0f) * foodQuantity / 100.0f;
-            float carb = (foodCategory.getCarb() != null ? foodCategory.getCarb().floatValue() : 0.0f) * foodQuantity / 100.0f;
-            float fat = (foodCategory.getFat() != null ? foodCategory.getFat().floatValue() : 0.0f) * foodQuantity / 100.0f;
-            float kcal = (foodCategory.getKcal() != null ? foodCategory.getKcal().floatValue() : 0.0f) * foodQuantity / 100.0f;
-            int gTot = foodQuantity; // Total quantity in grams
-            
-            return ResponseEntity.ok(Map.of(
-                "id", savedFood.getId(),
-                "categoryId", savedFood.getCategoryId(),
-                "categoryName", foodCategory.getName(),
-                "quantity", savedFood.getQuantity(),
-                "prot", Math.round(prot * 10.0f) / 10.0f, // Round to 1 decimal place
-                "carb", Math.round(carb * 10.0f) / 10.0f,
-                "fat", Math.round(fat * 10.0f) / 10.0f,
-                "kcal", Math.round(kcal),
-                "gTot", gTot,
-                "mealId", savedFood.getMeal().getId()
-            ));
+            nutritionService.foodAdded(savedFood, foodCategory);
+
+            return ResponseEntity.ok(foodResponse(savedFood, foodCategory));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        }
+    }
+
+    /**
+     * Create several foods for a meal in one call, e.g. when a whole meal is edited.
+     * Body: [{"categoryId": 1, "quantity": 100}, ...]
+     */
+    @PostMapping("/api/meals/{mealId}/foods:batch")
+    @ResponseBody
+    @Transactional("primaryTransactionManager")
+    public ResponseEntity<?> createFoods(@PathVariable Long mealId, @RequestBody List<BatchFood> items, Principal principal) {
+        try {
+            if (items == null || items.isEmpty()) {
+                return ResponseEntity.badRequest().body(new ErrorResponse("At least one food is required"));
+            }
+
+            Long coachId = coachService.loadCoachIdByUsername(principal.getName());
+            Meal meal = mealRepo.findByIdAndDayAthleteCoachId(mealId, coachId)
+                    .orElseThrow(() -> new RuntimeException("Meal not found"));
+
+            List<Food> foods = new ArrayList<>();
+            Set<Long> categoryIds = new HashSet<>();
+            for (BatchFood item : items) {
+                if (item == null || item.categoryId() == null) {
+                    return ResponseEntity.badRequest().body(new ErrorResponse("categoryId is required for every food"));
+                }
+
+                Food food = new Food();
+                food.setMeal(meal);
+                food.setCategoryId(item.categoryId());
+                food.setQuantity(item.quantity() != null ? item.quantity() : 1);
+                foods.add(food);
+                categoryIds.add(food.getCategoryId());
+            }
+
+            // Verify every category exists in food categories database, in one lookup
+            Map<Long, FoodCategory> categories = foodCategoryCache.findAllById(categoryIds);
+            if (categories.size() < categoryIds.size()) {
+                List<Long> unknownIds = categoryIds.stream()
+                        .filter(id -> !categories.containsKey(id))
+                        .sorted()
+                        .toList();
+                return ResponseEntity.badRequest().body(new ErrorResponse("Food category not found: " + unknownIds));
+            }
+
+            // Inserts are sent as JDBC batches (see hibernate.jdbc.batch_size)
+            List<Food> savedFoods = foodRepo.saveAll(foods);
+            savedFoods.forEach(food -> nutritionService.foodAdded(food, categories.get(food.getCategoryId())));
+
+            List<FoodResponse> foodData = savedFoods.stream()
+                    .map(food -> foodResponse(food, categories.get(food.getCategoryId())))
+                    .toList();
+
+            return ResponseEntity.ok(foodData);
         } catch (Exception e) {
-            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
         }
     }
 
@@ -512,32 +635,47 @@ public class DashboardController {
     @PutMapping("/api/foods/{foodId}")
     @ResponseBody
     @Transactional("primaryTransactionManager")
-    public ResponseEntity<?> updateFood(@PathVariable Long foodId, @RequestBody Map<String, Object> payload, Principal principal) {
+    public ResponseEntity<?> updateFood(@PathVariable Long foodId, @RequestBody UpdateFood request, Principal principal) {
         try {
-            Coach coach = coachService.loadCoachByUsername(principal.getName());
-            
-            // First verify access rights
-            Food existingFood = foodRepo.findById(foodId)
-                    .filter(f -> f.getMeal().getDay().getAthlete().getCoach().equals(coach))
-                    .orElseThrow(() -> new RuntimeException("Food not found"));
+            // Read updated values but don't modify the loaded entity yet
+            Integer newQuantity = request.quantity();
+            Long newCategoryId = request.categoryId();
 
-            // Create updated values but don't modify the loaded entity yet
-            Integer newQuantity = null;
-            Long newCategoryId = null;
-            
-            if (payload.containsKey("quantity")) {
-                newQuantity = Integer.valueOf(payload.get("quantity").toString());
+            // Fetch the new category from the food-categories database while the primary checks ownership
+            ConcurrentLookups.Lookup<Optional<FoodCategory>> newCategoryLookup = newCategoryId != null
+                    ? lookups.start(categoryKey(newCategoryId), () -> foodCategoryCache.findById(newCategoryId))
+                    : null;
+
+            // First verify access rights
+            Food existingFood;
+            try {
+                Long coachId = coachService.loadCoachIdByUsername(principal.getName());
+                existingFood = foodRepo.findByIdAndMealDayAthleteCoachId(foodId, coachId)
+                        .orElseThrow(() -> new RuntimeException("Food not found"));
+            } catch (RuntimeException e) {
+                cancel(newCategoryLookup);
+                throw e;
             }
-            
-            if (payload.containsKey("categoryId")) {
-                newCategoryId = Long.valueOf(payload.get("categoryId").toString());
+
+            // Fetched once each and reused for the totals and the response
+            FoodCategory foodCategory = null;
+            if (newCategoryLookup != null) {
                 // Verify category exists in food categories database
-                foodCategoryRepo.findById(newCategoryId)
+                foodCategory = newCategoryLookup.join()
                         .orElseThrow(() -> new RuntimeException("Food category not found"));
             }
+            Long currentCategoryId = existingFood.getCategoryId();
+            FoodCategory currentCategory = foodCategory != null && foodCategory.getId().equals(currentCategoryId)
+                    ? foodCategory
+                    : foodCategoryCache.findById(currentCategoryId).orElse(null);
+            if (foodCategory == null) {
+                foodCategory = currentCategory;
+            }
 
             // Now update only if we have changes
             if (newQuantity != null || newCategoryId != null) {
+                // Take the food's current values out of the meal/day totals first
+                nutritionService.foodRemoved(existingFood, currentCategory);
                 if (newQuantity != null) {
                     existingFood.setQuantity(newQuantity);
                 }
@@ -545,35 +683,17 @@ public class DashboardController {
                     existingFood.setCategoryId(newCategoryId);
                 }
                 foodRepo.save(existingFood);
+                nutritionService.foodAdded(existingFood, foodCategory);
             }
 
             Food savedFood = existingFood;
-            
-            // Get food category from second database
-            FoodCategory foodCategory = foodCategoryRepo.findById(savedFood.getCategoryId())
-                    .orElseThrow(() -> new RuntimeException("Food category not found"));
-            int foodQuantity = savedFood.getQuantity();
-            
-            float prot = (foodCategory.getProt() != null ? foodCategory.getProt().floatValue() : 0.0f) * foodQuantity / 100.0f;
-            float carb = (foodCategory.getCarb() != null ? foodCategory.getCarb().floatValue() : 0.0f) * foodQuantity / 100.0f;
-            float fat = (foodCategory.getFat() != null ? foodCategory.getFat().floatValue() : 0.0f) * foodQuantity / 100.0f;
-            float kcal = (foodCategory.getKcal() != null ? foodCategory.getKcal().floatValue() : 0.0f) * foodQuantity / 100.0f;
-            int gTot = foodQuantity; // Total quantity in grams
-            
-            return ResponseEntity.ok(Map.of(
-                "id", savedFood.getId(),
-                "categoryId", savedFood.getCategoryId(),
-                "categoryName", foodCategory.getName(),
-                "quantity", savedFood.getQuantity(),
-                "prot", Math.round(prot * 10.0f) / 10.0f, // Round to 1 decimal place
-                "carb", Math.round(carb * 10.0f) / 10.0f,
-                "fat", Math.round(fat * 10.0f) / 10.0f,
-                "kcal", Math.round(kcal),
-                "gTot", gTot,
-                "mealId", savedFood.getMeal().getId()
-            ));
+            if (foodCategory == null) {
+                throw new RuntimeException("Food category not found");
+            }
+
+            return ResponseEntity.ok(foodResponse(savedFood, foodCategory));
         } catch (Exception e) {
-            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
         }
     }
 
@@ -582,18 +702,67 @@ public class DashboardController {
      */
     @DeleteMapping("/api/foods/{foodId}")
     @ResponseBody
+    @Transactional("primaryTransactionManager")
     public ResponseEntity<?> deleteFood(@PathVariable Long foodId, Principal principal) {
         try {
-            Coach coach = coachService.loadCoachByUsername(principal.getName());
-            Food food = foodRepo.findById(foodId)
-                    .filter(f -> f.getMeal().getDay().getAthlete().getCoach().equals(coach))
+            Long coachId = coachService.loadCoachIdByUsername(principal.getName());
+            Food food = foodRepo.findByIdAndMealDayAthleteCoachId(foodId, coachId)
                     .orElseThrow(() -> new RuntimeException("Food not found"));
 
+            nutritionService.foodRemoved(food, foodCategoryCache.findById(food.getCategoryId()).orElse(null));
             foodRepo.delete(food);
             
-            return ResponseEntity.ok(Map.of("success", true));
+            return ResponseEntity.ok(SuccessResponse.OK);
         } catch (Exception e) {
-            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        }
+    }
+
+    /**
+     * Get foods of an athlete, newest day first, optionally within [from, to].
+     * Keyset-paginated on (day date, food id), like GET /api/athletes/{id}/days.
+     */
+    @GetMapping("/api/athletes/{athleteId}/foods")
+    @ResponseBody
+    @Transactional(value = "primaryTransactionManager", readOnly = true)
+    public ResponseEntity<?> getAthletesFoods(
+            @PathVariable Long athleteId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit,
+            Principal principal) {
+        try {
+            if (limit < 1 || limit > MAX_PAGE_SIZE) {
+                return ResponseEntity.badRequest().body(new ErrorResponse("limit must be between 1 and " + MAX_PAGE_SIZE));
+            }
+
+            Long coachId = coachService.loadCoachIdByUsername(principal.getName());
+            if (!athleteRepo.existsByIdAndCoachId(athleteId, coachId)) {
+                throw new RuntimeException("Athlete not found");
+            }
+
+            LocalDate rangeFrom = from != null ? from : EARLIEST_DATE;
+            LocalDate rangeTo = to != null ? to : LATEST_DATE;
+            PageRequest page = PageRequest.of(0, limit + 1);
+            List<Food> foods;
+            if (cursor != null) {
+                DateIdCursor after = DateIdCursor.parse(cursor);
+                foods = foodRepo.findPageByAthleteIdAfter(athleteId, rangeFrom, rangeTo, after.date(), after.id(), page);
+            } else {
+                foods = foodRepo.findPageByAthleteId(athleteId, rangeFrom, rangeTo, page);
+            }
+
+            KeysetPage<Food> result = KeysetPage.of(foods, limit,
+                    food -> new DateIdCursor(food.getMeal().getDay().getDate(), food.getId()));
+            // Every category of the page in one lookup
+            Map<Long, FoodCategory> categories = foodCategoryCache.findAllById(
+                    result.rows().stream().map(Food::getCategoryId).collect(Collectors.toSet()));
+            return result.respond(result.rows().stream()
+                    .map(food -> foodResponse(food, categories.get(food.getCategoryId())))
+                    .toList());
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
         }
     }
 
@@ -602,87 +771,53 @@ public class DashboardController {
      */
     @GetMapping("/api/meals/{mealId}/foods")
     @ResponseBody
+    @Transactional(value = "primaryTransactionManager", readOnly = true)
     public ResponseEntity<?> getMealFoods(@PathVariable Long mealId, Principal principal) {
         try {
-            Coach coach = coachService.loadCoachByUsername(principal.getName());
-            Meal meal = mealRepo.findById(mealId)
-                    .filter(m -> m.getDay().getAthlete().getCoach().equals(coach))
-                    .orElseThrow(() -> new RuntimeException("Meal not found"));
+            Long coachId = coachService.loadCoachIdByUsername(principal.getName());
+            if (!mealRepo.existsByIdAndDayAthleteCoachId(mealId, coachId)) {
+                throw new RuntimeException("Meal not found");
+            }
 
-            List<Food> foods = foodRepo.findByMealOrderByIdAsc(meal);
+            List<FoodSummary> foods = foodRepo.findSummariesByMealId(mealId);
             
-            List<Map<String, Object>> foodData = foods.stream()
-                    .map(food -> {
-                        Map<String, Object> foodMap = new HashMap<>();
-                        foodMap.put("id", food.getId());
-                        foodMap.put("categoryId", food.getCategoryId());
-                        foodMap.put("quantity", food.getQuantity());
-                        
-                        // Get food category from second database
-                        FoodCategory foodCategory = foodCategoryRepo.findById(food.getCategoryId())
-                                .orElse(null);
-                        
-                        if (foodCategory != null) {
-                            foodMap.put("categoryName", foodCategory.getName());
-                            
-                            // Calculate nutritional values (quantity/100 * nutritional_value_per_100g)
-                            int foodQuantity = food.getQuantity();
-                            
-                            float prot = (foodCategory.getProt() != null ? foodCategory.getProt().floatValue() : 0.0f) * foodQuantity / 100.0f;
-                            float carb = (foodCategory.getCarb() != null ? foodCategory.getCarb().floatValue() : 0.0f) * foodQuantity / 100.0f;
-                            float fat = (foodCategory.getFat() != null ? foodCategory.getFat().floatValue() : 0.0f) * foodQuantity / 100.0f;
-                            float kcal = (foodCategory.getKcal() != null ? foodCategory.getKcal().floatValue() : 0.0f) * foodQuantity / 100.0f;
-                            int gTot = foodQuantity; // Total quantity in grams
-                            
-                            foodMap.put("prot", Math.round(prot * 10.0f) / 10.0f); // Round to 1 decimal place
-                            foodMap.put("carb", Math.round(carb * 10.0f) / 10.0f);
-                            foodMap.put("fat", Math.round(fat * 10.0f) / 10.0f);
-                            foodMap.put("kcal", Math.round(kcal));
-                            foodMap.put("gTot", gTot);
-                        } else {
-                            foodMap.put("categoryName", "Unknown Category");
-                            foodMap.put("prot", 0.0f);
-                            foodMap.put("carb", 0.0f);
-                            foodMap.put("fat", 0.0f);
-                            foodMap.put("kcal", 0);
-                            foodMap.put("gTot", food.getQuantity());
-                        }
-                        
-                        foodMap.put("mealId", food.getMeal().getId());
-                        return foodMap;
-                    })
+            // Food categories live in the second database (served through the cache)
+            List<FoodResponse> foodData = foods.stream()
+                    .map(food -> foodResponse(food, foodCategoryCache.findById(food.categoryId()).orElse(null)))
                     .toList();
             
             return ResponseEntity.ok(foodData);
         } catch (Exception e) {
-            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
         }
     }
 
     /**
-     * Get all food categories for debugging
+     * Get all food categories, as inlined in the dashboard.
+     * Clients revalidate with If-None-Match and get a 304 while nothing changed.
      */
     @GetMapping("/api/food-categories")
     @ResponseBody
-    public ResponseEntity<?> getFoodCategories(Principal principal) {
+    public ResponseEntity<?> getFoodCategories(
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch,
+            Principal principal) {
         try {
-            List<FoodCategory> categories = foodCategoryRepo.findAll();
-            List<Map<String, Object>> categoryData = categories.stream()
-                    .map(category -> {
-                        Map<String, Object> categoryMap = new HashMap<>();
-                        categoryMap.put("id", category.getId());
-                        categoryMap.put("name", category.getName());
-                        categoryMap.put("prot", category.getProt());
-                        categoryMap.put("kcal", category.getKcal());
-                        categoryMap.put("fat", category.getFat());
-                        categoryMap.put("carb", category.getCarb());
-                        return categoryMap;
-                    })
-                    .toList();
-            
-            return ResponseEntity.ok(categoryData);
+            FoodCategoryCatalog.Snapshot catalog = foodCategoryCatalog.current();
+            CacheControl cacheControl = CacheControl.noCache().cachePrivate();
+
+            if (catalog.matches(ifNoneMatch)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(catalog.etag())
+                        .cacheControl(cacheControl)
+                        .build();
+            }
+            return ResponseEntity.ok()
+                    .eTag(catalog.etag())
+                    .cacheControl(cacheControl)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(catalog.json());
         } catch (Exception e) {
-            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
         }
     }
 
@@ -691,89 +826,209 @@ public class DashboardController {
      */
     @GetMapping("/api/meals/{mealId}/nutrition")
     @ResponseBody
+    // Not read-only: the page re-reads these totals right after a food write, and
+    // read-only transactions may be served by a lagging replica (see ReadReplicaRoutingDataSource)
+    @Transactional("primaryTransactionManager")
     public ResponseEntity<?> getMealNutrition(@PathVariable Long mealId, Principal principal) {
         try {
-            Coach coach = coachService.loadCoachByUsername(principal.getName());
-            Meal meal = mealRepo.findById(mealId)
-                    .filter(m -> m.getDay().getAthlete().getCoach().equals(coach))
+            Long coachId = coachService.loadCoachIdByUsername(principal.getName());
+            Meal meal = mealRepo.findByIdAndDayAthleteCoachId(mealId, coachId)
                     .orElseThrow(() -> new RuntimeException("Meal not found"));
 
-            // Calculate nutrition by fetching food categories from second database
-            List<Food> foods = foodRepo.findByMealOrderByIdAsc(meal);
-            
-            float totalProtein = 0.0f;
-            float totalCarbs = 0.0f;
-            float totalFat = 0.0f;
-            float totalKcal = 0.0f;
-            
-            for (Food food : foods) {
-                FoodCategory category = foodCategoryRepo.findById(food.getCategoryId()).orElse(null);
-                if (category != null) {
-                    int quantity = food.getQuantity();
-                    totalProtein += (category.getProt() != null ? category.getProt() : 0.0f) * quantity / 100.0f;
-                    totalCarbs += (category.getCarb() != null ? category.getCarb() : 0.0f) * quantity / 100.0f;
-                    totalFat += (category.getFat() != null ? category.getFat() : 0.0f) * quantity / 100.0f;
-                    totalKcal += (category.getKcal() != null ? category.getKcal() : 0.0f) * quantity / 100.0f;
-                }
-            }
-
-            return ResponseEntity.ok(Map.of(
-                "mealId", meal.getId(),
-                "mealName", meal.getName(),
-                "protein", Math.round(totalProtein * 10.0f) / 10.0f,
-                "carbs", Math.round(totalCarbs * 10.0f) / 10.0f,
-                "fat", Math.round(totalFat * 10.0f) / 10.0f,
-                "kcal", Math.round(totalKcal)
-            ));
+            // Totals are maintained on every food write
+            return ResponseEntity.ok(MealNutritionResponse.of(meal));
         } catch (Exception e) {
-            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
         }
     }
 
     /**
-     * Get nutrition information for a specific day
+     * Get nutrition information for a specific day, with per-meal subtotals
      */
     @GetMapping("/api/days/{dayId}/nutrition")
     @ResponseBody
+    // Not read-only, so the totals come from the primary (see getMealNutrition)
+    @Transactional("primaryTransactionManager")
     public ResponseEntity<?> getDayNutrition(@PathVariable Long dayId, Principal principal) {
         try {
-            Coach coach = coachService.loadCoachByUsername(principal.getName());
-            Day day = dayRepo.findById(dayId)
-                    .filter(d -> d.getAthlete().getCoach().equals(coach))
+            Long coachId = coachService.loadCoachIdByUsername(principal.getName());
+            Day day = dayRepo.findByIdAndAthleteCoachId(dayId, coachId)
                     .orElseThrow(() -> new RuntimeException("Day not found"));
 
-            // Calculate nutrition by fetching food categories from second database
+            // Totals are maintained on every food write
             List<Meal> meals = mealRepo.findByDayOrderByIdAsc(day);
-            
-            float totalProtein = 0.0f;
-            float totalCarbs = 0.0f;
-            float totalFat = 0.0f;
-            float totalKcal = 0.0f;
-            
-            for (Meal meal : meals) {
-                List<Food> foods = foodRepo.findByMealOrderByIdAsc(meal);
-                for (Food food : foods) {
-                    FoodCategory category = foodCategoryRepo.findById(food.getCategoryId()).orElse(null);
-                    if (category != null) {
-                        int quantity = food.getQuantity();
-                        totalProtein += (category.getProt() != null ? category.getProt() : 0.0f) * quantity / 100.0f;
-                        totalCarbs += (category.getCarb() != null ? category.getCarb() : 0.0f) * quantity / 100.0f;
-                        totalFat += (category.getFat() != null ? category.getFat() : 0.0f) * quantity / 100.0f;
-                        totalKcal += (category.getKcal() != null ? category.getKcal() : 0.0f) * quantity / 100.0f;
-                    }
-                }
+
+            return ResponseEntity.ok(DayNutritionResponse.of(day, meals));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        }
+    }
+
+    /**
+     * Get nutrition for a page of an athlete's days, with per-meal subtotals,
+     * so that the page can render the days it shows from a single request.
+     * Takes the same from/to/cursor/limit as GET /api/athletes/{id}/days and
+     * returns the same days, with the same X-Next-Cursor header.
+     */
+    @GetMapping("/api/athletes/{athleteId}/nutrition")
+    @ResponseBody
+    // Not read-only, so the totals come from the primary (see getMealNutrition)
+    @Transactional("primaryTransactionManager")
+    public ResponseEntity<?> getAthleteNutrition(
+            @PathVariable Long athleteId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit,
+            Principal principal) {
+        try {
+            if (limit < 1 || limit > MAX_PAGE_SIZE) {
+                return ResponseEntity.badRequest().body(new ErrorResponse("limit must be between 1 and " + MAX_PAGE_SIZE));
+            }
+
+            Long coachId = coachService.loadCoachIdByUsername(principal.getName());
+            if (!athleteRepo.existsByIdAndCoachId(athleteId, coachId)) {
+                throw new RuntimeException("Athlete not found");
+            }
+
+            // Totals are maintained on every food write: one query for the days, one for their meals
+            LocalDate rangeFrom = from != null ? from : EARLIEST_DATE;
+            LocalDate rangeTo = to != null ? to : LATEST_DATE;
+            PageRequest page = PageRequest.of(0, limit + 1);
+            List<DayTotals> days;
+            if (cursor != null) {
+                DateIdCursor after = DateIdCursor.parse(cursor);
+                days = dayRepo.findTotalsPageByAthleteIdAfter(athleteId, rangeFrom, rangeTo, after.date(), after.id(), page);
+            } else {
+                days = dayRepo.findTotalsPageByAthleteId(athleteId, rangeFrom, rangeTo, page);
             }
 
-            return ResponseEntity.ok(Map.of(
-                "dayId", day.getId(),
-                "dayName", day.getDayName(),
-                "protein", Math.round(totalProtein * 10.0f) / 10.0f,
-                "carbs", Math.round(totalCarbs * 10.0f) / 10.0f,
-                "fat", Math.round(totalFat * 10.0f) / 10.0f,
-                "kcal", Math.round(totalKcal)
-            ));
+            KeysetPage<DayTotals> result = KeysetPage.of(days, limit, day -> new DateIdCursor(day.date(), day.id()));
+
+            Map<Long, List<MealTotals>> mealsByDay = result.rows().isEmpty() ? Map.of()
+                    : mealRepo.findTotalsByDayIdIn(result.rows().stream().map(DayTotals::id).toList()).stream()
+                            .collect(Collectors.groupingBy(MealTotals::dayId));
+            List<DayNutritionResponse> dayData = result.rows().stream()
+                    .map(day -> DayNutritionResponse.of(day, mealsByDay.getOrDefault(day.id(), List.of())))
+                    .toList();
+
+            return result.respond(new AthleteNutritionResponse(athleteId, dayData));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        }
+    }
+
+    /**
+     * Download an athlete's whole history, one line per day, meal and food:
+     * ?format=csv (default) or ?format=ndjson. The body is streamed from a
+     * database cursor after this method returns, see AthleteExportService.
+     */
+    @GetMapping("/api/athletes/{athleteId}/export")
+    public ResponseEntity<StreamingResponseBody> exportAthlete(
+            @PathVariable Long athleteId,
+            @RequestParam(defaultValue = "csv") String format,
+            Principal principal) {
+        try {
+            AthleteExportService.Format exportFormat = AthleteExportService.Format.parse(format);
+
+            Long coachId = coachService.loadCoachIdByUsername(principal.getName());
+            Athlete athlete = athleteRepo.findByIdAndCoachId(athleteId, coachId)
+                    .orElseThrow(() -> new RuntimeException("Athlete not found"));
+
+            Long exportedId = athlete.getId();
+            // Streamed on an async thread: carry the request's statistics over so its SQL is counted
+            RequestStatistics statistics = RequestStatistics.current();
+            StreamingResponseBody body = out -> {
+                try (RequestStatistics.Scope ignored = RequestStatistics.resume(statistics)) {
+                    exportService.export(exportedId, exportFormat, out);
+                }
+            };
+            String filename = "athlete-" + exportedId + "-nutrition." + exportFormat.extension();
+            return ResponseEntity.ok()
+                    .contentType(exportFormat.mediaType())
+                    .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                    .body(body);
+        } catch (Exception e) {
+            throw new ExportRequestException(e.getMessage());
+        }
+    }
+
+    /**
+     * Import days, meals and foods for an athlete from the request body:
+     * ?format=csv (default), json or ndjson, see MealPlanImportService for
+     * the layout. The report lists the rows that could not be imported; it
+     * comes with a 400 if the import stopped before the end of the body.
+     */
+    @PostMapping("/api/athletes/{athleteId}/import")
+    @ResponseBody
+    public ResponseEntity<?> importMealPlan(
+            @PathVariable Long athleteId,
+            @RequestParam(defaultValue = "csv") String format,
+            InputStream body,
+            Principal principal) {
+        try {
+            MealPlanImportService.Format importFormat = MealPlanImportService.Format.parse(format);
+
+            Long coachId = coachService.loadCoachIdByUsername(principal.getName());
+            Athlete athlete = athleteRepo.findByIdAndCoachId(athleteId, coachId)
+                    .orElseThrow(() -> new RuntimeException("Athlete not found"));
+
+            MealPlanImportService.ImportReport report = importService.importPlan(athlete.getId(), importFormat, body);
+            return report.completed() ? ResponseEntity.ok(report) : ResponseEntity.badRequest().body(report);
         } catch (Exception e) {
-            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        }
+    }
+
+    /**
+     * One page of a keyset-paginated listing, fetched with limit + 1 rows: the
+     * extra row only shows that another page follows, starting after nextCursor.
+     */
+    private record KeysetPage<T>(List<T> rows, String nextCursor) {
+
+        static <T> KeysetPage<T> of(List<T> fetched, int limit, Function<T, DateIdCursor> cursorOf) {
+            if (fetched.size() <= limit) {
+                return new KeysetPage<>(fetched, null);
+            }
+            List<T> rows = fetched.subList(0, limit);
+            return new KeysetPage<>(rows, cursorOf.apply(rows.get(limit - 1)).toString());
+        }
+
+        /**
+         * 200 with the given body, and the X-Next-Cursor header unless this is the last page.
+         */
+        ResponseEntity<Object> respond(Object body) {
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (nextCursor != null) {
+                response.header(NEXT_CURSOR_HEADER, nextCursor);
+            }
+            return response.body(body);
+        }
+    }
+
+    /**
+     * A rejected export gets the same error body as the other bad requests;
+     * its success type (a stream) cannot carry one.
+     */
+    @ExceptionHandler(ExportRequestException.class)
+    @ResponseBody
+    public ResponseEntity<ErrorResponse> handleRejectedExport(ExportRequestException e) {
+        return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+    }
+
+    static final class ExportRequestException extends RuntimeException {
+        ExportRequestException(String message) {
+            super(message);
         }
     }
-} 
+
+    /**
+     * Malformed JSON or a value of the wrong type (e.g. "abc" as an id) in a
+     * request body gets the same error body as the other bad requests.
+     */
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    @ResponseBody
+    public ResponseEntity<ErrorResponse> handleUnreadableBody(HttpMessageNotReadableException e) {
+        return ResponseEntity.badRequest().body(new ErrorResponse("Malformed request body"));
+    }
+}
@@ -0,0 +1,50 @@
+package org.example.controller;
+
+/**
+ * Request bodies of the dashboard's REST endpoints.
+ *
+ * Bound by Jackson straight into typed fields; ids and quantities sent as
+ * JSON strings (e.g. "5") are still accepted. Missing fields are null and
+ * are checked by the endpoints.
+ */
+public final class DashboardRequests {
+
+    private DashboardRequests() {
+    }
+
+    /**
+     * POST /api/days
+     */
+    public record CreateDay(Long athleteId, String dayName) { }
+
+    /**
+     * PUT /api/days/{dayId}
+     */
+    public record UpdateDay(String dayName) { }
+
+    /**
+     * POST /api/meals
+     */
+    public record CreateMeal(Long dayId, String mealName) { }
+
+    /**
+     * PUT /api/meals/{mealId}
+     */
+    public record UpdateMeal(String mealName) { }
+
+    /**
+     * POST /api/foods - without a category, the first available one is used;
+     * without a quantity, 1 g.
+     */
+    public record CreateFood(Long mealId, Long categoryId, Integer quantity) { }
+
+    /**
+     * One element of POST /api/meals/{mealId}/foods:batch
+     */
+    public record BatchFood(Long categoryId, Integer quantity) { }
+
+    /**
+     * PUT /api/foods/{foodId} - only the fields present are changed.
+     */
+    public record UpdateFood(Integer quantity, Long categoryId) { }
+}
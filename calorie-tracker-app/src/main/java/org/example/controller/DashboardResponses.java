@@ -0,0 +1,156 @@
+package org.example.controller;
+
+import org.example.foodcategories.FoodCategory;
+import org.example.model.Day;
+import org.example.model.Food;
+import org.example.model.MacroTotals;
+import org.example.model.Meal;
+import org.example.nutrition.MacroProfile;
+import org.example.repository.projection.DayTotals;
+import org.example.repository.projection.FoodSummary;
+import org.example.repository.projection.MealTotals;
+
+import java.util.List;
+
+/**
+ * Response bodies of the dashboard's REST endpoints, and how they are built.
+ *
+ * Stateless and free of repository access, so the benchmarks module can
+ * measure it on synthetic data. Jackson serializes these records with
+ * serializers it builds once per type.
+ */
+public final class DashboardResponses {
+
+    private DashboardResponses() {
+    }
+
+    /**
+     * Build the JSON row for a food, with macros for its quantity.
+     * A null category (deleted in the admin app) yields zeros.
+     */
+    public static FoodResponse foodResponse(Food food, FoodCategory foodCategory) {
+        return foodResponse(food.getId(), food.getCategoryId(), food.getQuantity(), food.getMeal().getId(), foodCategory);
+    }
+
+    /**
+     * Same row, built from a projected food instead of a loaded entity.
+     */
+    public static FoodResponse foodResponse(FoodSummary food, FoodCategory foodCategory) {
+        return foodResponse(food.id(), food.categoryId(), food.quantity(), food.mealId(), foodCategory);
+    }
+
+    private static FoodResponse foodResponse(Long id, Long categoryId, int quantity, Long mealId, FoodCategory foodCategory) {
+        MacroProfile profile = MacroProfile.of(foodCategory);
+        return new FoodResponse(
+                id,
+                categoryId,
+                foodCategory != null ? foodCategory.getName() : "Unknown Category",
+                quantity,
+                profile.protFor(quantity),
+                profile.carbFor(quantity),
+                profile.fatFor(quantity),
+                profile.kcalFor(quantity),
+                quantity, // Total quantity in grams
+                mealId);
+    }
+
+    /**
+     * A food with its category name and macros, as returned by the food endpoints.
+     */
+    public record FoodResponse(
+            Long id,
+            Long categoryId,
+            String categoryName,
+            int quantity,
+            double prot,
+            double carb,
+            double fat,
+            int kcal,
+            int gTot,
+            Long mealId) { }
+
+    /**
+     * Body of every failed request: {"error": "..."}
+     */
+    public record ErrorResponse(String error) { }
+
+    /**
+     * Body of a successful delete: {"success": true}
+     */
+    public record SuccessResponse(boolean success) {
+
+        public static final SuccessResponse OK = new SuccessResponse(true);
+    }
+
+    /**
+     * A day as returned by the create/update day endpoints.
+     */
+    public record DayResponse(Long id, String dayName, Long athleteId) {
+
+        public static DayResponse of(Day day) {
+            return new DayResponse(day.getId(), day.getDayName(), day.getAthlete().getId());
+        }
+    }
+
+    /**
+     * A meal as returned by the create/update meal endpoints.
+     */
+    public record MealResponse(Long id, String name, Long dayId) {
+
+        public static MealResponse of(Meal meal) {
+            return new MealResponse(meal.getId(), meal.getName(), meal.getDay().getId());
+        }
+    }
+
+    /**
+     * Persisted totals of a meal, with its name.
+     */
+    public record MealNutritionResponse(Long mealId, String mealName, double protein, double carbs, double fat, int kcal) {
+
+        public static MealNutritionResponse of(Meal meal) {
+            MacroTotals totals = meal.getTotals();
+            return new MealNutritionResponse(meal.getId(), meal.getName(),
+                    totals.getProtein(), totals.getCarbs(), totals.getFat(), totals.getKcal());
+        }
+    }
+
+    /**
+     * Persisted totals of a meal, as a subtotal row of its day.
+     */
+    public record MealTotalsResponse(Long mealId, double protein, double carbs, double fat, int kcal) {
+
+        public static MealTotalsResponse of(Meal meal) {
+            MacroTotals totals = meal.getTotals();
+            return new MealTotalsResponse(meal.getId(),
+                    totals.getProtein(), totals.getCarbs(), totals.getFat(), totals.getKcal());
+        }
+
+        public static MealTotalsResponse of(MealTotals meal) {
+            return new MealTotalsResponse(meal.id(), meal.protein(), meal.carbs(), meal.fat(), meal.kcal());
+        }
+    }
+
+    /**
+     * Persisted totals of a day, with the subtotals of its meals.
+     */
+    public record DayNutritionResponse(Long dayId, String dayName, double protein, double carbs, double fat, int kcal,
+                                       List<MealTotalsResponse> meals) {
+
+        public static DayNutritionResponse of(Day day, List<Meal> meals) {
+            MacroTotals totals = day.getTotals();
+            return new DayNutritionResponse(day.getId(), day.getDayName(),
+                    totals.getProtein(), totals.getCarbs(), totals.getFat(), totals.getKcal(),
+                    meals.stream().map(MealTotalsResponse::of).toList());
+        }
+
+        public static DayNutritionResponse of(DayTotals day, List<MealTotals> meals) {
+            return new DayNutritionResponse(day.id(), day.dayName(), day.protein(), day.carbs(), day.fat(), day.kcal(),
+                    meals.stream().map(MealTotalsResponse::of).toList());
+        }
+    }
+
+    /**
+     * A page of an athlete's days with their totals and meal subtotals.
+     */
+    public record AthleteNutritionResponse(Long athleteId, List<DayNutritionResponse> days) { }
+}
@@ -0,0 +1,312 @@
+package org.example.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.example.foodcategories.FoodCategory;
+import org.example.nutrition.MacroProfile;
+import org.example.observability.SqlStatementCounter;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Writes an athlete's whole history (every day, meal and food with its macros)
+ * as CSV or NDJSON, for coaches who want it in a spreadsheet.
+ *
+ * Rows are read through a forward-only JDBC cursor (fetchSize rows at a time,
+ * no entities, no persistence context) inside a read-only transaction, and
+ * written to the output as they arrive, so memory use does not depend on the
+ * length of the history. Categories come from the in-memory FoodCategoryCatalog.
+ *
+ * Output is one line per day, then per meal, then per food, in the order the
+ * dashboard lists them: days by date desc, meals and foods by id. Day and meal
+ * lines carry the persisted totals; food lines the food's own macros.
+ */
+@Service
+public class AthleteExportService {
+
+    private static final String QUERY =
+            "SELECT d.id AS day_id, d.date, d.day_name, "
+            + "d.total_prot AS day_prot, d.total_carb AS day_carb, d.total_fat AS day_fat, d.total_kcal AS day_kcal, "
+            + "m.id AS meal_id, m.name AS meal_name, "
+            + "m.total_prot AS meal_prot, m.total_carb AS meal_carb, m.total_fat AS meal_fat, m.total_kcal AS meal_kcal, "
+            + "f.id AS food_id, f.category_id, f.quantity "
+            + "FROM days d "
+            + "LEFT JOIN meals m ON m.day_id = d.id "
+            + "LEFT JOIN foods f ON f.meal_id = m.id "
+            + "WHERE d.athlete_id = ? "
+            + "ORDER BY d.date DESC, d.id, m.id, f.id";
+
+    static final String[] COLUMNS = {
+            "type", "date", "day", "meal_id", "meal", "food_id", "category_id", "category", "quantity",
+            "prot", "carb", "fat", "kcal"};
+
+    private static final JsonFactory JSON = new JsonFactory()
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final FoodCategoryCatalog foodCategoryCatalog;
+
+    public AthleteExportService(
+            @Qualifier("primaryRoutingDataSource") DataSource primaryDataSource,
+            FoodCategoryCatalog foodCategoryCatalog,
+            @Value("${app.export.fetch-size:500}") int fetchSize) {
+        // The lazy proxy defers the connection until the read-only flag is set, so exports can use a read replica
+        DataSource dataSource = new LazyConnectionDataSourceProxy(
+                new SqlStatementCounter(primaryDataSource, SqlStatementCounter.PRIMARY));
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.readOnlyTransaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        this.readOnlyTransaction.setReadOnly(true);
+        this.foodCategoryCatalog = foodCategoryCatalog;
+    }
+
+    /**
+     * Writes the history of the athlete; the caller has checked ownership.
+     * Does not close the stream.
+     */
+    public void export(Long athleteId, Format format, OutputStream out) throws IOException {
+        Map<Long, FoodCategory> categories = new HashMap<>();
+        for (FoodCategory category : foodCategoryCatalog.current().categories()) {
+            categories.put(category.getId(), category);
+        }
+
+        RowWriter writer = format == Format.CSV ? new CsvWriter(out) : new NdjsonWriter(out);
+        try {
+            readOnlyTransaction.executeWithoutResult(status ->
+                    jdbcTemplate.query(QUERY, new RowEmitter(writer, categories), athleteId));
+        } catch (UncheckedIOException e) {
+            // The client went away; nothing more to write
+            throw e.getCause();
+        }
+        writer.finish();
+    }
+
+    public enum Format {
+        CSV("csv", new MediaType("text", "csv", StandardCharsets.UTF_8)),
+        NDJSON("ndjson", MediaType.APPLICATION_NDJSON);
+
+        private final String extension;
+        private final MediaType mediaType;
+
+        Format(String extension, MediaType mediaType) {
+            this.extension = extension;
+            this.mediaType = mediaType;
+        }
+
+        public static Format parse(String value) {
+            for (Format format : values()) {
+                if (format.extension.equalsIgnoreCase(value)) {
+                    return format;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported export format: " + value + " (use csv or ndjson)");
+        }
+
+        public String extension() {
+            return extension;
+        }
+
+        public MediaType mediaType() {
+            return mediaType;
+        }
+    }
+
+    /**
+     * One output line. Day and meal lines have no food columns.
+     */
+    record Row(String type, LocalDate date, String dayName, Long mealId, String mealName,
+               Long foodId, Long categoryId, String categoryName, Integer quantity,
+               double prot, double carb, double fat, int kcal) { }
+
+    /**
+     * Turns the joined day/meal/food rows into day, meal and food lines as the cursor advances.
+     */
+    private static final class RowEmitter implements RowCallbackHandler {
+        private final RowWriter writer;
+        private final Map<Long, FoodCategory> categories;
+        private long dayId = -1;
+        private long mealId = -1;
+
+        RowEmitter(RowWriter writer, Map<Long, FoodCategory> categories) {
+            this.writer = writer;
+            this.categories = categories;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            LocalDate date = rs.getObject("date", LocalDate.class);
+            String dayName = rs.getString("day_name");
+            try {
+                if (rs.getLong("day_id") != dayId) {
+                    dayId = rs.getLong("day_id");
+                    mealId = -1;
+                    writer.write(new Row("day", date, dayName, null, null, null, null, null, null,
+                            rs.getDouble("day_prot"), rs.getDouble("day_carb"), rs.getDouble("day_fat"), rs.getInt("day_kcal")));
+                }
+                long currentMealId = rs.getLong("meal_id");
+                if (rs.wasNull()) {
+                    return;
+                }
+                String mealName = rs.getString("meal_name");
+                if (currentMealId != mealId) {
+                    mealId = currentMealId;
+                    writer.write(new Row("meal", date, dayName, mealId, mealName, null, null, null, null,
+                            rs.getDouble("meal_prot"), rs.getDouble("meal_carb"), rs.getDouble("meal_fat"), rs.getInt("meal_kcal")));
+                }
+                long foodId = rs.getLong("food_id");
+                if (rs.wasNull()) {
+                    return;
+                }
+                long categoryId = rs.getLong("category_id");
+                int quantity = rs.getInt("quantity");
+                // A category deleted in the admin app counts as zero, as everywhere else
+                FoodCategory category = categories.get(categoryId);
+                MacroProfile profile = MacroProfile.of(category);
+                writer.write(new Row("food", date, dayName, mealId, mealName, foodId, categoryId,
+                        category != null ? category.getName() : null, quantity,
+                        profile.protFor(quantity), profile.carbFor(quantity), profile.fatFor(quantity), profile.kcalFor(quantity)));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private interface RowWriter {
+        void write(Row row) throws IOException;
+
+        void finish() throws IOException;
+    }
+
+    private static final class CsvWriter implements RowWriter {
+        private final Writer out;
+
+        CsvWriter(OutputStream out) throws IOException {
+            this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 16 * 1024);
+            this.out.write(String.join(",", COLUMNS));
+            this.out.write("\r\n");
+        }
+
+        @Override
+        public void write(Row row) throws IOException {
+            out.write(row.type());
+            out.write(',');
+            out.write(row.date().toString());
+            out.write(',');
+            text(row.dayName());
+            out.write(',');
+            number(row.mealId());
+            out.write(',');
+            text(row.mealName());
+            out.write(',');
+            number(row.foodId());
+            out.write(',');
+            number(row.categoryId());
+            out.write(',');
+            text(row.categoryName());
+            out.write(',');
+            number(row.quantity());
+            out.write(',');
+            out.write(Double.toString(row.prot()));
+            out.write(',');
+            out.write(Double.toString(row.carb()));
+            out.write(',');
+            out.write(Double.toString(row.fat()));
+            out.write(',');
+            out.write(Integer.toString(row.kcal()));
+            out.write("\r\n");
+        }
+
+        @Override
+        public void finish() throws IOException {
+            out.flush();
+        }
+
+        private void number(Number value) throws IOException {
+            if (value != null) {
+                out.write(value.toString());
+            }
+        }
+
+        /**
+         * Quotes per RFC 4180, and defuses values a spreadsheet would run as a formula.
+         */
+        private void text(String value) throws IOException {
+            if (value == null || value.isEmpty()) {
+                return;
+            }
+            if ("=+-@".indexOf(value.charAt(0)) >= 0) {
+                value = "'" + value;
+            }
+            if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+                out.write('"');
+                out.write(value.replace("\"", "\"\""));
+                out.write('"');
+            } else {
+                out.write(value);
+            }
+        }
+    }
+
+    private static final class NdjsonWriter implements RowWriter {
+        private final JsonGenerator json;
+
+        NdjsonWriter(OutputStream out) throws IOException {
+            this.json = JSON.createGenerator(out);
+            // One object per line: the newline is written after each object instead
+            this.json.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void write(Row row) throws IOException {
+            json.writeStartObject();
+            json.writeStringField("type", row.type());
+            json.writeStringField("date", row.date().toString());
+            if (row.dayName() != null) {
+                json.writeStringField("day", row.dayName());
+            }
+            if (row.mealId() != null) {
+                json.writeNumberField("meal_id", row.mealId());
+                json.writeStringField("meal", row.mealName());
+            }
+            if (row.foodId() != null) {
+                json.writeNumberField("food_id", row.foodId());
+                json.writeNumberField("category_id", row.categoryId());
+                json.writeStringField("category", row.categoryName());
+                json.writeNumberField("quantity", row.quantity());
+            }
+            json.writeNumberField("prot", row.prot());
+            json.writeNumberField("carb", row.carb());
+            json.writeNumberField("fat", row.fat());
+            json.writeNumberField("kcal", row.kcal());
+            json.writeEndObject();
+            json.writeRaw('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            json.flush();
+        }
+    }
+}
@@ -1,14 +1,26 @@
 package org.example.service;
 
+import org.example.cache.LruTtlCache;
 import org.example.model.Coach;
 import org.example.repository.CoachRepository;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.*;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.TimeUnit;
+
 @Service
 public class CoachUserDetailsService implements UserDetailsService {
 
+    private static final int COACH_ID_CACHE_MAX_SIZE = 1000;
+    private static final long COACH_ID_CACHE_TTL_NANOS = TimeUnit.MINUTES.toNanos(5);
+
     private final CoachRepository coachRepo;
+    // Username to coach id, so ownership checks do not cost a SELECT on coaches.
+    // The TTL bounds how long a deleted or renamed coach can still be resolved.
+    private final LruTtlCache<String, Long> coachIdCache =
+            new LruTtlCache<>(COACH_ID_CACHE_MAX_SIZE, COACH_ID_CACHE_TTL_NANOS, System::nanoTime);
 
     public CoachUserDetailsService(CoachRepository coachRepo) {
         this.coachRepo = coachRepo;
@@ -20,10 +32,12 @@ public class CoachUserDetailsService implements UserDetailsService {
      */
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        return coachRepo.findByUsername(username)
+        Coach coach = coachRepo.findByUsername(username)
                 .orElseThrow(() ->
                     new UsernameNotFoundException("No coach found with username: " + username)
                 );
+        coachIdCache.put(coach.getUsername(), coach.getId());
+        return coach;
     }
 
     /**
@@ -37,4 +51,26 @@ public class CoachUserDetailsService implements UserDetailsService {
                 );
     }
 
+    /**
+     * For ownership checks: resolve the id of the coach with the given username
+     * without loading the entity. The authenticated Coach in the security context
+     * is used when it matches, then a short-lived cache, and only then the database.
+     */
+    public Long loadCoachIdByUsername(String username) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null
+                && authentication.getPrincipal() instanceof Coach coach
+                && coach.getId() != null
+                && coach.getUsername().equals(username)) {
+            return coach.getId();
+        }
+
+        Long coachId = coachIdCache.get(username);
+        if (coachId == null) {
+            coachId = loadCoachByUsername(username).getId();
+            coachIdCache.put(username, coachId);
+        }
+        return coachId;
+    }
+
 }
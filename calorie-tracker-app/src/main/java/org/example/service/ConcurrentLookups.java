@@ -0,0 +1,200 @@
+package org.example.service;
+
+import org.example.observability.RequestStatistics;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Runs lookups against the food-categories database in the background while
+ * the request thread queries the primary database, so a write endpoint waits
+ * for the slower of the two rather than for their sum.
+ *  • lookups run on the application task executor: virtual threads when
+ *    spring.threads.virtual.enabled is set, otherwise its bounded pool; if
+ *    the pool is saturated the lookup runs on the caller's thread instead
+ *  • a lookup for a key that is already in flight joins it instead of
+ *    issuing the same query again
+ *  • join() waits at most the configured timeout, counted from start()
+ *  • cancel() gives up on a lookup nobody will join, e.g. after a failed
+ *    ownership check; it is skipped if it has not started yet and no other
+ *    caller is waiting for it, a query already running is left to finish
+ *
+ * Only lookups that need no transaction of the caller belong here: the
+ * primary persistence context is bound to the request thread.
+ */
+@Service
+public class ConcurrentLookups {
+
+    private final Executor executor;
+    private final long timeoutNanos;
+    private final LongSupplier clock;
+
+    private final Map<Object, InFlight<?>> inFlight = new ConcurrentHashMap<>();
+
+    public ConcurrentLookups(
+            @Qualifier("applicationTaskExecutor") Executor executor,
+            @Value("${app.concurrent-lookups.timeout-ms:2000}") long timeoutMillis) {
+        this(executor, TimeUnit.MILLISECONDS.toNanos(timeoutMillis), System::nanoTime);
+    }
+
+    ConcurrentLookups(Executor executor, long timeoutNanos, LongSupplier clock) {
+        this.executor = executor;
+        this.timeoutNanos = timeoutNanos;
+        this.clock = clock;
+    }
+
+    /**
+     * Starts the lookup identified by key, or joins the one already running for it.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Lookup<T> start(Object key, Supplier<T> lookup) {
+        long deadline = clock.getAsLong() + timeoutNanos;
+
+        InFlight<T> created = new InFlight<>();
+        InFlight<?> running = inFlight.compute(key, (k, current) -> {
+            if (current == null) {
+                return created;
+            }
+            current.waiters++;
+            return current;
+        });
+        if (running != created) {
+            return new Lookup<>(key, (InFlight<T>) running, deadline);
+        }
+
+        Runnable task = withCallerContext(() -> {
+            if (created.result.isCancelled()) {
+                return;
+            }
+            T result;
+            try {
+                result = lookup.get();
+            } catch (Throwable e) {
+                inFlight.remove(key, created);
+                created.result.completeExceptionally(e);
+                return;
+            }
+            // Removed before completing, so a later start() never joins a finished lookup
+            inFlight.remove(key, created);
+            created.result.complete(result);
+        });
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            task.run();
+        }
+        return new Lookup<>(key, created, deadline);
+    }
+
+    int inFlight() {
+        return inFlight.size();
+    }
+
+    /**
+     * Carries the request's log context and statistics over to the thread running the lookup.
+     */
+    private static Runnable withCallerContext(Runnable task) {
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        Runnable counted = RequestStatistics.propagate(task);
+        return () -> {
+            Map<String, String> previous = MDC.getCopyOfContextMap();
+            if (mdc != null) {
+                MDC.setContextMap(mdc);
+            }
+            try {
+                counted.run();
+            } finally {
+                if (previous != null) {
+                    MDC.setContextMap(previous);
+                } else {
+                    MDC.clear();
+                }
+            }
+        };
+    }
+
+    private static final class InFlight<T> {
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        // Lookups handed out for this key and not cancelled; only changed inside inFlight.compute*
+        private int waiters = 1;
+    }
+
+    /**
+     * A started lookup, meant to be used by a single thread.
+     */
+    public final class Lookup<T> {
+        private final Object key;
+        private final InFlight<T> running;
+        private final CompletableFuture<T> result;
+        private final long deadline;
+        private boolean cancelled;
+
+        private Lookup(Object key, InFlight<T> running, long deadline) {
+            this.key = key;
+            this.running = running;
+            this.result = running.result;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Gives up on the result. The lookup itself is only cancelled once every
+         * caller that started or joined it has given up.
+         */
+        public void cancel() {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            inFlight.computeIfPresent(key, (k, current) -> {
+                if (current != running || --current.waiters > 0) {
+                    return current;
+                }
+                current.result.cancel(false);
+                return null;
+            });
+        }
+
+        /**
+         * Waits for the result. Exceptions thrown by the lookup are rethrown as is;
+         * running out of time throws LookupTimeoutException.
+         */
+        public T join() {
+            try {
+                long remaining = Math.max(0, deadline - clock.getAsLong());
+                return result.get(remaining, TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                throw new LookupTimeoutException("Lookup of " + key + " timed out after "
+                        + TimeUnit.NANOSECONDS.toMillis(timeoutNanos) + " ms");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for lookup of " + key, e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                if (e.getCause() instanceof Error cause) {
+                    throw cause;
+                }
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+    }
+
+    public static class LookupTimeoutException extends RuntimeException {
+        public LookupTimeoutException(String message) {
+            super(message);
+        }
+    }
+}
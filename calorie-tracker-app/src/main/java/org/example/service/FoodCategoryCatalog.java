@@ -0,0 +1,201 @@
+package org.example.service;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.CharacterEscapes;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.example.foodcategories.FoodCategory;
+import org.example.foodcategories.FoodCategoryCache;
+import org.example.repository.foodcategories.FoodCategoryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * The whole list of food categories, pre-serialized for the dashboard.
+ *
+ * The snapshot is served as-is both inline in the page and from
+ * GET /api/food-categories, so a page load costs neither a food-categories
+ * query nor a serialization:
+ *  • the list is reloaded at most once per refresh interval (categories are
+ *    edited by the admin app, in another process)
+ *  • the ETag is a hash of the JSON, so it only changes when a category does
+ */
+@Service
+public class FoodCategoryCatalog {
+    private static final Logger logger = LoggerFactory.getLogger(FoodCategoryCatalog.class);
+
+    private final FoodCategoryRepository foodCategoryRepository;
+    private final FoodCategoryCache foodCategoryCache;
+    private final long refreshNanos;
+    private final LongSupplier clock;
+
+    private volatile Loaded loaded;
+    private final ReentrantLock reloadLock = new ReentrantLock();
+
+    @Autowired
+    public FoodCategoryCatalog(
+            FoodCategoryRepository foodCategoryRepository,
+            FoodCategoryCache foodCategoryCache,
+            @Value("${app.food-category-catalog.refresh-seconds:60}") long refreshSeconds) {
+        this(foodCategoryRepository, foodCategoryCache, TimeUnit.SECONDS.toNanos(refreshSeconds), System::nanoTime);
+    }
+
+    FoodCategoryCatalog(FoodCategoryRepository foodCategoryRepository, FoodCategoryCache foodCategoryCache,
+                        long refreshNanos, LongSupplier clock) {
+        this.foodCategoryRepository = foodCategoryRepository;
+        this.foodCategoryCache = foodCategoryCache;
+        this.refreshNanos = refreshNanos;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the current snapshot, reloading it first if it is older than the refresh interval.
+     */
+    public Snapshot current() {
+        Loaded current = loaded;
+        if (current != null && !isStale(current)) {
+            return current.snapshot();
+        }
+        return reload();
+    }
+
+    private Snapshot reload() {
+        // A lock rather than synchronized: the reload queries the database, which
+        // would pin a virtual thread holding a monitor
+        reloadLock.lock();
+        try {
+            // Another thread may have reloaded while this one was waiting
+            Loaded current = loaded;
+            if (current != null && !isStale(current)) {
+                return current.snapshot();
+            }
+
+            List<FoodCategory> categories = foodCategoryRepository.findAll();
+            // Warm the cache: the REST calls made by the page will look these up by id
+            categories.forEach(foodCategoryCache::put);
+
+            Snapshot snapshot = Snapshot.of(categories);
+            if (current == null || !current.snapshot().etag().equals(snapshot.etag())) {
+                logger.info("Food category catalog rebuilt: {} categories, ETag {}", categories.size(), snapshot.etag());
+            } else {
+                // Unchanged - keep the same instance (and bytes) for the next interval
+                snapshot = current.snapshot();
+            }
+            loaded = new Loaded(snapshot, clock.getAsLong());
+            return snapshot;
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private boolean isStale(Loaded current) {
+        return clock.getAsLong() - current.loadedAt() > refreshNanos;
+    }
+
+    private record Loaded(Snapshot snapshot, long loadedAt) { }
+
+    /**
+     * Immutable, pre-serialized list of categories.
+     *
+     * @param categories the entities, for code that needs them (e.g. a default category)
+     * @param json       UTF-8 JSON array of {id, name, prot, kcal, fat, carb}
+     * @param jsonText   the same JSON as text, for inlining into the page
+     * @param etag       quoted strong ETag derived from the JSON
+     */
+    public record Snapshot(List<FoodCategory> categories, byte[] json, String jsonText, String etag) {
+
+        private static final ObjectWriter WRITER = new ObjectMapper().writer().with(new ScriptSafeEscapes());
+
+        /**
+         * Serializes the categories, treating missing macros as zero.
+         */
+        public static Snapshot of(List<FoodCategory> categories) {
+            List<Entry> entries = categories.stream()
+                    .map(category -> new Entry(
+                            category.getId(),
+                            category.getName(),
+                            category.getProt() != null ? category.getProt() : 0.0,
+                            category.getKcal() != null ? category.getKcal() : 0.0,
+                            category.getFat() != null ? category.getFat() : 0.0,
+                            category.getCarb() != null ? category.getCarb() : 0.0))
+                    .toList();
+            try {
+                byte[] json = WRITER.writeValueAsBytes(entries);
+                return new Snapshot(List.copyOf(categories), json, new String(json, StandardCharsets.UTF_8), etagOf(json));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Could not serialize food categories", e);
+            }
+        }
+
+        /**
+         * Whether an If-None-Match header value matches this snapshot's ETag.
+         */
+        public boolean matches(String ifNoneMatch) {
+            if (ifNoneMatch == null) {
+                return false;
+            }
+            for (String candidate : ifNoneMatch.split(",")) {
+                String tag = candidate.trim();
+                if (tag.startsWith("W/")) {
+                    tag = tag.substring(2); // If-None-Match uses weak comparison
+                }
+                if (tag.equals("*") || tag.equals(etag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static String etagOf(byte[] json) {
+            try {
+                byte[] hash = MessageDigest.getInstance("SHA-256").digest(json);
+                return "\"" + HexFormat.of().formatHex(hash, 0, 16) + "\"";
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 not available", e);
+            }
+        }
+
+        @JsonPropertyOrder({"id", "name", "prot", "kcal", "fat", "carb"})
+        private record Entry(Long id, String name, double prot, double kcal, double fat, double carb) { }
+    }
+
+    /**
+     * Escapes the characters that could close the surrounding script element
+     * or HTML comment when the JSON is inlined into the page.
+     */
+    private static final class ScriptSafeEscapes extends CharacterEscapes {
+
+        private final int[] escapes;
+
+        ScriptSafeEscapes() {
+            escapes = CharacterEscapes.standardAsciiEscapesForJSON();
+            escapes['<'] = CharacterEscapes.ESCAPE_STANDARD;
+            escapes['>'] = CharacterEscapes.ESCAPE_STANDARD;
+            escapes['&'] = CharacterEscapes.ESCAPE_STANDARD;
+        }
+
+        @Override
+        public int[] getEscapeCodesForAscii() {
+            return escapes;
+        }
+
+        @Override
+        public SerializableString getEscapeSequence(int ch) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package org.example.service;
+
+import org.example.foodcategories.FoodCategoryCache;
+import org.example.foodcategories.FoodCategoryReplica;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Polls the food-categories database and keeps the food_categories_replica
+ * copy in the primary database in step with it. The admin app pushes its own
+ * edits right away; this catches everything else (other writers, failed
+ * pushes) within one poll interval. Runs once right after startup.
+ *
+ * Categories edited or deleted since the previous poll are evicted from this
+ * instance's FoodCategoryCache, so that food writes stop using their old
+ * macros within one poll interval rather than one cache TTL.
+ */
+@Component
+public class FoodCategoryReplicationJob {
+    private static final Logger logger = LoggerFactory.getLogger(FoodCategoryReplicationJob.class);
+
+    private final FoodCategoryReplica replica;
+    private final FoodCategoryCache foodCategoryCache;
+
+    public FoodCategoryReplicationJob(FoodCategoryReplica replica, FoodCategoryCache foodCategoryCache) {
+        this.replica = replica;
+        this.foodCategoryCache = foodCategoryCache;
+    }
+
+    @Scheduled(fixedDelayString = "${app.food-categories-replica.poll-interval-ms:30000}")
+    public void poll() {
+        try {
+            replica.sync().changedIds().forEach(foodCategoryCache::evict);
+        } catch (Exception e) {
+            // The lag metric keeps growing until a poll succeeds again
+            logger.warn("Food categories replica sync failed: {}", e.getMessage());
+        }
+    }
+}
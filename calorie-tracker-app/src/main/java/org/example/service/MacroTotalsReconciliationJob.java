@@ -0,0 +1,42 @@
+package org.example.service;
+
+import org.example.nutrition.MacroTotalsRecalculator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically checks the persisted meal/day totals against a full
+ * recomputation and repairs any drift, e.g. from a write made while this
+ * instance still had a stale food category in its cache.
+ *
+ * Also runs once at startup, which fills in the totals of rows that existed
+ * before the totals columns were added.
+ */
+@Component
+public class MacroTotalsReconciliationJob {
+
+    private final MacroTotalsRecalculator recalculator;
+    private final boolean runOnStartup;
+
+    public MacroTotalsReconciliationJob(
+            MacroTotalsRecalculator recalculator,
+            @Value("${app.macro-totals.reconcile-on-startup:true}") boolean runOnStartup) {
+        this.recalculator = recalculator;
+        this.runOnStartup = runOnStartup;
+    }
+
+    @Scheduled(cron = "${app.macro-totals.reconcile-cron:0 30 3 * * *}")
+    public void reconcile() {
+        recalculator.reconcileAll();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileOnStartup() {
+        if (runOnStartup) {
+            reconcile();
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package org.example.service;
+
+import org.example.repository.AthleteRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Imports a meal plan file from the command line, for files too large to
+ * upload through the dashboard:
+ *
+ *   java -jar calorie-tracker-app.jar --spring.main.web-application-type=none \
+ *        --app.import.file=plan.csv --app.import.athlete-id=42
+ *
+ * The format follows the file extension (.json and .ndjson are JSON, anything
+ * else CSV) unless --app.import.format is given. The application exits once
+ * the import is done: status 0 if every row went in, 1 if some rows were
+ * rejected, 2 if the import stopped early or could not start.
+ * Only present when app.import.file is set.
+ */
+@Component
+@ConditionalOnProperty("app.import.file")
+public class MealPlanImportCommand implements ApplicationRunner {
+    private static final Logger logger = LoggerFactory.getLogger(MealPlanImportCommand.class);
+
+    static final int ALL_IMPORTED = 0;
+    static final int ROWS_REJECTED = 1;
+    static final int FAILED = 2;
+
+    private final MealPlanImportService importService;
+    private final AthleteRepository athleteRepo;
+    private final ConfigurableApplicationContext context;
+    private final Path file;
+    private final Long athleteId;
+    private final String format;
+
+    public MealPlanImportCommand(
+            MealPlanImportService importService,
+            AthleteRepository athleteRepo,
+            ConfigurableApplicationContext context,
+            @Value("${app.import.file}") String file,
+            @Value("${app.import.athlete-id:#{null}}") Long athleteId,
+            @Value("${app.import.format:}") String format) {
+        this.importService = importService;
+        this.athleteRepo = athleteRepo;
+        this.context = context;
+        this.file = Path.of(file);
+        this.athleteId = athleteId;
+        this.format = format;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int status = importFile();
+        System.exit(SpringApplication.exit(context, () -> status));
+    }
+
+    /**
+     * Runs the import and returns the exit status.
+     */
+    int importFile() {
+        try {
+            if (athleteId == null) {
+                throw new IllegalArgumentException("--app.import.athlete-id is required");
+            }
+            if (!athleteRepo.existsById(athleteId)) {
+                throw new IllegalArgumentException("Athlete not found: " + athleteId);
+            }
+            MealPlanImportService.Format importFormat = MealPlanImportService.Format.parse(
+                    format.isBlank() ? formatOf(file) : format);
+
+            logger.info("Importing {} as {} for athlete {}", file, importFormat, athleteId);
+            MealPlanImportService.ImportReport report;
+            try (InputStream in = Files.newInputStream(file)) {
+                report = importService.importPlan(athleteId, importFormat, in);
+            }
+
+            for (MealPlanImportService.RowError error : report.errors()) {
+                logger.warn("Row {} rejected: {}", error.row(), error.message());
+            }
+            if (report.rowsRejected() > report.errors().size()) {
+                logger.warn("... and {} more rejected rows", report.rowsRejected() - report.errors().size());
+            }
+            if (!report.completed()) {
+                logger.error("Import of {} stopped: {}", file, report.failure());
+                return FAILED;
+            }
+            return report.rowsRejected() > 0 ? ROWS_REJECTED : ALL_IMPORTED;
+        } catch (Exception e) {
+            logger.error("Import of {} failed: {}", file, e.getMessage(), e);
+            return FAILED;
+        }
+    }
+
+    private static String formatOf(Path file) {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        return name.endsWith(".json") || name.endsWith(".ndjson") ? "json" : "csv";
+    }
+}
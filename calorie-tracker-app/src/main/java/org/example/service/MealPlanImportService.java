@@ -0,0 +1,575 @@
+package org.example.service;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.example.nutrition.MacroAccumulator;
+import org.example.nutrition.MacroProfile;
+import org.example.observability.SqlStatementCounter;
+import org.example.repository.foodcategories.FoodCategoryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Bulk import of meal plans (days, meals and foods) for one athlete, from a
+ * file with one row per food:
+ *  • CSV  - a header row naming the columns date, day, meal, category and
+ *           quantity, in any order; other columns are ignored
+ *  • JSON - an array of objects with those fields, or one object per line
+ * Rows of the same day (date and day name) must be adjacent: a new day starts
+ * whenever they change. Within a day, rows of the same meal name go to one
+ * meal, adjacent or not. A file written by the athlete export can be imported
+ * as is, its day and meal lines are skipped. Day names are unique per athlete
+ * (the dashboard looks days up by name): a row whose day name the athlete
+ * already has, or that an earlier day of the file used, is rejected.
+ *
+ * The file is read as a stream and each category name is looked up once.
+ * Rows are written with JDBC batches (ids reserved from the same pooled
+ * sequences as Hibernate), one transaction per chunk of about chunkSize
+ * foods; a chunk only holds complete days, whose totals are summed as the
+ * rows are read. A row that cannot be imported (unknown category, bad date...)
+ * is skipped and listed in the report, the rest of the file still goes in.
+ * Unreadable input or a failed chunk stops the import: the chunks written
+ * before it stay.
+ */
+@Service
+public class MealPlanImportService {
+    private static final Logger logger = LoggerFactory.getLogger(MealPlanImportService.class);
+
+    private static final String INSERT_DAY =
+            "INSERT INTO days (id, version, date, day_name, athlete_id, total_prot, total_carb, total_fat, total_kcal) "
+            + "VALUES (?, 0, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_MEAL =
+            "INSERT INTO meals (id, version, name, day_id, total_prot, total_carb, total_fat, total_kcal) "
+            + "VALUES (?, 0, ?, ?, ?, ?, ?, ?)";
+    private static final String SELECT_DAY_NAMES =
+            "SELECT day_name FROM days WHERE athlete_id = ? AND day_name IS NOT NULL";
+    private static final String INSERT_FOOD =
+            "INSERT INTO foods (id, quantity, meal_id, category_id) VALUES (?, ?, ?, ?)";
+
+    // Explicit types, so that null day names do not cost a parameter metadata round trip
+    private static final int[] DAY_TYPES = {
+            Types.BIGINT, Types.DATE, Types.VARCHAR, Types.BIGINT, Types.DOUBLE, Types.DOUBLE, Types.DOUBLE, Types.INTEGER};
+    private static final int[] MEAL_TYPES = {
+            Types.BIGINT, Types.VARCHAR, Types.BIGINT, Types.DOUBLE, Types.DOUBLE, Types.DOUBLE, Types.INTEGER};
+    private static final int[] FOOD_TYPES = {Types.BIGINT, Types.INTEGER, Types.BIGINT, Types.BIGINT};
+
+    // allocationSize of BaseEntity and Food, see V2__pooled_id_sequences.sql
+    static final int ID_ALLOCATION_SIZE = 50;
+
+    // Rejected rows beyond this are counted but not listed
+    static final int MAX_REPORTED_ERRORS = 100;
+
+    private static final int MAX_NAME_LENGTH = 255;
+
+    private final FoodCategoryRepository foodCategoryRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectReader jsonReader;
+    private final int chunkSize;
+
+    public MealPlanImportService(
+            @Qualifier("primaryDataSource") DataSource primaryDataSource,
+            FoodCategoryRepository foodCategoryRepository,
+            ObjectMapper objectMapper,
+            @Value("${app.import.chunk-size:5000}") int chunkSize) {
+        this.foodCategoryRepository = foodCategoryRepository;
+        DataSource dataSource = new SqlStatementCounter(primaryDataSource, SqlStatementCounter.PRIMARY);
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        this.jsonReader = objectMapper.readerFor(PlanRow.class);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Imports the plan into the athlete's history; the caller has checked
+     * ownership. Closes the stream.
+     *
+     * @throws IllegalArgumentException if the CSV header lacks a required
+     *                                  column; nothing is written then
+     */
+    public ImportReport importPlan(Long athleteId, Format format, InputStream in) throws IOException {
+        try (RowSource rows = format == Format.CSV ? new CsvRowSource(in) : new JsonRowSource(jsonReader.readValues(in))) {
+            return new Import(athleteId).run(rows);
+        }
+    }
+
+    public enum Format {
+        CSV,
+        JSON;
+
+        public static Format parse(String value) {
+            if ("csv".equalsIgnoreCase(value)) {
+                return CSV;
+            }
+            if ("json".equalsIgnoreCase(value) || "ndjson".equalsIgnoreCase(value)) {
+                return JSON;
+            }
+            throw new IllegalArgumentException("Unsupported import format: " + value + " (use csv, json or ndjson)");
+        }
+    }
+
+    /**
+     * Outcome of one import. Counts of days, meals and foods are of committed
+     * rows; failure is null unless the import stopped before the end of the file.
+     */
+    public record ImportReport(long rowsRead, long daysImported, long mealsImported, long foodsImported,
+                               long rowsSkipped, long rowsRejected, List<RowError> errors,
+                               String failure, long elapsedMillis) {
+
+        public boolean completed() {
+            return failure == null;
+        }
+    }
+
+    /**
+     * A rejected row: its line in a CSV file, its position (from 1) in a JSON one.
+     */
+    public record RowError(long row, String message) { }
+
+    /**
+     * One row of the file, as text; validated by Import.
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record PlanRow(String type, String date, String day, String meal, String category, String quantity) { }
+
+    private record Category(Long id, MacroProfile profile) { }
+
+    private record PendingFood(Long categoryId, int quantity) { }
+
+    private static final class PendingMeal {
+        private final String name;
+        private final MacroAccumulator totals = new MacroAccumulator();
+        private final List<PendingFood> foods = new ArrayList<>();
+
+        PendingMeal(String name) {
+            this.name = name;
+        }
+    }
+
+    private static final class PendingDay {
+        private final LocalDate date;
+        private final String name;
+        private final MacroAccumulator totals = new MacroAccumulator();
+        // By name, in the order of their first row
+        private final Map<String, PendingMeal> meals = new LinkedHashMap<>();
+        private int foodCount;
+
+        PendingDay(LocalDate date, String name) {
+            this.date = date;
+            this.name = name;
+        }
+
+        void add(String mealName, Category category, int quantity) {
+            PendingMeal meal = meals.computeIfAbsent(mealName, PendingMeal::new);
+            meal.foods.add(new PendingFood(category.id(), quantity));
+            meal.totals.add(category.profile(), quantity);
+            totals.add(category.profile(), quantity);
+            foodCount++;
+        }
+    }
+
+    /**
+     * State of one import: the categories seen so far, the day being read,
+     * the complete days waiting for the next chunk, and the counters.
+     */
+    private final class Import {
+        private final Long athleteId;
+        private final long startedAt = System.nanoTime();
+        private final Map<String, Optional<Category>> categories = new HashMap<>();
+        private final IdBlock entityIds = new IdBlock("base_entity_seq");
+        private final IdBlock foodIds = new IdBlock("food_seq");
+        private final List<RowError> errors = new ArrayList<>();
+        // The athlete's day names, then also those of the days read from the file
+        private Set<String> dayNames;
+
+        private PendingDay day;
+        private final List<PendingDay> chunk = new ArrayList<>();
+        private int chunkFoods;
+
+        private long rowsRead;
+        private long rowsSkipped;
+        private long rowsRejected;
+        private long daysImported;
+        private long mealsImported;
+        private long foodsImported;
+
+        Import(Long athleteId) {
+            this.athleteId = athleteId;
+        }
+
+        ImportReport run(RowSource rows) {
+            dayNames = new HashSet<>(jdbcTemplate.queryForList(SELECT_DAY_NAMES, String.class, athleteId));
+            String failure = null;
+            try {
+                PlanRow row;
+                while ((row = rows.next()) != null) {
+                    rowsRead++;
+                    accept(rows.position(), row);
+                }
+                closeDay();
+                writeChunk();
+            } catch (IOException e) {
+                failure = "Unreadable input after row " + rowsRead + ": " + e.getMessage();
+                try {
+                    // The day being read may be cut short; the complete ones are kept
+                    writeChunk();
+                } catch (DataAccessException writeFailure) {
+                    logger.warn("Meal plan import for athlete {} could not write its last chunk", athleteId, writeFailure);
+                }
+            } catch (DataAccessException e) {
+                logger.warn("Meal plan import for athlete {} stopped after row {}", athleteId, rowsRead, e);
+                failure = "Stopped at row " + rowsRead + ", the last chunk could not be written: " + e.getMostSpecificCause().getMessage();
+            }
+
+            ImportReport report = report(failure);
+            logger.info("Meal plan import for athlete {} {}: {} days, {} meals, {} foods in {} ms, {} rows skipped, {} rejected",
+                    athleteId, report.completed() ? "done" : "stopped", daysImported, mealsImported, foodsImported,
+                    report.elapsedMillis(), rowsSkipped, rowsRejected);
+            return report;
+        }
+
+        private void accept(long position, PlanRow row) {
+            // Day and meal lines of an export carry totals only
+            if (row.type() != null && !row.type().isBlank() && !"food".equalsIgnoreCase(row.type().trim())) {
+                rowsSkipped++;
+                return;
+            }
+
+            LocalDate date;
+            try {
+                date = LocalDate.parse(Objects.requireNonNullElse(blankToNull(row.date()), ""));
+            } catch (DateTimeParseException e) {
+                reject(position, "date must be YYYY-MM-DD, got: " + row.date());
+                return;
+            }
+            String dayName = blankToNull(row.day());
+            String mealName = blankToNull(row.meal());
+            String categoryName = blankToNull(row.category());
+            if (mealName == null) {
+                reject(position, "meal is required");
+                return;
+            }
+            if (categoryName == null) {
+                reject(position, "category is required");
+                return;
+            }
+            if (mealName.length() > MAX_NAME_LENGTH || (dayName != null && dayName.length() > MAX_NAME_LENGTH)) {
+                reject(position, "day and meal names are limited to " + MAX_NAME_LENGTH + " characters");
+                return;
+            }
+
+            int quantity;
+            String quantityText = blankToNull(row.quantity());
+            try {
+                quantity = quantityText != null ? Integer.parseInt(quantityText) : 1;
+            } catch (NumberFormatException e) {
+                quantity = 0;
+            }
+            if (quantity <= 0) {
+                reject(position, "quantity must be a positive whole number, got: " + row.quantity());
+                return;
+            }
+
+            Optional<Category> category = categories.computeIfAbsent(categoryName, name ->
+                    foodCategoryRepository.findByName(name).map(found -> new Category(found.getId(), MacroProfile.of(found))));
+            if (category.isEmpty()) {
+                reject(position, "Unknown food category: " + categoryName);
+                return;
+            }
+
+            if (day == null || !day.date.equals(date) || !Objects.equals(day.name, dayName)) {
+                if (dayName != null && !dayNames.add(dayName)) {
+                    reject(position, "The athlete already has a day named " + dayName
+                            + " (rows of a day must be adjacent)");
+                    return;
+                }
+                closeDay();
+                day = new PendingDay(date, dayName);
+            }
+            day.add(mealName, category.get(), quantity);
+        }
+
+        private void reject(long position, String message) {
+            rowsRejected++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new RowError(position, message));
+            }
+        }
+
+        private void closeDay() {
+            if (day == null) {
+                return;
+            }
+            chunk.add(day);
+            chunkFoods += day.foodCount;
+            day = null;
+            if (chunkFoods >= chunkSize) {
+                writeChunk();
+            }
+        }
+
+        private void writeChunk() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            int[] written = transactionTemplate.execute(status -> {
+                List<Object[]> dayRows = new ArrayList<>(chunk.size());
+                List<Object[]> mealRows = new ArrayList<>();
+                List<Object[]> foodRows = new ArrayList<>(chunkFoods);
+                for (PendingDay pendingDay : chunk) {
+                    long dayId = entityIds.next();
+                    dayRows.add(new Object[] {dayId, pendingDay.date, pendingDay.name, athleteId,
+                            pendingDay.totals.getProtein(), pendingDay.totals.getCarbs(),
+                            pendingDay.totals.getFat(), pendingDay.totals.getKcal()});
+                    for (PendingMeal meal : pendingDay.meals.values()) {
+                        long mealId = entityIds.next();
+                        mealRows.add(new Object[] {mealId, meal.name, dayId,
+                                meal.totals.getProtein(), meal.totals.getCarbs(), meal.totals.getFat(), meal.totals.getKcal()});
+                        for (PendingFood food : meal.foods) {
+                            foodRows.add(new Object[] {foodIds.next(), food.quantity(), mealId, food.categoryId()});
+                        }
+                    }
+                }
+                jdbcTemplate.batchUpdate(INSERT_DAY, dayRows, DAY_TYPES);
+                jdbcTemplate.batchUpdate(INSERT_MEAL, mealRows, MEAL_TYPES);
+                jdbcTemplate.batchUpdate(INSERT_FOOD, foodRows, FOOD_TYPES);
+                return new int[] {dayRows.size(), mealRows.size(), foodRows.size()};
+            });
+            chunk.clear();
+            chunkFoods = 0;
+
+            daysImported += written[0];
+            mealsImported += written[1];
+            foodsImported += written[2];
+            long elapsedMillis = Math.max(1, elapsedMillis());
+            logger.info("Meal plan import for athlete {}: {} rows read, {} foods imported ({} per minute), {} rows rejected",
+                    athleteId, rowsRead, foodsImported, foodsImported * 60_000 / elapsedMillis, rowsRejected);
+        }
+
+        private long elapsedMillis() {
+            return (System.nanoTime() - startedAt) / 1_000_000;
+        }
+
+        private ImportReport report(String failure) {
+            return new ImportReport(rowsRead, daysImported, mealsImported, foodsImported,
+                    rowsSkipped, rowsRejected, List.copyOf(errors), failure, elapsedMillis());
+        }
+    }
+
+    /**
+     * Hands out ids of a pooled sequence the way Hibernate's pooled optimizer
+     * does (nextval N stands for N-49..N), so imported rows and entities saved
+     * by either app never collide.
+     */
+    private final class IdBlock {
+        private final String nextValueQuery;
+        private long next = 1;
+        private long last = 0;
+
+        IdBlock(String sequence) {
+            this.nextValueQuery = "SELECT nextval('" + sequence + "')";
+        }
+
+        long next() {
+            if (next > last) {
+                long hi = jdbcTemplate.queryForObject(nextValueQuery, Long.class);
+                next = Math.max(1, hi - ID_ALLOCATION_SIZE + 1);
+                last = hi;
+            }
+            return next++;
+        }
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    private interface RowSource extends Closeable {
+        /**
+         * The next row, or null at the end of the input.
+         */
+        PlanRow next() throws IOException;
+
+        /**
+         * Where the last row returned starts, for error reports.
+         */
+        long position();
+    }
+
+    private static final class JsonRowSource implements RowSource {
+        private final MappingIterator<PlanRow> rows;
+        private long position;
+
+        JsonRowSource(MappingIterator<PlanRow> rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public PlanRow next() throws IOException {
+            if (!rows.hasNextValue()) {
+                return null;
+            }
+            position++;
+            return rows.nextValue();
+        }
+
+        @Override
+        public long position() {
+            return position;
+        }
+
+        @Override
+        public void close() throws IOException {
+            rows.close();
+        }
+    }
+
+    /**
+     * RFC 4180 reader: quoted fields may hold commas, quotes and line breaks.
+     * Undoes the formula defusing of the export (a ' before = + - @).
+     */
+    private static final class CsvRowSource implements RowSource {
+        private final Reader in;
+        private final int type;
+        private final int date;
+        private final int day;
+        private final int meal;
+        private final int category;
+        private final int quantity;
+        private long line = 1;
+        private long recordLine;
+
+        CsvRowSource(InputStream input) throws IOException {
+            this.in = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), 64 * 1024);
+            List<String> header = readRecord();
+            if (header == null) {
+                throw new IllegalArgumentException("The file is empty");
+            }
+            Map<String, Integer> columns = new HashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                String name = header.get(i).replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT);
+                columns.putIfAbsent(name, i);
+            }
+            for (String required : new String[] {"date", "meal", "category"}) {
+                if (!columns.containsKey(required)) {
+                    throw new IllegalArgumentException("Missing column: " + required
+                            + " (the header must name date, meal and category; day and quantity are optional)");
+                }
+            }
+            this.type = columns.getOrDefault("type", -1);
+            this.date = columns.get("date");
+            this.day = columns.getOrDefault("day", -1);
+            this.meal = columns.get("meal");
+            this.category = columns.get("category");
+            this.quantity = columns.getOrDefault("quantity", -1);
+        }
+
+        @Override
+        public PlanRow next() throws IOException {
+            List<String> fields;
+            do {
+                fields = readRecord();
+                if (fields == null) {
+                    return null;
+                }
+            } while (fields.size() == 1 && fields.get(0).isBlank());
+            return new PlanRow(field(fields, type), field(fields, date), field(fields, day),
+                    field(fields, meal), field(fields, category), field(fields, quantity));
+        }
+
+        @Override
+        public long position() {
+            return recordLine;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+
+        private static String field(List<String> fields, int index) {
+            if (index < 0 || index >= fields.size()) {
+                return null;
+            }
+            String value = fields.get(index);
+            if (value.length() > 1 && value.charAt(0) == '\'' && "=+-@".indexOf(value.charAt(1)) >= 0) {
+                return value.substring(1);
+            }
+            return value;
+        }
+
+        private List<String> readRecord() throws IOException {
+            int c = in.read();
+            if (c == -1) {
+                return null;
+            }
+            recordLine = line;
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            while (true) {
+                if (quoted) {
+                    if (c == -1) {
+                        throw new EOFException("unterminated quoted field starting on line " + recordLine);
+                    }
+                    if (c == '"') {
+                        c = in.read();
+                        if (c != '"') {
+                            quoted = false;
+                            continue;
+                        }
+                    } else if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                } else if (c == '"' && field.isEmpty()) {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n' || c == -1) {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    fields.add(field.toString());
+                    return fields;
+                } else if (c != '\r') {
+                    field.append((char) c);
+                }
+                c = in.read();
+            }
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package org.example.service;
+
+import org.example.foodcategories.FoodCategory;
+import org.example.model.Food;
+import org.example.model.MacroTotals;
+import org.example.model.Meal;
+import org.example.nutrition.MacroProfile;
+import org.example.repository.DayRepository;
+import org.example.repository.MealRepository;
+import org.springframework.stereotype.Service;
+
+/**
+ * Keeps the persisted meal and day totals (MacroTotals) in step with food writes,
+ * so that nutrition reads are a single-row lookup.
+ *
+ * Each change is one relative SQL UPDATE (total = total + delta) on the meal
+ * and on the day, rather than a change to the loaded entities: the day's
+ * version is left alone, so overlapping writes to different meals (or quick
+ * successive edits) of the same day do not fail with an optimistic lock
+ * conflict. The loaded Meal and Day keep the totals they were read with.
+ *
+ * Must be called inside the primary-DB transaction of the write.
+ * A null category (deleted in the admin app) counts as zero, as everywhere else.
+ */
+@Service
+public class NutritionService {
+
+    private final MealRepository mealRepo;
+    private final DayRepository dayRepo;
+
+    public NutritionService(MealRepository mealRepo, DayRepository dayRepo) {
+        this.mealRepo = mealRepo;
+        this.dayRepo = dayRepo;
+    }
+
+    /**
+     * Adds a new (or just updated) food to its meal's and day's totals.
+     */
+    public void foodAdded(Food food, FoodCategory category) {
+        change(food, MacroProfile.of(category), 1);
+    }
+
+    /**
+     * Removes a food (or its values before an update) from its meal's and day's totals.
+     */
+    public void foodRemoved(Food food, FoodCategory category) {
+        change(food, MacroProfile.of(category), -1);
+    }
+
+    /**
+     * Removes a whole meal from its day's totals, before the meal is deleted.
+     */
+    public void mealRemoved(Meal meal) {
+        MacroTotals totals = meal.getTotals();
+        dayRepo.addToTotals(meal.getDay().getId(),
+                -totals.getProtein(), -totals.getCarbs(), -totals.getFat(), -totals.getKcal());
+    }
+
+    private void change(Food food, MacroProfile profile, int sign) {
+        int quantity = food.getQuantity();
+        double prot = sign * profile.protFor(quantity);
+        double carb = sign * profile.carbFor(quantity);
+        double fat = sign * profile.fatFor(quantity);
+        int kcal = sign * profile.kcalFor(quantity);
+        Meal meal = food.getMeal();
+        mealRepo.addToTotals(meal.getId(), prot, carb, fat, kcal);
+        dayRepo.addToTotals(meal.getDay().getId(), prot, carb, fat, kcal);
+    }
+}
@@ -0,0 +1,44 @@
+-- Pooled id sequences for the primary database, replacing IDENTITY ids.
+--
+-- Hibernate reserves 50 ids per nextval (allocationSize = 50 in BaseEntity
+-- and Food), so both sequences increment by 50. On an existing database each
+-- sequence is moved past the current max id: with the pooled optimizer the
+-- first nextval N hands out ids N-49..N, hence setval(max_id + 50).
+--
+-- Tables may not exist yet on a fresh database (Hibernate creates them after
+-- Flyway has run), in which case the sequences simply start at 1.
+
+CREATE SEQUENCE IF NOT EXISTS base_entity_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS food_seq START WITH 1 INCREMENT BY 50;
+
+-- coaches, athletes, days and meals share base_entity_seq
+DO $$
+DECLARE
+    table_name TEXT;
+    table_max  BIGINT;
+    max_id     BIGINT := 0;
+BEGIN
+    FOREACH table_name IN ARRAY ARRAY['coaches', 'athletes', 'days', 'meals'] LOOP
+        IF to_regclass('public.' || table_name) IS NOT NULL THEN
+            EXECUTE format('SELECT COALESCE(MAX(id), 0) FROM public.%I', table_name) INTO table_max;
+            max_id := GREATEST(max_id, table_max);
+        END IF;
+    END LOOP;
+
+    IF max_id > 0 THEN
+        PERFORM setval('base_entity_seq', max_id + 50, false);
+    END IF;
+END $$;
+
+DO $$
+DECLARE
+    max_id BIGINT := 0;
+BEGIN
+    IF to_regclass('public.foods') IS NOT NULL THEN
+        SELECT COALESCE(MAX(id), 0) INTO max_id FROM public.foods;
+    END IF;
+
+    IF max_id > 0 THEN
+        PERFORM setval('food_seq', max_id + 50, false);
+    END IF;
+END $$;
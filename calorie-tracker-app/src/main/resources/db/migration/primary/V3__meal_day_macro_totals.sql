@@ -0,0 +1,22 @@
+-- Persisted macro totals on meals and days (see MacroTotals).
+--
+-- Existing rows start at zero; MacroTotalsRecalculator fills them in on the
+-- first reconciliation run after startup. Tables may not exist yet on a fresh
+-- database, in which case Hibernate creates them with these columns.
+
+DO $$
+DECLARE
+    table_name TEXT;
+BEGIN
+    FOREACH table_name IN ARRAY ARRAY['meals', 'days'] LOOP
+        IF to_regclass('public.' || table_name) IS NOT NULL THEN
+            EXECUTE format(
+                'ALTER TABLE public.%I '
+                'ADD COLUMN IF NOT EXISTS total_prot DOUBLE PRECISION NOT NULL DEFAULT 0, '
+                'ADD COLUMN IF NOT EXISTS total_carb DOUBLE PRECISION NOT NULL DEFAULT 0, '
+                'ADD COLUMN IF NOT EXISTS total_fat DOUBLE PRECISION NOT NULL DEFAULT 0, '
+                'ADD COLUMN IF NOT EXISTS total_kcal INTEGER NOT NULL DEFAULT 0',
+                table_name);
+        END IF;
+    END LOOP;
+END $$;
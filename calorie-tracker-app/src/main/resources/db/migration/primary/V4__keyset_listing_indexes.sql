@@ -0,0 +1,16 @@
+-- Indexes behind the keyset-paginated day/meal/food listings
+-- (ordered by date desc, id asc within an athlete). Tables may not exist yet
+-- on a fresh database, in which case Hibernate creates them with these indexes.
+
+DO $$
+BEGIN
+    IF to_regclass('public.days') IS NOT NULL THEN
+        CREATE INDEX IF NOT EXISTS idx_days_athlete_date_id ON public.days (athlete_id, date DESC, id);
+    END IF;
+    IF to_regclass('public.meals') IS NOT NULL THEN
+        CREATE INDEX IF NOT EXISTS idx_meals_day_id ON public.meals (day_id, id);
+    END IF;
+    IF to_regclass('public.foods') IS NOT NULL THEN
+        CREATE INDEX IF NOT EXISTS idx_foods_meal_id ON public.foods (meal_id, id);
+    END IF;
+END $$;
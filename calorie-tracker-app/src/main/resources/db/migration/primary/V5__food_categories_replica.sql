@@ -0,0 +1,19 @@
+-- Read-only copy of the food-categories database's food_categories table, kept
+-- in step by FoodCategoryReplica so that nutrition totals can be computed with
+-- one SQL aggregate over foods instead of a per-row lookup in Java.
+-- Never written by the application except through FoodCategoryReplica.
+
+CREATE TABLE IF NOT EXISTS public.food_categories_replica (
+    id   BIGINT PRIMARY KEY,
+    name VARCHAR(255),
+    prot DOUBLE PRECISION,
+    carb DOUBLE PRECISION,
+    fat  DOUBLE PRECISION,
+    kcal DOUBLE PRECISION
+);
+
+-- Single row: when the copy was last fully compared with the source
+CREATE TABLE IF NOT EXISTS public.food_categories_replica_sync (
+    id        SMALLINT PRIMARY KEY CHECK (id = 1),
+    synced_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
@@ -6,6 +6,9 @@
 let dayTabs = [];
 let activeTab = null;
 
+// Cursor of the next page of older days (X-Next-Cursor), null once all are shown
+let olderDaysCursor = null;
+
 // Initialize day management when DOM loads
 document.addEventListener('DOMContentLoaded', function() {
   console.log('Days module loaded');
@@ -39,15 +42,45 @@ function initializeDayManagement() {
     });
   }
   
+  const loadOlderDaysBtn = document.getElementById('loadOlderDaysBtn');
+  if (loadOlderDaysBtn) {
+    loadOlderDaysBtn.addEventListener('click', loadOlderDays);
+  }
+  
   // Load existing days
   loadExistingDays();
 }
 
-// Load existing days from database
+// Fetch one page of the athlete's days, newest first; resolves to
+// { days, nextCursor } where nextCursor is null on the last page
+function fetchDaysPage(cursor) {
+  let url = `/api/athletes/${selectedAthleteId}/days?limit=${dayPageSize}`;
+  if (cursor) {
+    url += `&cursor=${encodeURIComponent(cursor)}`;
+  }
+
+  return fetch(url)
+    .then(response => {
+      if (!response.ok) {
+        throw new Error('HTTP ' + response.status);
+      }
+      const nextCursor = response.headers.get('X-Next-Cursor');
+      return response.json().then(days => ({ days, nextCursor }));
+    });
+}
+
+function setOlderDaysCursor(cursor) {
+  olderDaysCursor = cursor;
+  const loadOlderDaysBtn = document.getElementById('loadOlderDaysBtn');
+  if (loadOlderDaysBtn) {
+    loadOlderDaysBtn.classList.toggle('hidden', !cursor);
+  }
+}
+
+// Load the newest page of days from database; older ones are added on demand
 function loadExistingDays() {
-  fetch(`/api/athletes/${selectedAthleteId}/days`)
-    .then(response => response.json())
-    .then(days => {
+  fetchDaysPage(null)
+    .then(({ days, nextCursor }) => {
       dayTabs = []; // Clear existing tabs
       document.getElementById('dayTabsNav').innerHTML = '';
       document.getElementById('dayContent').innerHTML = '';
@@ -55,6 +88,7 @@ function loadExistingDays() {
       days.forEach(day => {
         addDayTabFromDB(day.id, day.dayName, false);
       });
+      setOlderDaysCursor(nextCursor);
       
       // Activate first tab if any exist
       if (dayTabs.length > 0) {
@@ -66,6 +100,30 @@ function loadExistingDays() {
     });
 }
 
+// Add the next page of older days after the ones shown
+function loadOlderDays() {
+  const cursor = olderDaysCursor;
+  if (!cursor) {
+    return;
+  }
+  setOlderDaysCursor(null); // Until this page is in, so a second click does not load it twice
+
+  loadOlderNutrition(cursor).catch(error => {
+    console.error('Error loading older days nutrition:', error);
+  });
+  fetchDaysPage(cursor)
+    .then(({ days, nextCursor }) => {
+      days.forEach(day => {
+        addDayTabFromDB(day.id, day.dayName, false);
+      });
+      setOlderDaysCursor(nextCursor);
+    })
+    .catch(error => {
+      setOlderDaysCursor(cursor);
+      console.error('Error loading older days:', error);
+    });
+}
+
 // Create a new day in the database
 function createDayInDatabase(dayName) {
   if (!selectedAthleteId) {
@@ -305,14 +363,10 @@ function removeDayTab(tabId) {
 }
 
 // Day nutrition functions
-function loadDayNutrition(dayId) {
-  fetch(`/api/days/${dayId}/nutrition`)
-    .then(response => response.json())
-    .then(data => {
-      if (data.error) {
-        console.error('Error loading day nutrition:', data.error);
-        return;
-      }
+function loadDayNutrition(dayId, forceReload = false) {
+  loadAthleteNutrition(forceReload)
+    .then(nutrition => {
+      const data = nutrition.days[dayId] || emptyNutrition;
       updateDayNutritionDisplay(dayId, data.protein, data.carbs, data.fat, data.kcal);
     })
     .catch(error => {
@@ -332,8 +386,8 @@ function updateDayNutritionDisplay(dayId, protein, carbs, fat, kcal) {
 }
 
 function refreshNutritionForDay(dayId) {
-  // Refresh nutrition for the day itself
-  loadDayNutrition(dayId);
+  // Refresh nutrition for the day itself (re-fetches the athlete's nutrition once)
+  loadDayNutrition(dayId, true);
   
   // Refresh nutrition for all meals in this day (meals.js will handle this)
   if (typeof refreshMealsNutritionForDay === 'function') {
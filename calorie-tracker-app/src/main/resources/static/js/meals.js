@@ -384,14 +384,10 @@ function loadExistingMealsForMealModal(dayId, meals = null) {
 }
 
 // Meal nutrition functions
-function loadMealNutrition(mealId) {
-  fetch(`/api/meals/${mealId}/nutrition`)
-    .then(response => response.json())
-    .then(data => {
-      if (data.error) {
-        console.error('Error loading meal nutrition:', data.error);
-        return;
-      }
+function loadMealNutrition(mealId, forceReload = false) {
+  loadAthleteNutrition(forceReload)
+    .then(nutrition => {
+      const data = nutrition.meals[mealId] || emptyNutrition;
       updateMealNutritionDisplay(mealId, data.protein, data.carbs, data.fat, data.kcal);
     })
     .catch(error => {
@@ -423,8 +419,9 @@ function refreshMealsNutritionForDay(dayId) {
 }
 
 function refreshNutritionForMeal(mealId) {
-  // Refresh nutrition for the meal itself
-  loadMealNutrition(mealId);
+  // Refresh nutrition for the meal itself (re-fetches the athlete's nutrition once,
+  // the day refresh below reuses the same request)
+  loadMealNutrition(mealId, true);
   
   // Find the day this meal belongs to and refresh day nutrition
   Object.keys(mealTabs).forEach(dayId => {
@@ -19,6 +19,80 @@ const csrfToken = document.querySelector('meta[name="_csrf"]')?.getAttribute('co
                  document.querySelector('input[name="_csrf"]')?.value;
 const csrfHeader = document.querySelector('meta[name="_csrf_header"]')?.getAttribute('content') || '_csrf';
 
+// Days listed per request; the days and nutrition endpoints page the same way,
+// so a day page's X-Next-Cursor also gives the matching nutrition page
+const dayPageSize = 100;
+
+// Nutrition for the days shown on the page and their meals, one request per page
+// of days, shared by days.js and meals.js (see loadAthleteNutrition)
+let athleteNutritionRequest = null;
+
+// Cursors of the day pages shown so far, null for the first (newest) one
+let athleteNutritionCursors = [null];
+
+function fetchNutritionPage(cursor) {
+  let url = `/api/athletes/${selectedAthleteId}/nutrition?limit=${dayPageSize}`;
+  if (cursor) {
+    url += `&cursor=${encodeURIComponent(cursor)}`;
+  }
+
+  return fetch(url)
+    .then(response => response.json())
+    .then(data => {
+      if (data.error) {
+        throw new Error(data.error);
+      }
+      return data.days;
+    });
+}
+
+function addNutritionPage(nutrition, days) {
+  days.forEach(day => {
+    nutrition.days[day.dayId] = day;
+    day.meals.forEach(meal => {
+      nutrition.meals[meal.mealId] = meal;
+    });
+  });
+  return nutrition;
+}
+
+// Returns a promise of { days: {dayId: totals}, meals: {mealId: totals} }.
+// Concurrent callers share the same requests; pass forceReload after an edit.
+function loadAthleteNutrition(forceReload = false) {
+  if (athleteNutritionRequest && !forceReload) {
+    return athleteNutritionRequest;
+  }
+
+  athleteNutritionRequest = Promise.all(athleteNutritionCursors.map(fetchNutritionPage))
+    .then(pages => pages.reduce(addNutritionPage, { days: {}, meals: {} }))
+    .catch(error => {
+      athleteNutritionRequest = null; // Let the next caller retry
+      throw error;
+    });
+
+  return athleteNutritionRequest;
+}
+
+// Adds the nutrition of the page of older days that the given cursor starts
+function loadOlderNutrition(cursor) {
+  athleteNutritionCursors.push(cursor);
+  if (!athleteNutritionRequest) {
+    return loadAthleteNutrition();
+  }
+
+  athleteNutritionRequest = Promise.all([athleteNutritionRequest, fetchNutritionPage(cursor)])
+    .then(([nutrition, days]) => addNutritionPage(nutrition, days))
+    .catch(error => {
+      athleteNutritionRequest = null;
+      throw error;
+    });
+
+  return athleteNutritionRequest;
+}
+
+// Totals shown for a day or meal that has no foods yet
+const emptyNutrition = { protein: 0, carbs: 0, fat: 0, kcal: 0 };
+
 // Utility function to show alerts
 function showAlert(message, type = 'error') {
   // For now just use alert, could be enhanced with better UI
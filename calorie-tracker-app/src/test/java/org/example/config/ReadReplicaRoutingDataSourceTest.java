@@ -0,0 +1,128 @@
+package org.example.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Two in-memory H2 databases stand in for the primary and a replica; each
+ * holds a single row naming itself, so a query shows where it was routed.
+ */
+class ReadReplicaRoutingDataSourceTest {
+
+    private ReadReplicaRoutingDataSource routingDataSource;
+    private SwitchableDataSource replica;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnlyTransaction;
+    private TransactionTemplate readWriteTransaction;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = database("primary");
+        replica = new SwitchableDataSource(database("replica"));
+        routingDataSource = new ReadReplicaRoutingDataSource(primary, Map.of("replica-1", replica), 1);
+
+        // Same wiring as DatabaseConfig: the lazy proxy defers the connection until the read-only flag is set
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWriteTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        routingDataSource.close();
+    }
+
+    @Test
+    void readOnlyTransaction_ShouldUseReplica() {
+        assertEquals("replica", readOnlyTransaction.execute(status -> whereAmI()));
+    }
+
+    @Test
+    void readWriteTransaction_ShouldUsePrimary() {
+        assertEquals("primary", readWriteTransaction.execute(status -> whereAmI()));
+    }
+
+    @Test
+    void noTransaction_ShouldUsePrimary() {
+        assertEquals("primary", whereAmI());
+    }
+
+    @Test
+    void readOnlyTransaction_WithReplicaDown_ShouldFallBackToPrimary() {
+        // Given
+        replica.down = true;
+
+        // When
+        String database = readOnlyTransaction.execute(status -> whereAmI());
+
+        // Then
+        assertEquals("primary", database);
+        assertTrue(routingDataSource.healthyReplicas().isEmpty());
+    }
+
+    @Test
+    void checkReplicas_AfterReplicaRecovers_ShouldRouteReadsToItAgain() {
+        // Given
+        replica.down = true;
+        routingDataSource.checkReplicas();
+        assertEquals("primary", readOnlyTransaction.execute(status -> whereAmI()));
+
+        // When
+        replica.down = false;
+        routingDataSource.checkReplicas();
+
+        // Then
+        assertEquals(List.of("replica-1"), routingDataSource.healthyReplicas());
+        assertEquals("replica", readOnlyTransaction.execute(status -> whereAmI()));
+    }
+
+    private String whereAmI() {
+        return jdbcTemplate.queryForObject("SELECT name FROM whoami", String.class);
+    }
+
+    private static DataSource database(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:routing-" + name + "-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE whoami (name VARCHAR(16))");
+        jdbcTemplate.update("INSERT INTO whoami VALUES (?)", name);
+        return dataSource;
+    }
+
+    /**
+     * A replica that can be taken down and brought back.
+     */
+    private static final class SwitchableDataSource extends DelegatingDataSource {
+        volatile boolean down;
+
+        SwitchableDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (down) {
+                throw new SQLException("Connection refused");
+            }
+            return super.getConnection();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package org.example.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.controller.DashboardController;
+import org.example.observability.RequestStatistics;
+import org.example.observability.SqlStatementCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import jakarta.servlet.DispatcherType;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import java.security.Principal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class RequestMetricsInterceptorTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final RequestMetricsInterceptor interceptor = new RequestMetricsInterceptor(registry);
+
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private HandlerMethod getMealFoods;
+
+    @BeforeEach
+    void setUp() throws NoSuchMethodException {
+        request = new MockHttpServletRequest();
+        response = new MockHttpServletResponse();
+
+        BeanFactory beanFactory = mock(BeanFactory.class);
+        doReturn(DashboardController.class).when(beanFactory).getType("dashboardController");
+        getMealFoods = new HandlerMethod("dashboardController", beanFactory,
+                DashboardController.class.getMethod("getMealFoods", Long.class, Principal.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestStatistics.end();
+    }
+
+    @Test
+    void dashboardEndpoint_ShouldRecordLatencyStatementsAndLookups() {
+        // Given
+        interceptor.preHandle(request, response, getMealFoods);
+        RequestStatistics.statementExecuted(SqlStatementCounter.PRIMARY);
+        RequestStatistics.statementExecuted(SqlStatementCounter.PRIMARY);
+        RequestStatistics.foodCategoriesLookedUp(5);
+
+        // When
+        interceptor.afterCompletion(request, response, getMealFoods, null);
+
+        // Then
+        Timer timer = registry.get("dashboard.requests")
+                .tag("endpoint", "getMealFoods").tag("outcome", "SUCCESS").timer();
+        assertEquals(1, timer.count());
+        assertEquals(2.0, statements(SqlStatementCounter.PRIMARY).totalAmount());
+        assertEquals(0.0, statements(SqlStatementCounter.FOOD_CATEGORIES).totalAmount());
+        assertEquals(5.0, registry.get("dashboard.request.category.lookups")
+                .tag("endpoint", "getMealFoods").summary().totalAmount());
+    }
+
+    @Test
+    void dashboardEndpoint_WithBadRequest_ShouldTagClientError() {
+        // Given
+        interceptor.preHandle(request, response, getMealFoods);
+        response.setStatus(400);
+
+        // When
+        interceptor.afterCompletion(request, response, getMealFoods, null);
+
+        // Then
+        assertEquals(1, registry.get("dashboard.requests").tag("outcome", "CLIENT_ERROR").timer().count());
+    }
+
+    @Test
+    void asyncEndpoint_ShouldTimeUntilTheAsyncDispatchCompletes() {
+        // Given
+        interceptor.preHandle(request, response, getMealFoods);
+        RequestStatistics.statementExecuted(SqlStatementCounter.PRIMARY);
+        interceptor.afterConcurrentHandlingStarted(request, response, getMealFoods);
+        // Not recorded: the request thread is released
+        RequestStatistics.statementExecuted(SqlStatementCounter.PRIMARY);
+
+        // When
+        request.setDispatcherType(DispatcherType.ASYNC);
+        interceptor.preHandle(request, response, getMealFoods);
+        interceptor.afterCompletion(request, response, getMealFoods, null);
+
+        // Then
+        assertEquals(1, registry.get("dashboard.requests").tag("endpoint", "getMealFoods").timer().count());
+        assertEquals(1.0, statements(SqlStatementCounter.PRIMARY).totalAmount());
+    }
+
+    @Test
+    void otherHandler_ShouldRecordNothing() {
+        // Given
+        Object handler = new Object();
+
+        // When
+        interceptor.preHandle(request, response, handler);
+        interceptor.afterCompletion(request, response, handler, null);
+
+        // Then
+        assertTrue(registry.getMeters().isEmpty());
+    }
+
+    private DistributionSummary statements(String persistenceUnit) {
+        return registry.get("dashboard.request.statements")
+                .tag("endpoint", "getMealFoods").tag("unit", persistenceUnit).summary();
+    }
+}
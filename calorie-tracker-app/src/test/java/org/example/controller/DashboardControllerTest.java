@@ -1,20 +1,53 @@
 package org.example.controller;
 
+import org.example.controller.DashboardRequests.BatchFood;
+import org.example.controller.DashboardRequests.CreateDay;
+import org.example.controller.DashboardRequests.CreateFood;
+import org.example.controller.DashboardRequests.CreateMeal;
+import org.example.controller.DashboardRequests.UpdateDay;
+import org.example.controller.DashboardRequests.UpdateFood;
+import org.example.controller.DashboardResponses.AthleteNutritionResponse;
+import org.example.controller.DashboardResponses.DayNutritionResponse;
+import org.example.controller.DashboardResponses.DayResponse;
+import org.example.controller.DashboardResponses.ErrorResponse;
+import org.example.controller.DashboardResponses.FoodResponse;
+import org.example.controller.DashboardResponses.MealNutritionResponse;
+import org.example.controller.DashboardResponses.MealResponse;
+import org.example.controller.DashboardResponses.SuccessResponse;
 import org.example.foodcategories.FoodCategory;
+import org.example.foodcategories.FoodCategoryCache;
 import org.example.model.*;
+import org.example.nutrition.MacroProfile;
 import org.example.repository.*;
-import org.example.repository.foodcategories.FoodCategoryRepository;
+import org.example.repository.projection.DaySummary;
+import org.example.repository.projection.DayTotals;
+import org.example.repository.projection.FoodSummary;
+import org.example.repository.projection.MealSummary;
+import org.example.repository.projection.MealTotals;
+import org.example.service.AthleteExportService;
 import org.example.service.CoachUserDetailsService;
+import org.example.service.ConcurrentLookups;
+import org.example.service.FoodCategoryCatalog;
+import org.example.service.MealPlanImportService;
+import org.example.service.NutritionService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.ui.Model;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
 import java.security.Principal;
 import java.time.LocalDate;
 import java.util.*;
@@ -40,10 +73,26 @@ class DashboardControllerTest {
     private FoodRepository foodRepo;
     
     @Mock
-    private FoodCategoryRepository foodCategoryRepo;
+    private FoodCategoryCatalog foodCategoryCatalog;
+
+    @Mock
+    private FoodCategoryCache foodCategoryCache;
     
     @Mock
     private CoachUserDetailsService coachService;
+
+    @Mock
+    private NutritionService nutritionService;
+
+    @Mock
+    private AthleteExportService exportService;
+
+    @Mock
+    private MealPlanImportService importService;
+
+    // Runs lookups on the calling thread, so stubs and verifications see them in order
+    @Spy
+    private ConcurrentLookups lookups = new ConcurrentLookups(Runnable::run, 1000);
     
     @Mock
     private Model model;
@@ -93,27 +142,44 @@ class DashboardControllerTest {
     }
 
     @Test
-    void dashboard_WithoutAthleteId_ShouldReturnDashboardWithAllAthletes() {
+    void dashboard_WithoutAthleteId_ShouldRedirectToFirstAthlete() {
         // Given
         when(principal.getName()).thenReturn("testcoach");
-        when(coachService.loadCoachByUsername("testcoach")).thenReturn(testCoach);
-        when(foodCategoryRepo.findAll()).thenReturn(Arrays.asList(testFoodCategory));
-        when(athleteRepo.findByCoach(testCoach)).thenReturn(Arrays.asList(testAthlete));
+        when(coachService.loadCoachIdByUsername("testcoach")).thenReturn(1L);
+        when(foodCategoryCatalog.current()).thenReturn(FoodCategoryCatalog.Snapshot.of(List.of(testFoodCategory)));
+        when(athleteRepo.findByCoachId(1L)).thenReturn(Arrays.asList(testAthlete));
 
         // When
         String result = controller.dashboard(null, model, principal);
 
         // Then
-        assertEquals("index", result);
+        assertEquals("redirect:/?athleteId=1", result);
         verify(model).addAttribute("athletes", Arrays.asList(testAthlete));
+        verifyNoInteractions(dayRepo);
+    }
+
+    @Test
+    void dashboard_ForCoachWithoutAthletes_ShouldReturnEmptyDashboard() {
+        // Given
+        when(principal.getName()).thenReturn("testcoach");
+        when(coachService.loadCoachIdByUsername("testcoach")).thenReturn(1L);
+        when(foodCategoryCatalog.current()).thenReturn(FoodCategoryCatalog.Snapshot.of(List.of(testFoodCategory)));
+        when(athleteRepo.findByCoachId(1L)).thenReturn(List.of());
+
+        // When
+        String result = controller.dashboard(null, model, principal);
+
+        // Then
+        assertEquals("index", result);
+        verify(model).addAttribute("athletes", List.of());
         verify(model).addAttribute("selectedAthlete", null);
         verify(model).addAttribute("days", List.of());
-        verify(model).addAttribute("meals", List.of());
-        verify(model).addAttribute("foods", List.of());
         verify(model).addAttribute(eq("newAthlete"), any(Athlete.class));
         verify(model).addAttribute(eq("newDay"), any(Day.class));
         verify(model).addAttribute(eq("newMeal"), any(Meal.class));
         verify(model).addAttribute(eq("newFood"), any(Food.class));
+        verify(model).addAttribute("foodCategoriesJson",
+                "[{\"id\":1,\"name\":\"Apple\",\"prot\":0.3,\"kcal\":52.0,\"fat\":0.2,\"carb\":14.0}]");
     }
 
     @Test
@@ -121,13 +187,11 @@ class DashboardControllerTest {
         // Given
         Long athleteId = 1L;
         when(principal.getName()).thenReturn("testcoach");
-        when(coachService.loadCoachByUsername("testcoach")).thenReturn(testCoach);
-        when(foodCategoryRepo.findAll()).thenReturn(Arrays.asList(testFoodCategory));
-        when(athleteRepo.findByCoach(testCoach)).thenReturn(Arrays.asList(testAthlete));
-        when(athleteRepo.findById(athleteId)).thenReturn(Optional.of(testAthlete));
-        when(dayRepo.findByAthleteOrderByDateDesc(testAthlete)).thenReturn(Arrays.asList(testDay));
-        when(mealRepo.findByDayAthleteOrderByDayDateDesc(testAthlete)).thenReturn(Arrays.asList(testMeal));
-        when(foodRepo.findByMealDayAthleteOrderByMealDayDateDesc(testAthlete)).thenReturn(Arrays.asList(testFood));
+        when(coachService.loadCoachIdByUsername("testcoach")).thenReturn(1L);
+        when(foodCategoryCatalog.current()).thenReturn(FoodCategoryCatalog.Snapshot.of(List.of(testFoodCategory)));
+        when(athleteRepo.findByCoachId(1L)).thenReturn(Arrays.asList(testAthlete));
+        when(athleteRepo.findByIdAndCoachId(athleteId, 1L)).thenReturn(Optional.of(testAthlete));
+        when(dayRepo.findPageByAthleteId(eq(1L), any(), any(), any())).thenReturn(Arrays.asList(testDay));
 
         // When
         String result = controller.dashboard(athleteId, model, principal);
@@ -136,8 +200,10 @@ class DashboardControllerTest {
         assertEquals("index", result);
         verify(model).addAttribute("selectedAthlete", testAthlete);
         verify(model).addAttribute("days", Arrays.asList(testDay));
-        verify(model).addAttribute("meals", Arrays.asList(testMeal));
-        verify(model).addAttribute("foods", Arrays.asList(testFood));
+        verify(model, never()).addAttribute(eq("meals"), any());
+        verify(model, never()).addAttribute(eq("foods"), any());
+        // Meals and foods are loaded by the page on demand, not with the render
+        verifyNoInteractions(mealRepo, foodRepo);
     }
 
     @Test
@@ -175,76 +241,80 @@ class DashboardControllerTest {
     @Test
     void createDay_WithValidData_ShouldReturnSuccessResponse() {
         // Given
-        Map<String, Object> payload = new HashMap<>();
-        payload.put("athleteId", 1L);
-        payload.put("dayName", "Tuesday");
+        CreateDay request = new CreateDay(1L, "Tuesday");
         
         when(principal.getName()).thenReturn("testcoach");
-        when(coachService.loadCoachByUsername("testcoach")).thenReturn(testCoach);
-        when(athleteRepo.findById(1L)).thenReturn(Optional.of(testAthlete));
+        when(coachService.loadCoachIdByUsername("testcoach")).thenReturn(1L);
+        when(athleteRepo.findByIdAndCoachId(1L, 1L)).thenReturn(Optional.of(testAthlete));
         when(dayRepo.findByAthleteAndDayName(testAthlete, "Tuesday")).thenReturn(Optional.empty());
         when(dayRepo.save(any(Day.class))).thenReturn(testDay);
 
         // When
-        ResponseEntity<?> response = controller.createDay(payload, principal);
+        ResponseEntity<?> response = controller.createDay(request, principal);
 
         // Then
         assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(new DayResponse(1L, "Monday", testAthlete.getId()), response.getBody());
         verify(dayRepo).save(any(Day.class));
     }
 
+    @Test
+    void updateDay_WithMissingDayName_ShouldReturnBadRequest() {
+        // Given - a body without "dayName" binds to a null component
+        UpdateDay request = new UpdateDay(null);
+
+        // When
+        ResponseEntity<?> response = controller.updateDay(1L, request, principal);
+
+        // Then
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals(new ErrorResponse("dayName is required"), response.getBody());
+        verifyNoInteractions(dayRepo);
+    }
+
     @Test
     void createDay_WithMissingAthleteId_ShouldReturnBadRequest() {
         // Given
-        Map<String, Object> payload = new HashMap<>();
-        payload.put("dayName", "Tuesday");
+        CreateDay request = new CreateDay(null, "Tuesday");
 
         // When
-        ResponseEntity<?> response = controller.createDay(payload, principal);
+        ResponseEntity<?> response = controller.createDay(request, principal);
 
         // Then
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
-        @SuppressWarnings("unchecked")
-        Map<String, String> body = (Map<String, String>) response.getBody();
-        assertEquals("athleteId is required", body.get("error"));
+        assertEquals(new ErrorResponse("athleteId is required"), response.getBody());
     }
 
     @Test
     void createDay_WithDuplicateDayName_ShouldReturnBadRequest() {
         // Given
-        Map<String, Object> payload = new HashMap<>();
-        payload.put("athleteId", 1L);
-        payload.put("dayName", "Monday");
+        CreateDay request = new CreateDay(1L, "Monday");
         
         when(principal.getName()).thenReturn("testcoach");
-        when(coachService.loadCoachByUsername("testcoach")).thenReturn(testCoach);
-        when(athleteRepo.findById(1L)).thenReturn(Optional.of(testAthlete));
+        when(coachService.loadCoachIdByUsername("testcoach")).thenReturn(1L);
+        when(athleteRepo.findByIdAndCoachId(1L, 1L)).thenReturn(Optional.of(testAthlete));
         when(dayRepo.findByAthleteAndDayName(testAthlete, "Monday")).thenReturn(Optional.of(testDay));
 
         // When
-        ResponseEntity<?> response = controller.createDay(payload, principal);
+        ResponseEntity<?> response = controller.createDay(request, principal);
 
         // Then
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
-        @SuppressWarnings("unchecked")
-        Map<String, String> body = (Map<String, String>) response.getBody();
-        assertEquals("Day already exists for this athlete", body.get("error"));
+        assertEquals(new ErrorResponse("Day already exists for this athlete"), response.getBody());
     }
 
     @Test
     void createMeal_WithValidData_ShouldReturnSuccessResponse() {
         // Given
-        Map<String, Object> payload = new HashMap<>();
-        payload.put("dayId", 1L);
-        payload.put("mealName", "Lunch");
+        CreateMeal request = new CreateMeal(1L, "Lunch");
         
         when(principal.getName()).thenReturn("testcoach");
-        when(coachService.loadCoachByUsername("testcoach")).thenReturn(testCoach);
-        when(dayRepo.findById(1L)).thenReturn(Optional.of(testDay));
+        when(coachService.loadCoachIdByUsername("testcoach")).thenReturn(1L);
+        when(dayRepo.findByIdAndAthleteCoachId(1L, 1L)).thenReturn(Optional.of(testDay));
         when(mealRepo.save(any(Meal.class))).thenReturn(testMeal);
 
         // When
-        ResponseEntity<?> response = controller.createMeal(payload, principal);
+        ResponseEntity<?> response = controller.createMeal(request, principal);
 
         // Then
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -254,24 +324,89 @@ class DashboardControllerTest {
     @Test
     void createFood_WithValidData_ShouldReturnSuccessResponse() {
         // Given
-        Map<String, Object> payload = new HashMap<>();
-        payload.put("mealId", 1L);
-        payload.put("quantity", 150);
-        payload.put("categoryId", 1L);
+        CreateFood request = new CreateFood(1L, 1L, 150);
         
         when(principal.getName()).thenReturn("testcoach");
-        when(coachService.loadCoachByUsername("testcoach")).thenReturn(testCoach);
-        when(mealRepo.findById(1L)).thenReturn(Optional.of(testMeal));
-        when(foodCategoryRepo.findById(1L)).thenReturn(Optional.of(testFoodCategory));
+        when(coachService.loadCoachIdByUsername("testcoach")).thenReturn(1L);
+        when(mealRepo.findByIdAndDayAthleteCoachId(1L, 1L)).thenReturn(Optional.of(testMeal));
+        when(foodCategoryCache.findById(1L)).thenReturn(Optional.of(testFoodCategory));
         when(foodRepo.save(any(Food.class))).thenReturn(testFood);
 
         // When
-        ResponseEntity<?> response = controller.createFood(payload, principal);
+        ResponseEntity<?> response = controller.createFood(request, principal);
 
         // Then
         assertEquals(HttpStatus.OK, response.getStatusCode());
         verify(foodRepo).save(any(Food.class));
-        verify(foodCategoryRepo, atLeastOnce()).findById(1L);
+        verify(foodCategoryCache, atLeastOnce()).findById(1L);
+        verify(nutritionService).foodAdded(testFood, testFoodCategory);
+    }
+
+    @Test
+    void createFood_WithUnknownCategory_ShouldReturnBadRequestAndSaveNothing() {
+        // Given
+        CreateFood request = new CreateFood(1L, 99L, 150);
+
+        when(principal.getName()).thenReturn("testcoach");
+        when(coachService.loadCoachIdByUsername("testcoach")).thenReturn(1L);
+        when(mealRepo.findByIdAndDayAthleteCoachId(1L, 1L)).thenReturn(Optional.of(testMeal));
+        when(foodCategoryCache.findById(99L)).thenReturn(Optional.empty());
+
+        // When
+        ResponseEntity<?> response = controller.createFood(request, principal);
+
+        // Then
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals(new ErrorResponse("Food category not found"), response.getBody());
+        verify(foodRepo, never()).save(any(Food.class));
+    }
+
+    @Test
+    void updateFood_WithNewCategory_ShouldFetchEachCategoryOnceAndMoveTotals() {
+        // Given
+        FoodCategory banana = new FoodCategory("Banana", 1.1, 23.0, 0.3, 89.0);
+        banana.setId(2L);
+        UpdateFood request = new UpdateFood(120, 2L);
+
+        when(principal.getName()).thenReturn("testcoach");
+        when(coachService.loadCoachIdByUsername("testcoach")).thenReturn(1L);
+        when(foodRepo.findByIdAndMealDayAthleteCoachId(1L, 1L)).thenReturn(Optional.of(testFood));
+        when(foodCategoryCache.findById(1L)).thenReturn(Optional.of(testFoodCategory));
+        when(foodCategoryCache.findById(2L)).thenReturn(Optional.of(banana));
+
+        // When
+        ResponseEntity<?> response = controller.updateFood(1L, request, principal);
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        FoodResponse body = (FoodResponse) response.getBody();
+        assertEquals("Banana", body.categoryName());
+        verify(nutritionService).foodRemoved(testFood, testFoodCategory);
+        verify(nutritionService).foodAdded(testFood, banana);
+        verify(foodCategoryCache).findById(1L);
+        verify(foodCategoryCache).findById(2L);
+        assertEquals(2L, testFood.getCategoryId());
+        assertEquals(120, testFood.getQuantity());
+    }
+
+    @Test
+    void updateFood_WithSameCategory_ShouldFetchItOnce() {
+        // Given
+        UpdateFood request = new UpdateFood(120, 1L);
+
+        when(principal.getName()).thenReturn("testcoach");
+        when(coachService.loadCoachIdByUsername("testcoach")).thenReturn(1L);
+        when(foodRepo.findByIdAndMealDayAthleteCoachId(1L, 1L)).thenReturn(Optional.of(testFood));
+        when(foodCategoryCache.findById(1L)).thenReturn(Optional.of(testFoodCategory));
+
+        // When
+        ResponseEntity<?> response = controller.updateFood(1L, request, principal);
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        verify(foodCategoryCache).findById(1L);
+        verify(nutritionService).foodRemoved(testFood, testFoodCategory);
+        verify(nutritionService).foodAdded(testFood, testFoodCategory);
     }
 
     @Test
@@ -279,14 +414,15 @@ class DashboardControllerTest {
         // Given
         Long dayId = 1L;
         when(principal.getName()).thenReturn("testcoach");
-        when(coachService.loadCoachByUsername("testcoach")).thenReturn(testCoach);
-        when(dayRepo.findById(dayId)).thenReturn(Optional.of(testDay));
+        when(coachService.loadCoachIdByUsername("testcoach")).thenReturn(1L);
+        when(dayRepo.findByIdAndAthleteCoachId(dayId, 1L)).thenReturn(Optional.of(testDay));
 
         // When
         ResponseEntity<?> response = controller.deleteDay(dayId, principal);
 
         // Then
         assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(SuccessResponse.OK, response.getBody());
         verify(dayRepo).delete(testDay);
     }
 
@@ -295,8 +431,8 @@ class DashboardControllerTest {
         // Given
         Long mealId = 1L;
         when(principal.getName()).thenReturn("testcoach");
-        when(coachService.loadCoachByUsername("testcoach")).thenReturn(testCoach);
-        when(mealRepo.findById(mealId)).thenReturn(Optional.of(testMeal));
+        when(coachService.loadCoachIdByUsername("testcoach")).thenReturn(1L);
+        when(mealRepo.findByIdAndDayAthleteCoachId(mealId, 1L)).thenReturn(Optional.of(testMeal));
 
         // When
         ResponseEntity<?> response = controller.deleteMeal(mealId, principal);
@@ -304,6 +440,7 @@ class DashboardControllerTest {
         // Then
         assertEquals(HttpStatus.OK, response.getStatusCode());
         verify(mealRepo).delete(testMeal);
+        verify(nutritionService).mealRemoved(testMeal);
     }
 
     @Test
@@ -311,8 +448,8 @@ class DashboardControllerTest {
         // Given
         Long foodId = 1L;
         when(principal.getName()).thenReturn("testcoach");
-        when(coachService.loadCoachByUsername("testcoach")).thenReturn(testCoach);
-        when(foodRepo.findById(foodId)).thenReturn(Optional.of(testFood));
+        when(coachService.loadCoachIdByUsername("testcoach")).thenReturn(1L);
+        when(foodRepo.findByIdAndMealDayAthleteCoachId(foodId, 1L)).thenReturn(Optional.of(testFood));
 
         // When
         ResponseEntity<?> response = controller.deleteFood(foodId, principal);
@@ -320,22 +457,36 @@ class DashboardControllerTest {
         // Then
         assertEquals(HttpStatus.OK, response.getStatusCode());
         verify(foodRepo).delete(testFood);
+        verify(nutritionService).foodRemoved(testFood, null);
     }
 
     @Test
-    void getFoodCategories_ShouldReturnAllCategories() {
+    void getFoodCategories_ShouldReturnCatalogJsonWithEtag() {
         // Given
-        when(foodCategoryRepo.findAll()).thenReturn(Arrays.asList(testFoodCategory));
+        FoodCategoryCatalog.Snapshot catalog = FoodCategoryCatalog.Snapshot.of(List.of(testFoodCategory));
+        when(foodCategoryCatalog.current()).thenReturn(catalog);
 
         // When
-        ResponseEntity<?> response = controller.getFoodCategories(principal);
+        ResponseEntity<?> response = controller.getFoodCategories(null, principal);
 
         // Then
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        @SuppressWarnings("unchecked")
-        List<Map<String, Object>> categories = (List<Map<String, Object>>) response.getBody();
-        assertEquals(1, categories.size());
-        assertEquals("Apple", categories.get(0).get("name"));
+        assertEquals(catalog.etag(), response.getHeaders().getETag());
+        assertSame(catalog.json(), response.getBody());
+    }
+
+    @Test
+    void getFoodCategories_WithMatchingIfNoneMatch_ShouldReturnNotModified() {
+        // Given
+        FoodCategoryCatalog.Snapshot catalog = FoodCategoryCatalog.Snapshot.of(List.of(testFoodCategory));
+        when(foodCategoryCatalog.current()).thenReturn(catalog);
+
+        // When
+        ResponseEntity<?> response = controller.getFoodCategories(catalog.etag(), principal);
+
+        // Then
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
     }
 
     @Test
@@ -343,19 +494,122 @@ class DashboardControllerTest {
         // Given
         Long athleteId = 1L;
         when(principal.getName()).thenReturn("testcoach");
-        when(coachService.loadCoachByUsername("testcoach")).thenReturn(testCoach);
-        when(athleteRepo.findById(athleteId)).thenReturn(Optional.of(testAthlete));
-        when(dayRepo.findByAthleteOrderByDateDesc(testAthlete)).thenReturn(Arrays.asList(testDay));
+        when(coachService.loadCoachIdByUsername("testcoach")).thenReturn(1L);
+        when(athleteRepo.existsByIdAndCoachId(athleteId, 1L)).thenReturn(true);
+        when(dayRepo.findSummaryPageByAthleteId(eq(1L), any(), any(), any()))
+                .thenReturn(List.of(new DaySummary(1L, "Monday", testDay.getDate(), 1L)));
 
         // When
-        ResponseEntity<?> response = controller.getAthletesDays(athleteId, principal);
+        ResponseEntity<?> response = controller.getAthletesDays(athleteId, null, null, null, 100, principal);
 
         // Then
         assertEquals(HttpStatus.OK, response.getStatusCode());
         @SuppressWarnings("unchecked")
-        List<Map<String, Object>> days = (List<Map<String, Object>>) response.getBody();
+        List<DaySummary> days = (List<DaySummary>) response.getBody();
         assertEquals(1, days.size());
-        assertEquals("Monday", days.get(0).get("dayName"));
+        assertEquals("Monday", days.get(0).dayName());
+        verify(athleteRepo, never()).findByIdAndCoachId(any(), any());
+        assertNull(response.getHeaders().getFirst(DashboardController.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void getAthletesDays_WithMoreDaysThanLimit_ShouldReturnNextCursor() {
+        // Given
+        DaySummary tuesday = new DaySummary(7L, "Tuesday", LocalDate.of(2024, 5, 2), 1L);
+        DaySummary wednesday = new DaySummary(8L, "Wednesday", LocalDate.of(2024, 5, 1), 1L);
+        LocalDate from = LocalDate.of(2024, 1, 1);
+        LocalDate to = LocalDate.of(2024, 12, 31);
+        when(principal.getName()).thenReturn("testcoach");
+        when(coachService.loadCoachIdByUsername("testcoach")).thenReturn(1L);
+        when(athleteRepo.existsByIdAndCoachId(1L, 1L)).thenReturn(true);
+        when(dayRepo.findSummaryPageByAthleteIdAfter(eq(1L), eq(from), eq(to), eq(LocalDate.of(2024, 5, 3)), eq(5L), any()))
+                .thenReturn(Arrays.asList(tuesday, wednesday));
+
+        // When
+        ResponseEntity<?> response = controller.getAthletesDays(1L, from, to, "2024-05-03_5", 1, principal);
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        @SuppressWarnings("unchecked")
+        List<DaySummary> days = (List<DaySummary>) response.getBody();
+        assertEquals(List.of(tuesday), days);
+        assertEquals("2024-05-02_7", response.getHeaders().getFirst(DashboardController.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void getAthletesMeals_WithMoreMealsThanLimit_ShouldReturnNextCursor() {
+        // Given
+        Meal lunch = new Meal("Lunch", testDay);
+        lunch.setId(2L);
+        LocalDate from = LocalDate.of(2024, 1, 1);
+        LocalDate to = LocalDate.of(2024, 12, 31);
+        testDay.setDate(LocalDate.of(2024, 5, 2));
+        when(principal.getName()).thenReturn("testcoach");
+        when(coachService.loadCoachIdByUsername("testcoach")).thenReturn(1L);
+        when(athleteRepo.existsByIdAndCoachId(1L, 1L)).thenReturn(true);
+        when(mealRepo.findPageByAthleteIdAfter(eq(1L), eq(from), eq(to), eq(LocalDate.of(2024, 5, 3)), eq(5L),
+                eq(PageRequest.of(0, 2)))).thenReturn(Arrays.asList(testMeal, lunch));
+
+        // When
+        ResponseEntity<?> response = controller.getAthletesMeals(1L, from, to, "2024-05-03_5", 1, principal);
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of(new MealResponse(1L, "Breakfast", 1L)), response.getBody());
+        assertEquals("2024-05-02_1", response.getHeaders().getFirst(DashboardController.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void getAthletesFoods_ShouldReturnFoodsWithCategoriesFromOneLookup() {
+        // Given
+        when(principal.getName()).thenReturn("testcoach");
+        when(coachService.loadCoachIdByUsername("testcoach")).thenReturn(1L);
+        when(athleteRepo.existsByIdAndCoachId(1L, 1L)).thenReturn(true);
+        when(foodRepo.findPageByAthleteId(eq(1L), any(), any(), eq(PageRequest.of(0, 101)))).thenReturn(List.of(testFood));
+        when(foodCategoryCache.findAllById(Set.of(1L))).thenReturn(Map.of(1L, testFoodCategory));
+
+        // When
+        ResponseEntity<?> response = controller.getAthletesFoods(1L, null, null, null, 100, principal);
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        @SuppressWarnings("unchecked")
+        List<FoodResponse> foods = (List<FoodResponse>) response.getBody();
+        assertEquals(1, foods.size());
+        assertEquals("Apple", foods.get(0).categoryName());
+        assertEquals(52, foods.get(0).kcal());
+        assertNull(response.getHeaders().getFirst(DashboardController.NEXT_CURSOR_HEADER));
+        verify(foodCategoryCache, never()).findById(any());
+    }
+
+    @Test
+    void getAthletesFoods_ForOtherCoachesAthlete_ShouldReturnBadRequest() {
+        // Given
+        when(principal.getName()).thenReturn("testcoach");
+        when(coachService.loadCoachIdByUsername("testcoach")).thenReturn(1L);
+        when(athleteRepo.existsByIdAndCoachId(2L, 1L)).thenReturn(false);
+
+        // When
+        ResponseEntity<?> response = controller.getAthletesFoods(2L, null, null, null, 100, principal);
+
+        // Then
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verifyNoInteractions(foodRepo);
+    }
+
+    @Test
+    void getAthletesDays_WithInvalidCursor_ShouldReturnBadRequest() {
+        // Given
+        when(principal.getName()).thenReturn("testcoach");
+        when(coachService.loadCoachIdByUsername("testcoach")).thenReturn(1L);
+        when(athleteRepo.existsByIdAndCoachId(1L, 1L)).thenReturn(true);
+
+        // When
+        ResponseEntity<?> response = controller.getAthletesDays(1L, null, null, "not-a-cursor", 100, principal);
+
+        // Then
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verifyNoInteractions(dayRepo);
     }
 
     @Test
@@ -363,9 +617,9 @@ class DashboardControllerTest {
         // Given
         Long dayId = 1L;
         when(principal.getName()).thenReturn("testcoach");
-        when(coachService.loadCoachByUsername("testcoach")).thenReturn(testCoach);
-        when(dayRepo.findById(dayId)).thenReturn(Optional.of(testDay));
-        when(mealRepo.findByDayOrderByIdAsc(testDay)).thenReturn(Arrays.asList(testMeal));
+        when(coachService.loadCoachIdByUsername("testcoach")).thenReturn(1L);
+        when(dayRepo.existsByIdAndAthleteCoachId(dayId, 1L)).thenReturn(true);
+        when(mealRepo.findSummariesByDayId(dayId)).thenReturn(List.of(new MealSummary(1L, "Breakfast", dayId)));
 
         // When
         ResponseEntity<?> response = controller.getDayMeals(dayId, principal);
@@ -373,9 +627,10 @@ class DashboardControllerTest {
         // Then
         assertEquals(HttpStatus.OK, response.getStatusCode());
         @SuppressWarnings("unchecked")
-        List<Map<String, Object>> meals = (List<Map<String, Object>>) response.getBody();
+        List<MealSummary> meals = (List<MealSummary>) response.getBody();
         assertEquals(1, meals.size());
-        assertEquals("Breakfast", meals.get(0).get("name"));
+        assertEquals("Breakfast", meals.get(0).name());
+        verify(dayRepo, never()).findByIdAndAthleteCoachId(any(), any());
     }
 
     @Test
@@ -383,10 +638,10 @@ class DashboardControllerTest {
         // Given
         Long mealId = 1L;
         when(principal.getName()).thenReturn("testcoach");
-        when(coachService.loadCoachByUsername("testcoach")).thenReturn(testCoach);
-        when(mealRepo.findById(mealId)).thenReturn(Optional.of(testMeal));
-        when(foodRepo.findByMealOrderByIdAsc(testMeal)).thenReturn(Arrays.asList(testFood));
-        when(foodCategoryRepo.findById(1L)).thenReturn(Optional.of(testFoodCategory));
+        when(coachService.loadCoachIdByUsername("testcoach")).thenReturn(1L);
+        when(mealRepo.existsByIdAndDayAthleteCoachId(mealId, 1L)).thenReturn(true);
+        when(foodRepo.findSummariesByMealId(mealId)).thenReturn(List.of(new FoodSummary(1L, 1L, 100, mealId)));
+        when(foodCategoryCache.findById(1L)).thenReturn(Optional.of(testFoodCategory));
 
         // When
         ResponseEntity<?> response = controller.getMealFoods(mealId, principal);
@@ -394,12 +649,270 @@ class DashboardControllerTest {
         // Then
         assertEquals(HttpStatus.OK, response.getStatusCode());
         @SuppressWarnings("unchecked")
-        List<Map<String, Object>> foods = (List<Map<String, Object>>) response.getBody();
+        List<FoodResponse> foods = (List<FoodResponse>) response.getBody();
         assertEquals(1, foods.size());
         
-        Map<String, Object> foodData = foods.get(0);
-        assertEquals("Apple", foodData.get("categoryName"));
-        assertEquals(100, foodData.get("quantity"));
-        assertEquals(1L, foodData.get("categoryId"));
+        FoodResponse foodData = foods.get(0);
+        assertEquals("Apple", foodData.categoryName());
+        assertEquals(100, foodData.quantity());
+        assertEquals(1L, foodData.categoryId());
+        assertEquals(0.3, foodData.prot());
+        assertEquals(14.0, foodData.carb());
+        assertEquals(52, foodData.kcal());
+        assertEquals(1L, foodData.mealId());
+    }
+
+    @Test
+    void getMealNutrition_ShouldReadPersistedTotals() {
+        // Given
+        Long mealId = 1L;
+        testMeal.getTotals().add(new MacroProfile(0.3, 14.0, 0.2, 52.0), 100);
+        when(principal.getName()).thenReturn("testcoach");
+        when(coachService.loadCoachIdByUsername("testcoach")).thenReturn(1L);
+        when(mealRepo.findByIdAndDayAthleteCoachId(mealId, 1L)).thenReturn(Optional.of(testMeal));
+
+        // When
+        ResponseEntity<?> response = controller.getMealNutrition(mealId, principal);
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        MealNutritionResponse body = (MealNutritionResponse) response.getBody();
+        assertEquals(14.0, body.carbs());
+        assertEquals(52, body.kcal());
+        verifyNoInteractions(foodRepo, foodCategoryCache, nutritionService);
+    }
+
+    @Test
+    void getDayNutrition_ShouldReadPersistedDayAndMealTotals() {
+        // Given
+        Long dayId = 1L;
+        testDay.getTotals().add(new MacroProfile(0.3, 14.0, 0.2, 52.0), 200);
+        testMeal.getTotals().add(new MacroProfile(0.3, 14.0, 0.2, 52.0), 200);
+        when(principal.getName()).thenReturn("testcoach");
+        when(coachService.loadCoachIdByUsername("testcoach")).thenReturn(1L);
+        when(dayRepo.findByIdAndAthleteCoachId(dayId, 1L)).thenReturn(Optional.of(testDay));
+        when(mealRepo.findByDayOrderByIdAsc(testDay)).thenReturn(List.of(testMeal));
+
+        // When
+        ResponseEntity<?> response = controller.getDayNutrition(dayId, principal);
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        DayNutritionResponse body = (DayNutritionResponse) response.getBody();
+        assertEquals("Monday", body.dayName());
+        assertEquals(104, body.kcal());
+        assertEquals(1, body.meals().size());
+        assertEquals(0.6, body.meals().get(0).protein());
+        verifyNoInteractions(foodRepo, foodCategoryCache, nutritionService);
+    }
+
+    @Test
+    void getAthleteNutrition_ShouldReturnTheDaysPageFromPersistedTotals() {
+        // Given
+        Long athleteId = 1L;
+        DayTotals monday = new DayTotals(1L, "Monday", LocalDate.of(2024, 5, 2), 0.3, 14.0, 0.2, 52);
+        DayTotals tuesday = new DayTotals(2L, "Tuesday", LocalDate.of(2024, 5, 1), 0.0, 0.0, 0.0, 0);
+        when(principal.getName()).thenReturn("testcoach");
+        when(coachService.loadCoachIdByUsername("testcoach")).thenReturn(1L);
+        when(athleteRepo.existsByIdAndCoachId(athleteId, 1L)).thenReturn(true);
+        when(dayRepo.findTotalsPageByAthleteId(eq(1L), any(), any(), eq(PageRequest.of(0, 101))))
+                .thenReturn(Arrays.asList(monday, tuesday));
+        when(mealRepo.findTotalsByDayIdIn(List.of(1L, 2L)))
+                .thenReturn(List.of(new MealTotals(1L, 1L, 0.3, 14.0, 0.2, 52)));
+
+        // When
+        ResponseEntity<?> response = controller.getAthleteNutrition(athleteId, null, null, null, 100, principal);
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        List<DayNutritionResponse> days = ((AthleteNutritionResponse) response.getBody()).days();
+        assertEquals(2, days.size());
+        assertEquals(52, days.get(0).kcal());
+        assertEquals(1, days.get(0).meals().size());
+        assertEquals("Tuesday", days.get(1).dayName());
+        assertEquals(0, days.get(1).kcal());
+        assertTrue(days.get(1).meals().isEmpty());
+        assertNull(response.getHeaders().getFirst(DashboardController.NEXT_CURSOR_HEADER));
+        verify(athleteRepo, never()).findByIdAndCoachId(any(), any());
+        verifyNoInteractions(foodRepo, foodCategoryCache, nutritionService);
+    }
+
+    @Test
+    void getAthleteNutrition_WithMoreDaysThanLimit_ShouldReturnNextCursor() {
+        // Given
+        DayTotals tuesday = new DayTotals(7L, "Tuesday", LocalDate.of(2024, 5, 2), 0.0, 0.0, 0.0, 0);
+        DayTotals wednesday = new DayTotals(8L, "Wednesday", LocalDate.of(2024, 5, 1), 0.0, 0.0, 0.0, 0);
+        LocalDate from = LocalDate.of(2024, 1, 1);
+        LocalDate to = LocalDate.of(2024, 12, 31);
+        when(principal.getName()).thenReturn("testcoach");
+        when(coachService.loadCoachIdByUsername("testcoach")).thenReturn(1L);
+        when(athleteRepo.existsByIdAndCoachId(1L, 1L)).thenReturn(true);
+        when(dayRepo.findTotalsPageByAthleteIdAfter(eq(1L), eq(from), eq(to), eq(LocalDate.of(2024, 5, 3)), eq(5L), any()))
+                .thenReturn(Arrays.asList(tuesday, wednesday));
+        when(mealRepo.findTotalsByDayIdIn(List.of(7L))).thenReturn(List.of());
+
+        // When
+        ResponseEntity<?> response = controller.getAthleteNutrition(1L, from, to, "2024-05-03_5", 1, principal);
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        List<DayNutritionResponse> days = ((AthleteNutritionResponse) response.getBody()).days();
+        assertEquals(List.of(7L), days.stream().map(DayNutritionResponse::dayId).toList());
+        assertEquals("2024-05-02_7", response.getHeaders().getFirst(DashboardController.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void getAthleteNutrition_WithLimitOverMax_ShouldReturnBadRequest() {
+        // When
+        ResponseEntity<?> response = controller.getAthleteNutrition(1L, null, null, null, 501, principal);
+
+        // Then
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verifyNoInteractions(dayRepo, mealRepo);
+    }
+
+    @Test
+    void deleteMeal_WithOtherCoachesMeal_ShouldReturnBadRequest() {
+        // Given - the ownership-checked query finds nothing for this coach
+        Long mealId = 1L;
+        when(principal.getName()).thenReturn("othercoach");
+        when(coachService.loadCoachIdByUsername("othercoach")).thenReturn(2L);
+        when(mealRepo.findByIdAndDayAthleteCoachId(mealId, 2L)).thenReturn(Optional.empty());
+
+        // When
+        ResponseEntity<?> response = controller.deleteMeal(mealId, principal);
+
+        // Then
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verify(mealRepo, never()).findById(any());
+        verify(mealRepo, never()).delete(any());
+    }
+
+    @Test
+    void createFoods_WithValidItems_ShouldValidateOnceAndSaveAll() {
+        // Given
+        Long mealId = 1L;
+        FoodCategory banana = new FoodCategory("Banana", 1.1, 23.0, 0.3, 89.0);
+        banana.setId(2L);
+        List<BatchFood> items = List.of(
+                new BatchFood(1L, 100),
+                new BatchFood(2L, 50),
+                new BatchFood(1L, null));
+        when(principal.getName()).thenReturn("testcoach");
+        when(coachService.loadCoachIdByUsername("testcoach")).thenReturn(1L);
+        when(mealRepo.findByIdAndDayAthleteCoachId(mealId, 1L)).thenReturn(Optional.of(testMeal));
+        when(foodCategoryCache.findAllById(Set.of(1L, 2L))).thenReturn(Map.of(1L, testFoodCategory, 2L, banana));
+        when(foodRepo.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        ResponseEntity<?> response = controller.createFoods(mealId, items, principal);
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        @SuppressWarnings("unchecked")
+        List<FoodResponse> foods = (List<FoodResponse>) response.getBody();
+        assertEquals(3, foods.size());
+        assertEquals("Banana", foods.get(1).categoryName());
+        assertEquals(45, foods.get(1).kcal());
+        assertEquals(1, foods.get(2).quantity());
+        verify(foodCategoryCache, times(1)).findAllById(any());
+        verify(foodCategoryCache, never()).findById(any());
+        verify(foodRepo, times(1)).saveAll(anyList());
+        verify(foodRepo, never()).save(any());
+        verify(nutritionService, times(3)).foodAdded(any(Food.class), any(FoodCategory.class));
+    }
+
+    @Test
+    void createFoods_WithUnknownCategory_ShouldReturnBadRequestAndSaveNothing() {
+        // Given
+        Long mealId = 1L;
+        List<BatchFood> items = List.of(
+                new BatchFood(1L, 100),
+                new BatchFood(99L, 100));
+        when(principal.getName()).thenReturn("testcoach");
+        when(coachService.loadCoachIdByUsername("testcoach")).thenReturn(1L);
+        when(mealRepo.findByIdAndDayAthleteCoachId(mealId, 1L)).thenReturn(Optional.of(testMeal));
+        when(foodCategoryCache.findAllById(Set.of(1L, 99L))).thenReturn(Map.of(1L, testFoodCategory));
+
+        // When
+        ResponseEntity<?> response = controller.createFoods(mealId, items, principal);
+
+        // Then
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals(new ErrorResponse("Food category not found: [99]"), response.getBody());
+        verify(foodRepo, never()).saveAll(anyList());
+    }
+
+    @Test
+    void exportAthlete_AsNdjson_ShouldStreamExportAsAttachment() throws Exception {
+        // Given
+        when(principal.getName()).thenReturn("testcoach");
+        when(coachService.loadCoachIdByUsername("testcoach")).thenReturn(1L);
+        when(athleteRepo.findByIdAndCoachId(1L, 1L)).thenReturn(Optional.of(testAthlete));
+
+        // When
+        ResponseEntity<StreamingResponseBody> response = controller.exportAthlete(1L, "ndjson", principal);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_NDJSON, response.getHeaders().getContentType());
+        assertEquals("attachment; filename=\"athlete-1-nutrition.ndjson\"",
+                response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION));
+        verify(exportService).export(1L, AthleteExportService.Format.NDJSON, out);
+    }
+
+    @Test
+    void exportAthlete_OfAnotherCoachsAthlete_ShouldBeRejectedWithoutStreaming() {
+        // Given
+        when(principal.getName()).thenReturn("testcoach");
+        when(coachService.loadCoachIdByUsername("testcoach")).thenReturn(1L);
+        when(athleteRepo.findByIdAndCoachId(2L, 1L)).thenReturn(Optional.empty());
+
+        // When
+        DashboardController.ExportRequestException e = assertThrows(DashboardController.ExportRequestException.class,
+                () -> controller.exportAthlete(2L, "csv", principal));
+        ResponseEntity<ErrorResponse> response = controller.handleRejectedExport(e);
+
+        // Then
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals(new ErrorResponse("Athlete not found"), response.getBody());
+        verifyNoInteractions(exportService);
+    }
+
+    @Test
+    void importMealPlan_WithRejectedRows_ShouldReturnTheReport() throws Exception {
+        // Given
+        when(principal.getName()).thenReturn("testcoach");
+        when(coachService.loadCoachIdByUsername("testcoach")).thenReturn(1L);
+        when(athleteRepo.findByIdAndCoachId(1L, 1L)).thenReturn(Optional.of(testAthlete));
+        InputStream body = new ByteArrayInputStream(new byte[0]);
+        MealPlanImportService.ImportReport report = new MealPlanImportService.ImportReport(3, 1, 1, 2, 0, 1,
+                List.of(new MealPlanImportService.RowError(4, "Unknown food category: pizza")), null, 12);
+        when(importService.importPlan(1L, MealPlanImportService.Format.JSON, body)).thenReturn(report);
+
+        // When
+        ResponseEntity<?> response = controller.importMealPlan(1L, "ndjson", body, principal);
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertSame(report, response.getBody());
+    }
+
+    @Test
+    void importMealPlan_ForAnotherCoachsAthlete_ShouldBeRejectedWithoutImporting() {
+        // Given
+        when(principal.getName()).thenReturn("testcoach");
+        when(coachService.loadCoachIdByUsername("testcoach")).thenReturn(1L);
+        when(athleteRepo.findByIdAndCoachId(2L, 1L)).thenReturn(Optional.empty());
+
+        // When
+        ResponseEntity<?> response = controller.importMealPlan(2L, "csv", new ByteArrayInputStream(new byte[0]), principal);
+
+        // Then
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals(new ErrorResponse("Athlete not found"), response.getBody());
+        verifyNoInteractions(importService);
     }
-} 
\ No newline at end of file
+}
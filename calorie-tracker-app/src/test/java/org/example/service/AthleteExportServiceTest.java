@@ -0,0 +1,103 @@
+package org.example.service;
+
+import org.example.foodcategories.FoodCategory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * An in-memory H2 database holds the days, meals and foods tables with the
+ * columns the export reads.
+ */
+@ExtendWith(MockitoExtension.class)
+class AthleteExportServiceTest {
+
+    @Mock
+    private FoodCategoryCatalog foodCategoryCatalog;
+
+    private AthleteExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:export-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE days (id BIGINT PRIMARY KEY, date DATE, day_name VARCHAR(32), athlete_id BIGINT, "
+                + "total_prot DOUBLE PRECISION, total_carb DOUBLE PRECISION, total_fat DOUBLE PRECISION, total_kcal INT)");
+        jdbcTemplate.execute("CREATE TABLE meals (id BIGINT PRIMARY KEY, name VARCHAR(64), day_id BIGINT, "
+                + "total_prot DOUBLE PRECISION, total_carb DOUBLE PRECISION, total_fat DOUBLE PRECISION, total_kcal INT)");
+        jdbcTemplate.execute("CREATE TABLE foods (id BIGINT PRIMARY KEY, meal_id BIGINT, category_id BIGINT, quantity INT)");
+
+        // Athlete 1: a day with one meal of 200 g potato and an empty meal, and an empty day before it
+        jdbcTemplate.update("INSERT INTO days VALUES (1, DATE '2026-03-02', 'Monday', 1, 4.0, 36.0, 0.2, 160)");
+        jdbcTemplate.update("INSERT INTO days VALUES (2, DATE '2026-03-01', 'Sunday', 1, 0, 0, 0, 0)");
+        jdbcTemplate.update("INSERT INTO meals VALUES (10, 'Lunch, late', 1, 4.0, 36.0, 0.2, 160)");
+        jdbcTemplate.update("INSERT INTO meals VALUES (11, '=Dinner', 1, 0, 0, 0, 0)");
+        jdbcTemplate.update("INSERT INTO foods VALUES (100, 10, 1, 200)");
+        // Athlete 2 must not show up
+        jdbcTemplate.update("INSERT INTO days VALUES (3, DATE '2026-03-02', 'Monday', 2, 0, 0, 0, 0)");
+
+        exportService = new AthleteExportService(dataSource, foodCategoryCatalog, 1);
+    }
+
+    @Test
+    void export_AsCsv_ShouldWriteDayMealAndFoodLines() throws Exception {
+        // When
+        String csv = export(AthleteExportService.Format.CSV);
+
+        // Then
+        assertEquals(String.join("\r\n",
+                "type,date,day,meal_id,meal,food_id,category_id,category,quantity,prot,carb,fat,kcal",
+                "day,2026-03-02,Monday,,,,,,,4.0,36.0,0.2,160",
+                "meal,2026-03-02,Monday,10,\"Lunch, late\",,,,,4.0,36.0,0.2,160",
+                "food,2026-03-02,Monday,10,\"Lunch, late\",100,1,potato,200,4.0,36.0,0.2,160",
+                "meal,2026-03-02,Monday,11,'=Dinner,,,,,0.0,0.0,0.0,0",
+                "day,2026-03-01,Sunday,,,,,,,0.0,0.0,0.0,0",
+                ""), csv);
+    }
+
+    @Test
+    void export_AsNdjson_ShouldWriteOneObjectPerLine() throws Exception {
+        // When
+        String ndjson = export(AthleteExportService.Format.NDJSON);
+
+        // Then
+        String[] lines = ndjson.split("\n");
+        assertEquals(5, lines.length);
+        assertEquals("{\"type\":\"day\",\"date\":\"2026-03-02\",\"day\":\"Monday\","
+                + "\"prot\":4.0,\"carb\":36.0,\"fat\":0.2,\"kcal\":160}", lines[0]);
+        assertEquals("{\"type\":\"food\",\"date\":\"2026-03-02\",\"day\":\"Monday\",\"meal_id\":10,\"meal\":\"Lunch, late\","
+                + "\"food_id\":100,\"category_id\":1,\"category\":\"potato\",\"quantity\":200,"
+                + "\"prot\":4.0,\"carb\":36.0,\"fat\":0.2,\"kcal\":160}", lines[2]);
+        assertTrue(ndjson.endsWith("}\n"));
+    }
+
+    @Test
+    void parse_WithUnknownFormat_ShouldThrow() {
+        assertEquals(AthleteExportService.Format.NDJSON, AthleteExportService.Format.parse("NDJSON"));
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> AthleteExportService.Format.parse("xlsx"));
+        assertEquals("Unsupported export format: xlsx (use csv or ndjson)", e.getMessage());
+    }
+
+    private String export(AthleteExportService.Format format) throws Exception {
+        FoodCategory potato = new FoodCategory("potato", 2.0, 18.0, 0.1, 80.0);
+        potato.setId(1L);
+        when(foodCategoryCatalog.current()).thenReturn(FoodCategoryCatalog.Snapshot.of(List.of(potato)));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.export(1L, format, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -2,12 +2,15 @@ package org.example.service;
 
 import org.example.model.Coach;
 import org.example.repository.CoachRepository;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
@@ -36,6 +39,11 @@ class CoachUserDetailsServiceTest {
         testCoach.setRole(org.example.model.Role.ROLE_COACH);
     }
 
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
     @Test
     void loadUserByUsername_WithValidUsername_ShouldReturnUserDetails() {
         // Given
@@ -95,4 +103,51 @@ class CoachUserDetailsServiceTest {
         });
         verify(coachRepository).findByUsername(username);
     }
-} 
\ No newline at end of file
+
+    @Test
+    void loadCoachIdByUsername_WithAuthenticatedCoach_ShouldNotQueryRepository() {
+        // Given
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(testCoach, null, testCoach.getAuthorities()));
+
+        // When
+        Long coachId = userDetailsService.loadCoachIdByUsername("testcoach");
+
+        // Then
+        assertEquals(1L, coachId);
+        verifyNoInteractions(coachRepository);
+    }
+
+    @Test
+    void loadCoachIdByUsername_WithoutSecurityContext_ShouldQueryOnceThenUseCache() {
+        // Given
+        when(coachRepository.findByUsername("testcoach")).thenReturn(Optional.of(testCoach));
+
+        // When
+        Long first = userDetailsService.loadCoachIdByUsername("testcoach");
+        Long second = userDetailsService.loadCoachIdByUsername("testcoach");
+
+        // Then
+        assertEquals(1L, first);
+        assertEquals(1L, second);
+        verify(coachRepository, times(1)).findByUsername("testcoach");
+    }
+
+    @Test
+    void loadCoachIdByUsername_WithOtherAuthenticatedCoach_ShouldNotUseItsId() {
+        // Given
+        Coach otherCoach = new Coach();
+        otherCoach.setId(2L);
+        otherCoach.setUsername("othercoach");
+        otherCoach.setRole(org.example.model.Role.ROLE_COACH);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(otherCoach, null, otherCoach.getAuthorities()));
+        when(coachRepository.findByUsername("testcoach")).thenReturn(Optional.of(testCoach));
+
+        // When
+        Long coachId = userDetailsService.loadCoachIdByUsername("testcoach");
+
+        // Then
+        assertEquals(1L, coachId);
+    }
+}
@@ -0,0 +1,149 @@
+package org.example.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentLookupsTest {
+
+    private static final long TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void start_ShouldRunLookupOffTheCallingThread() {
+        // Given
+        ConcurrentLookups lookups = new ConcurrentLookups(executor, TIMEOUT_NANOS, System::nanoTime);
+        Thread caller = Thread.currentThread();
+
+        // When
+        ConcurrentLookups.Lookup<Thread> lookup = lookups.start("thread", Thread::currentThread);
+
+        // Then
+        assertNotSame(caller, lookup.join());
+    }
+
+    @Test
+    void start_WithSameKeyInFlight_ShouldJoinRunningLookup() {
+        // Given
+        ConcurrentLookups lookups = new ConcurrentLookups(executor, TIMEOUT_NANOS, System::nanoTime);
+        AtomicInteger calls = new AtomicInteger();
+        ConcurrentLookups.Lookup<Integer> first = lookups.start("category:1", () -> {
+            await();
+            return calls.incrementAndGet();
+        });
+
+        // When
+        ConcurrentLookups.Lookup<Integer> second = lookups.start("category:1", calls::incrementAndGet);
+        release.countDown();
+
+        // Then
+        assertEquals(1, first.join());
+        assertEquals(1, second.join());
+        assertEquals(1, calls.get());
+        assertEquals(0, lookups.inFlight());
+    }
+
+    @Test
+    void cancel_BeforeLookupStarts_ShouldSkipIt() {
+        // Given
+        List<Runnable> queued = new ArrayList<>();
+        ConcurrentLookups lookups = new ConcurrentLookups(queued::add, TIMEOUT_NANOS, System::nanoTime);
+        AtomicInteger calls = new AtomicInteger();
+        ConcurrentLookups.Lookup<Integer> lookup = lookups.start("category:1", calls::incrementAndGet);
+
+        // When
+        lookup.cancel();
+        queued.forEach(Runnable::run);
+
+        // Then
+        assertEquals(0, calls.get());
+        assertEquals(0, lookups.inFlight());
+    }
+
+    @Test
+    void cancel_WhileAnotherCallerWaits_ShouldKeepLookupRunning() {
+        // Given
+        List<Runnable> queued = new ArrayList<>();
+        ConcurrentLookups lookups = new ConcurrentLookups(queued::add, TIMEOUT_NANOS, System::nanoTime);
+        AtomicInteger calls = new AtomicInteger();
+        ConcurrentLookups.Lookup<Integer> first = lookups.start("category:1", calls::incrementAndGet);
+        ConcurrentLookups.Lookup<Integer> second = lookups.start("category:1", calls::incrementAndGet);
+
+        // When
+        first.cancel();
+        first.cancel(); // a second cancel of the same lookup must not count twice
+        queued.forEach(Runnable::run);
+
+        // Then
+        assertEquals(1, second.join());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void join_AfterTimeout_ShouldThrowLookupTimeoutException() {
+        // Given
+        ConcurrentLookups lookups = new ConcurrentLookups(executor, TimeUnit.MILLISECONDS.toNanos(50), System::nanoTime);
+        ConcurrentLookups.Lookup<String> lookup = lookups.start("slow", () -> {
+            await();
+            return "late";
+        });
+
+        // When & Then
+        ConcurrentLookups.LookupTimeoutException e =
+                assertThrows(ConcurrentLookups.LookupTimeoutException.class, lookup::join);
+        assertEquals("Lookup of slow timed out after 50 ms", e.getMessage());
+    }
+
+    @Test
+    void join_WhenLookupFails_ShouldRethrowItsException() {
+        // Given
+        ConcurrentLookups lookups = new ConcurrentLookups(executor, TIMEOUT_NANOS, System::nanoTime);
+
+        // When
+        ConcurrentLookups.Lookup<String> lookup = lookups.start("broken", () -> {
+            throw new IllegalArgumentException("Food category not found");
+        });
+
+        // Then
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, lookup::join);
+        assertEquals("Food category not found", e.getMessage());
+    }
+
+    @Test
+    void start_WhenExecutorIsSaturated_ShouldRunOnCallingThread() {
+        // Given
+        ConcurrentLookups lookups = new ConcurrentLookups(task -> {
+            throw new RejectedExecutionException("queue full");
+        }, TIMEOUT_NANOS, System::nanoTime);
+        Thread caller = Thread.currentThread();
+
+        // When & Then
+        assertSame(caller, lookups.start("thread", Thread::currentThread).join());
+    }
+
+    private void await() {
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
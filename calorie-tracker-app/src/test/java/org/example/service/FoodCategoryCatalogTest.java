@@ -0,0 +1,115 @@
+package org.example.service;
+
+import org.example.foodcategories.FoodCategory;
+import org.example.foodcategories.FoodCategoryCache;
+import org.example.repository.foodcategories.FoodCategoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FoodCategoryCatalogTest {
+
+    private static final long REFRESH_NANOS = 1_000L;
+
+    @Mock
+    private FoodCategoryRepository foodCategoryRepository;
+
+    @Mock
+    private FoodCategoryCache foodCategoryCache;
+
+    private final AtomicLong now = new AtomicLong();
+    private FoodCategoryCatalog catalog;
+
+    private FoodCategory apple;
+
+    @BeforeEach
+    void setUp() {
+        catalog = new FoodCategoryCatalog(foodCategoryRepository, foodCategoryCache, REFRESH_NANOS, now::get);
+
+        apple = new FoodCategory("Apple", 0.3, 14.0, 0.2, 52.0);
+        apple.setId(1L);
+    }
+
+    @Test
+    void current_ShouldLoadOnceWithinRefreshInterval() {
+        // Given
+        when(foodCategoryRepository.findAll()).thenReturn(List.of(apple));
+
+        // When
+        FoodCategoryCatalog.Snapshot first = catalog.current();
+        FoodCategoryCatalog.Snapshot second = catalog.current();
+
+        // Then
+        assertSame(first, second);
+        verify(foodCategoryRepository, times(1)).findAll();
+        verify(foodCategoryCache).put(apple);
+    }
+
+    @Test
+    void current_AfterRefreshIntervalWithoutChanges_ShouldKeepSnapshotAndEtag() {
+        // Given
+        when(foodCategoryRepository.findAll()).thenReturn(List.of(apple));
+        FoodCategoryCatalog.Snapshot first = catalog.current();
+
+        // When
+        now.addAndGet(REFRESH_NANOS + 1);
+        FoodCategoryCatalog.Snapshot second = catalog.current();
+
+        // Then
+        verify(foodCategoryRepository, times(2)).findAll();
+        assertSame(first, second);
+    }
+
+    @Test
+    void current_AfterCategoryChange_ShouldChangeEtag() {
+        // Given
+        FoodCategory updatedApple = new FoodCategory("Apple", 0.3, 14.0, 0.2, 55.0);
+        updatedApple.setId(1L);
+        when(foodCategoryRepository.findAll()).thenReturn(List.of(apple)).thenReturn(List.of(updatedApple));
+        FoodCategoryCatalog.Snapshot first = catalog.current();
+
+        // When
+        now.addAndGet(REFRESH_NANOS + 1);
+        FoodCategoryCatalog.Snapshot second = catalog.current();
+
+        // Then
+        assertNotEquals(first.etag(), second.etag());
+        assertTrue(second.jsonText().contains("\"kcal\":55.0"));
+    }
+
+    @Test
+    void snapshot_ShouldEscapeNamesForInlineScript() {
+        // Given
+        FoodCategory tricky = new FoodCategory("Fish \"&\" chips</script>", null, null, null, null);
+        tricky.setId(2L);
+
+        // When
+        FoodCategoryCatalog.Snapshot snapshot = FoodCategoryCatalog.Snapshot.of(List.of(tricky));
+
+        // Then
+        assertEquals("[{\"id\":2,\"name\":\"Fish \\\"\\u0026\\\" chips\\u003C/script\\u003E\","
+                + "\"prot\":0.0,\"kcal\":0.0,\"fat\":0.0,\"carb\":0.0}]", snapshot.jsonText());
+    }
+
+    @Test
+    void snapshot_ShouldMatchOwnEtagAndWildcard() {
+        // Given
+        FoodCategoryCatalog.Snapshot snapshot = FoodCategoryCatalog.Snapshot.of(List.of(apple));
+
+        // When & Then
+        assertTrue(snapshot.matches(snapshot.etag()));
+        assertTrue(snapshot.matches("\"other\", W/" + snapshot.etag()));
+        assertTrue(snapshot.matches("*"));
+        assertFalse(snapshot.matches("\"other\""));
+        assertFalse(snapshot.matches(null));
+    }
+}
@@ -0,0 +1,285 @@
+package org.example.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.foodcategories.FoodCategory;
+import org.example.repository.foodcategories.FoodCategoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * An in-memory H2 database (PostgreSQL mode, for nextval) holds the days,
+ * meals and foods tables and their pooled sequences.
+ */
+@ExtendWith(MockitoExtension.class)
+class MealPlanImportServiceTest {
+
+    @Mock
+    private FoodCategoryRepository foodCategoryRepository;
+
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:import-" + System.nanoTime() + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE SEQUENCE base_entity_seq START WITH 1 INCREMENT BY 50");
+        jdbcTemplate.execute("CREATE SEQUENCE food_seq START WITH 1 INCREMENT BY 50");
+        jdbcTemplate.execute("CREATE TABLE days (id BIGINT PRIMARY KEY, version INT, date DATE NOT NULL, day_name VARCHAR(255), "
+                + "athlete_id BIGINT NOT NULL, total_prot DOUBLE PRECISION NOT NULL, total_carb DOUBLE PRECISION NOT NULL, "
+                + "total_fat DOUBLE PRECISION NOT NULL, total_kcal INT NOT NULL)");
+        jdbcTemplate.execute("CREATE TABLE meals (id BIGINT PRIMARY KEY, version INT, name VARCHAR(255) NOT NULL, "
+                + "day_id BIGINT NOT NULL REFERENCES days(id), total_prot DOUBLE PRECISION NOT NULL, "
+                + "total_carb DOUBLE PRECISION NOT NULL, total_fat DOUBLE PRECISION NOT NULL, total_kcal INT NOT NULL)");
+        jdbcTemplate.execute("CREATE TABLE foods (id BIGINT PRIMARY KEY, quantity INT NOT NULL, "
+                + "meal_id BIGINT NOT NULL REFERENCES meals(id), category_id BIGINT NOT NULL)");
+    }
+
+    @Test
+    void importPlan_FromCsv_ShouldInsertDaysMealsAndFoodsWithTotals() throws Exception {
+        // Given
+        stubCategories();
+        String csv = String.join("\r\n",
+                "Date,Day,Meal,Category,Quantity,Notes",
+                "2026-03-02,Monday,Breakfast,rice,100,",
+                "2026-03-02,Monday,Breakfast,potato,200,\"plain, no salt\"",
+                "2026-03-02,Monday,Lunch,potato,100,",
+                "2026-03-03,Tuesday,\"Dinner, late\",rice,,",
+                "");
+
+        // When
+        MealPlanImportService.ImportReport report = importPlan(MealPlanImportService.Format.CSV, csv, 5000);
+
+        // Then
+        assertTrue(report.completed());
+        assertEquals(4, report.rowsRead());
+        assertEquals(2, report.daysImported());
+        assertEquals(3, report.mealsImported());
+        assertEquals(4, report.foodsImported());
+        assertEquals(0, report.rowsRejected());
+
+        Map<String, Object> monday = jdbcTemplate.queryForMap("SELECT * FROM days WHERE day_name = 'Monday'");
+        assertEquals(1L, ((Number) monday.get("athlete_id")).longValue());
+        assertEquals(0, ((Number) monday.get("version")).intValue());
+        assertEquals(9.5, ((Number) monday.get("total_prot")).doubleValue(), 1e-9);
+        assertEquals(82.0, ((Number) monday.get("total_carb")).doubleValue(), 1e-9);
+        assertEquals(370, ((Number) monday.get("total_kcal")).intValue());
+
+        assertEquals(List.of("Breakfast", "Lunch", "Dinner, late"),
+                jdbcTemplate.queryForList("SELECT name FROM meals ORDER BY id", String.class));
+        assertEquals(List.of(100, 200, 100, 1),
+                jdbcTemplate.queryForList("SELECT quantity FROM foods ORDER BY id", Integer.class));
+        assertEquals(7.5, jdbcTemplate.queryForObject(
+                "SELECT total_prot FROM meals WHERE name = 'Breakfast'", Double.class), 1e-9);
+
+        // Each name is looked up once, however many rows use it
+        verify(foodCategoryRepository).findByName("potato");
+        verify(foodCategoryRepository).findByName("rice");
+    }
+
+    @Test
+    void importPlan_WithInvalidRows_ShouldReportThemAndImportTheRest() throws Exception {
+        // Given
+        stubCategories();
+        when(foodCategoryRepository.findByName("pizza")).thenReturn(Optional.empty());
+        String csv = String.join("\n",
+                "date,meal,category,quantity",
+                "2026-03-02,Lunch,potato,100",
+                "03/02/2026,Lunch,potato,100",
+                "2026-03-02,Lunch,pizza,100",
+                "2026-03-02,Lunch,potato,-5",
+                "2026-03-02,,potato,100",
+                "2026-03-02,Lunch,rice,50");
+
+        // When
+        MealPlanImportService.ImportReport report = importPlan(MealPlanImportService.Format.CSV, csv, 5000);
+
+        // Then
+        assertTrue(report.completed());
+        assertEquals(6, report.rowsRead());
+        assertEquals(4, report.rowsRejected());
+        assertEquals(List.of(
+                new MealPlanImportService.RowError(3, "date must be YYYY-MM-DD, got: 03/02/2026"),
+                new MealPlanImportService.RowError(4, "Unknown food category: pizza"),
+                new MealPlanImportService.RowError(5, "quantity must be a positive whole number, got: -5"),
+                new MealPlanImportService.RowError(6, "meal is required")), report.errors());
+        assertEquals(1, report.daysImported());
+        assertEquals(1, report.mealsImported());
+        assertEquals(2, report.foodsImported());
+        assertNull(jdbcTemplate.queryForObject("SELECT day_name FROM days", String.class));
+    }
+
+    @Test
+    void importPlan_FromExportedNdjson_ShouldSkipDayAndMealLinesAndCommitInChunks() throws Exception {
+        // Given
+        stubCategories();
+        String ndjson = String.join("\n",
+                "{\"type\":\"day\",\"date\":\"2026-03-02\",\"day\":\"Monday\",\"prot\":4.0,\"carb\":36.0,\"fat\":0.2,\"kcal\":160}",
+                "{\"type\":\"meal\",\"date\":\"2026-03-02\",\"day\":\"Monday\",\"meal_id\":10,\"meal\":\"Lunch\"}",
+                "{\"type\":\"food\",\"date\":\"2026-03-02\",\"day\":\"Monday\",\"meal_id\":10,\"meal\":\"Lunch\","
+                        + "\"food_id\":100,\"category_id\":1,\"category\":\"potato\",\"quantity\":200}",
+                "{\"date\":\"2026-03-01\",\"day\":\"Sunday\",\"meal\":\"Lunch\",\"category\":\"rice\",\"quantity\":100}",
+                "{\"date\":\"2026-02-28\",\"day\":\"Saturday\",\"meal\":\"Lunch\",\"category\":\"rice\",\"quantity\":100}");
+
+        // When
+        MealPlanImportService.ImportReport report = importPlan(MealPlanImportService.Format.JSON, ndjson, 1);
+
+        // Then
+        assertTrue(report.completed());
+        assertEquals(5, report.rowsRead());
+        assertEquals(2, report.rowsSkipped());
+        assertEquals(3, report.daysImported());
+        assertEquals(3, report.foodsImported());
+        // Pooled sequences: nextval 1 stands for id 1 alone, nextval 51 for ids 2..51
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L), jdbcTemplate.queryForList(
+                "SELECT id FROM days UNION ALL SELECT id FROM meals ORDER BY 1", Long.class));
+        assertEquals(List.of(1L, 2L, 3L), jdbcTemplate.queryForList("SELECT id FROM foods ORDER BY id", Long.class));
+        assertEquals(List.of(160), jdbcTemplate.queryForList(
+                "SELECT total_kcal FROM days WHERE day_name = 'Monday'", Integer.class));
+    }
+
+    @Test
+    void importPlan_WithMalformedJson_ShouldKeepTheCompleteDaysAndReportTheFailure() throws Exception {
+        // Given
+        stubCategories();
+        String json = "[{\"date\":\"2026-03-01\",\"meal\":\"Lunch\",\"category\":\"rice\",\"quantity\":100},"
+                + "{\"date\":\"2026-03-02\",\"meal\":\"Lunch\",\"category\":\"rice\",\"quantity\":100},"
+                + "{\"date\":\"2026-03-02\",\"meal\":";
+
+        // When
+        MealPlanImportService.ImportReport report = importPlan(MealPlanImportService.Format.JSON, json, 5000);
+
+        // Then
+        assertFalse(report.completed());
+        assertTrue(report.failure().startsWith("Unreadable input after row 2: "), report.failure());
+        // 2026-03-02 may have more rows after the broken one, so only the first day goes in
+        assertEquals(1, report.daysImported());
+        assertEquals(List.of("2026-03-01"), jdbcTemplate.queryForList("SELECT CAST(date AS VARCHAR) FROM days", String.class));
+    }
+
+    @Test
+    void importPlan_WithDayNameTheAthleteAlreadyHas_ShouldRejectItsRows() throws Exception {
+        // Given
+        stubCategories();
+        jdbcTemplate.update("INSERT INTO days VALUES (900, 0, DATE '2026-02-23', 'Monday', 1, 0, 0, 0, 0)");
+        jdbcTemplate.update("INSERT INTO days VALUES (901, 0, DATE '2026-02-23', 'Tuesday', 2, 0, 0, 0, 0)");
+        String csv = String.join("\n",
+                "date,day,meal,category,quantity",
+                "2026-03-02,Monday,Lunch,potato,100",
+                "2026-03-02,Monday,Dinner,rice,100",
+                "2026-03-03,Tuesday,Lunch,rice,100");
+
+        // When
+        MealPlanImportService.ImportReport report = importPlan(MealPlanImportService.Format.CSV, csv, 5000);
+
+        // Then - another athlete's Tuesday does not count
+        assertEquals(2, report.rowsRejected());
+        assertEquals(List.of(
+                new MealPlanImportService.RowError(2, "The athlete already has a day named Monday (rows of a day must be adjacent)"),
+                new MealPlanImportService.RowError(3, "The athlete already has a day named Monday (rows of a day must be adjacent)")),
+                report.errors());
+        assertEquals(1, report.daysImported());
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM days WHERE athlete_id = 1 AND day_name = 'Monday'", Integer.class));
+    }
+
+    @Test
+    void importPlan_WithDayNameUsedEarlierInTheFile_ShouldRejectTheLaterDay() throws Exception {
+        // Given
+        stubCategories();
+        String csv = String.join("\n",
+                "date,day,meal,category,quantity",
+                "2026-03-02,Monday,Lunch,potato,100",
+                "2026-03-03,Tuesday,Lunch,rice,100",
+                "2026-03-09,Monday,Lunch,rice,100",
+                "2026-03-02,Monday,Dinner,potato,100");
+
+        // When
+        MealPlanImportService.ImportReport report = importPlan(MealPlanImportService.Format.CSV, csv, 5000);
+
+        // Then
+        assertEquals(2, report.rowsRejected());
+        assertEquals(List.of(4L, 5L), report.errors().stream().map(MealPlanImportService.RowError::row).toList());
+        assertEquals(2, report.daysImported());
+        assertEquals(List.of("Monday", "Tuesday"), jdbcTemplate.queryForList(
+                "SELECT day_name FROM days ORDER BY id", String.class));
+    }
+
+    @Test
+    void importPlan_WithNonAdjacentRowsOfOneMeal_ShouldImportOneMeal() throws Exception {
+        // Given
+        stubCategories();
+        String csv = String.join("\n",
+                "date,day,meal,category,quantity",
+                "2026-03-02,Monday,Lunch,potato,100",
+                "2026-03-02,Monday,Snack,rice,100",
+                "2026-03-02,Monday,Lunch,rice,100");
+
+        // When
+        MealPlanImportService.ImportReport report = importPlan(MealPlanImportService.Format.CSV, csv, 5000);
+
+        // Then
+        assertEquals(0, report.rowsRejected());
+        assertEquals(2, report.mealsImported());
+        assertEquals(3, report.foodsImported());
+        assertEquals(List.of("Lunch", "Snack"),
+                jdbcTemplate.queryForList("SELECT name FROM meals ORDER BY id", String.class));
+        assertEquals(210, jdbcTemplate.queryForObject(
+                "SELECT total_kcal FROM meals WHERE name = 'Lunch'", Integer.class));
+    }
+
+    @Test
+    void importPlan_WithoutCategoryColumn_ShouldThrowBeforeWriting() {
+        // Given
+        String csv = "date,meal,food\n2026-03-02,Lunch,potato\n";
+
+        // When
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> importPlan(MealPlanImportService.Format.CSV, csv, 5000));
+
+        // Then
+        assertTrue(e.getMessage().startsWith("Missing column: category"), e.getMessage());
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM days", Integer.class));
+        verify(foodCategoryRepository, never()).findByName(anyString());
+    }
+
+    @Test
+    void parse_WithUnknownFormat_ShouldThrow() {
+        assertEquals(MealPlanImportService.Format.JSON, MealPlanImportService.Format.parse("NDJSON"));
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> MealPlanImportService.Format.parse("xlsx"));
+        assertEquals("Unsupported import format: xlsx (use csv, json or ndjson)", e.getMessage());
+    }
+
+    private void stubCategories() {
+        FoodCategory potato = new FoodCategory("potato", 2.0, 18.0, 0.1, 80.0);
+        potato.setId(1L);
+        FoodCategory rice = new FoodCategory("rice", 3.5, 28.0, 0.3, 130.0);
+        rice.setId(2L);
+        lenient().when(foodCategoryRepository.findByName("potato")).thenReturn(Optional.of(potato));
+        lenient().when(foodCategoryRepository.findByName("rice")).thenReturn(Optional.of(rice));
+    }
+
+    private MealPlanImportService.ImportReport importPlan(
+            MealPlanImportService.Format format, String content, int chunkSize) throws Exception {
+        MealPlanImportService importService =
+                new MealPlanImportService(dataSource, foodCategoryRepository, new ObjectMapper(), chunkSize);
+        return importService.importPlan(1L, format, new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,109 @@
+package org.example.service;
+
+import org.example.foodcategories.FoodCategory;
+import org.example.model.Day;
+import org.example.model.Food;
+import org.example.model.Meal;
+import org.example.nutrition.MacroProfile;
+import org.example.repository.DayRepository;
+import org.example.repository.MealRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NutritionServiceTest {
+
+    @Mock
+    private MealRepository mealRepo;
+
+    @Mock
+    private DayRepository dayRepo;
+
+    @InjectMocks
+    private NutritionService nutritionService;
+
+    private FoodCategory potato;
+    private FoodCategory beef;
+    private Day day;
+    private Meal lunch;
+    private Meal dinner;
+
+    @BeforeEach
+    void setUp() {
+        potato = new FoodCategory("potato", 2.0, 18.0, 0.1, 80.0);
+        potato.setId(1L);
+
+        beef = new FoodCategory("beef", 26.0, 0.0, 10.0, 260.0);
+        beef.setId(2L);
+
+        day = new Day();
+        day.setId(1L);
+        lunch = new Meal("Lunch", day);
+        lunch.setId(10L);
+        dinner = new Meal("Dinner", day);
+        dinner.setId(11L);
+    }
+
+    @Test
+    void foodAdded_ShouldAddToMealAndDayTotalsInSql() {
+        // When
+        nutritionService.foodAdded(new Food(200, lunch, 1L), potato);
+        nutritionService.foodAdded(new Food(100, dinner, 2L), beef);
+
+        // Then
+        verify(mealRepo).addToTotals(10L, 4.0, 36.0, 0.2, 160);
+        verify(mealRepo).addToTotals(11L, 26.0, 0.0, 10.0, 260);
+        verify(dayRepo).addToTotals(1L, 4.0, 36.0, 0.2, 160);
+        verify(dayRepo).addToTotals(1L, 26.0, 0.0, 10.0, 260);
+    }
+
+    @Test
+    void foodAdded_ShouldLeaveTheLoadedEntitiesUnchanged() {
+        // When
+        nutritionService.foodAdded(new Food(200, lunch, 1L), potato);
+
+        // Then: a changed Day would bump its version on flush
+        assertEquals(0.0, lunch.getTotals().getProtein());
+        assertEquals(0, day.getTotals().getKcal());
+    }
+
+    @Test
+    void foodRemoved_ShouldSubtractFromMealAndDayTotalsInSql() {
+        // When
+        nutritionService.foodRemoved(new Food(100, lunch, 1L), potato);
+
+        // Then
+        verify(mealRepo).addToTotals(10L, -2.0, -18.0, -0.1, -80);
+        verify(dayRepo).addToTotals(1L, -2.0, -18.0, -0.1, -80);
+    }
+
+    @Test
+    void foodAdded_WithDeletedCategory_ShouldCountItAsZero() {
+        // When
+        nutritionService.foodAdded(new Food(100, lunch, 99L), null);
+
+        // Then
+        verify(mealRepo).addToTotals(10L, 0.0, 0.0, 0.0, 0);
+        verify(dayRepo).addToTotals(1L, 0.0, 0.0, 0.0, 0);
+    }
+
+    @Test
+    void mealRemoved_ShouldSubtractMealTotalsFromDay() {
+        // Given
+        lunch.getTotals().add(MacroProfile.of(potato), 200);
+
+        // When
+        nutritionService.mealRemoved(lunch);
+
+        // Then
+        verify(dayRepo).addToTotals(1L, -4.0, -36.0, -0.2, -160);
+        verifyNoInteractions(mealRepo);
+    }
+}
@@ -10,7 +10,9 @@ import org.springframework.boot.autoconfigure.domain.EntityScan;
         "org.example.controller",
         "org.example.service",
         "org.example.repository",
-        "org.example.foodcategories"
+        "org.example.foodcategories",
+        "org.example.nutrition",
+        "org.example.observability"
     }
 )
 @EntityScan(
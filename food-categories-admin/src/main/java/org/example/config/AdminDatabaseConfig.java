@@ -15,6 +15,7 @@ import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 import org.springframework.retry.annotation.EnableRetry;
+import org.example.observability.QueryObservability;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -53,6 +54,13 @@ public class AdminDatabaseConfig {
     @Value("${spring.datasource.password}")
     private String foodCategoriesDbPassword;
 
+    // Query observability: Hibernate statistics (see /actuator/queries) and slow-query log
+    @Value("${app.query-observability.statistics:false}")
+    private boolean queryStatistics;
+
+    @Value("${app.query-observability.slow-query-ms:0}")
+    private long slowQueryMillis;
+
     // Primary DataSource (for coaches authentication and main app entities)
     @Primary
     @Bean(name = "primaryDataSource")
@@ -123,8 +131,9 @@ public class AdminDatabaseConfig {
         properties.put("hibernate.dialect", primaryDbUrl.startsWith("jdbc:h2:") ? 
             "org.hibernate.dialect.H2Dialect" : "org.hibernate.dialect.PostgreSQLDialect");
         properties.put("hibernate.hbm2ddl.auto", "create-drop");
-        properties.put("hibernate.show_sql", "true");
+        properties.put("hibernate.show_sql", "false");
         properties.put("hibernate.temp.use_jdbc_metadata_defaults", "false");
+        properties.putAll(QueryObservability.hibernateProperties(queryStatistics, slowQueryMillis));
         
         return builder
                 .dataSource(primaryDataSource)
@@ -144,8 +153,9 @@ public class AdminDatabaseConfig {
         properties.put("hibernate.dialect", foodCategoriesDbUrl.startsWith("jdbc:h2:") ? 
             "org.hibernate.dialect.H2Dialect" : "org.hibernate.dialect.PostgreSQLDialect");
         properties.put("hibernate.hbm2ddl.auto", "create-drop");
-        properties.put("hibernate.show_sql", "true");
+        properties.put("hibernate.show_sql", "false");
         properties.put("hibernate.temp.use_jdbc_metadata_defaults", "false");
+        properties.putAll(QueryObservability.hibernateProperties(queryStatistics, slowQueryMillis));
         
         return builder
                 .dataSource(foodCategoriesDataSource)
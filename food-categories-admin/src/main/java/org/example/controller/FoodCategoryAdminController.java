@@ -1,7 +1,12 @@
 package org.example.controller;
 
 import org.example.foodcategories.FoodCategory;
+import org.example.foodcategories.FoodCategoryCache;
+import org.example.foodcategories.FoodCategoryReplica;
+import org.example.nutrition.MacroTotalsRecalculator;
 import org.example.repository.foodcategories.FoodCategoryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -15,10 +20,20 @@ import java.util.Optional;
 @Controller
 @RequestMapping("/admin/food-categories")
 public class FoodCategoryAdminController {
+    private static final Logger logger = LoggerFactory.getLogger(FoodCategoryAdminController.class);
 
     @Autowired
     private FoodCategoryRepository foodCategoryRepository;
 
+    @Autowired
+    private FoodCategoryCache foodCategoryCache;
+
+    @Autowired
+    private FoodCategoryReplica foodCategoryReplica;
+
+    @Autowired
+    private MacroTotalsRecalculator macroTotalsRecalculator;
+
     @GetMapping
     public String listFoodCategories(Model model) {
         model.addAttribute("foodCategories", foodCategoryRepository.findAll());
@@ -38,7 +53,9 @@ public class FoodCategoryAdminController {
         }
         
         try {
-            foodCategoryRepository.save(foodCategory);
+            FoodCategory savedCategory = foodCategoryRepository.save(foodCategory);
+            foodCategoryCache.evict(savedCategory.getId());
+            replicate(savedCategory);
             redirectAttributes.addFlashAttribute("successMessage", 
                 "Food category '" + foodCategory.getName() + "' created successfully!");
         } catch (Exception e) {
@@ -75,7 +92,12 @@ public class FoodCategoryAdminController {
         
         try {
             foodCategory.setId(id);
-            foodCategoryRepository.save(foodCategory);
+            FoodCategory savedCategory = foodCategoryRepository.save(foodCategory);
+            foodCategoryCache.evict(id);
+            // The tracker's copy first, so that the recomputation below sees the new macros
+            replicate(savedCategory);
+            // Meals and days using this category carry persisted totals
+            recomputeTotals(id);
             redirectAttributes.addFlashAttribute("successMessage", 
                 "Food category updated successfully!");
         } catch (Exception e) {
@@ -92,6 +114,9 @@ public class FoodCategoryAdminController {
             Optional<FoodCategory> foodCategory = foodCategoryRepository.findById(id);
             if (foodCategory.isPresent()) {
                 foodCategoryRepository.deleteById(id);
+                foodCategoryCache.evict(id);
+                removeReplica(id);
+                recomputeTotals(id);
                 redirectAttributes.addFlashAttribute("successMessage", 
                     "Food category '" + foodCategory.get().getName() + "' deleted successfully!");
             } else {
@@ -104,4 +129,33 @@ public class FoodCategoryAdminController {
         
         return "redirect:/admin/food-categories";
     }
-} 
\ No newline at end of file
+
+    // The steps below run once the category change is committed, so a failure
+    // is logged rather than reported: the edit itself is saved. The replica
+    // catches up on the tracker's next sync poll; totals stay stale until the
+    // category is saved again.
+
+    private void replicate(FoodCategory foodCategory) {
+        try {
+            foodCategoryReplica.replicate(foodCategory);
+        } catch (Exception e) {
+            logger.error("Failed to replicate food category {}: {}", foodCategory.getId(), e.getMessage(), e);
+        }
+    }
+
+    private void removeReplica(Long id) {
+        try {
+            foodCategoryReplica.remove(id);
+        } catch (Exception e) {
+            logger.error("Failed to remove food category {} from the replica: {}", id, e.getMessage(), e);
+        }
+    }
+
+    private void recomputeTotals(Long id) {
+        try {
+            macroTotalsRecalculator.recomputeForCategory(id);
+        } catch (Exception e) {
+            logger.error("Failed to recompute meal and day totals for food category {}: {}", id, e.getMessage(), e);
+        }
+    }
+}
@@ -1,10 +1,14 @@
 package org.example.controller;
 
 import org.example.foodcategories.FoodCategory;
+import org.example.foodcategories.FoodCategoryCache;
+import org.example.foodcategories.FoodCategoryReplica;
+import org.example.nutrition.MacroTotalsRecalculator;
 import org.example.repository.foodcategories.FoodCategoryRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -30,6 +34,15 @@ class FoodCategoryAdminControllerTest {
     @Mock
     private FoodCategoryRepository foodCategoryRepository;
 
+    @Mock
+    private FoodCategoryCache foodCategoryCache;
+
+    @Mock
+    private FoodCategoryReplica foodCategoryReplica;
+
+    @Mock
+    private MacroTotalsRecalculator macroTotalsRecalculator;
+
     @Mock
     private Model model;
 
@@ -87,6 +100,8 @@ class FoodCategoryAdminControllerTest {
         // Then
         assertEquals("redirect:/admin/food-categories", result);
         verify(foodCategoryRepository).save(testFoodCategory);
+        verify(foodCategoryCache).evict(1L);
+        verify(foodCategoryReplica).replicate(testFoodCategory);
         verify(redirectAttributes).addFlashAttribute("successMessage", 
             "Food category 'Apple' created successfully!");
     }
@@ -123,6 +138,23 @@ class FoodCategoryAdminControllerTest {
             "Error creating food category: Database error");
     }
 
+    @Test
+    void createFoodCategory_WithReplicationException_ShouldStillReportSuccess() {
+        // Given
+        when(bindingResult.hasErrors()).thenReturn(false);
+        when(foodCategoryRepository.save(testFoodCategory)).thenReturn(testFoodCategory);
+        doThrow(new RuntimeException("Replica down")).when(foodCategoryReplica).replicate(testFoodCategory);
+
+        // When
+        String result = controller.createFoodCategory(testFoodCategory, bindingResult, model, redirectAttributes);
+
+        // Then
+        assertEquals("redirect:/admin/food-categories", result);
+        verify(redirectAttributes).addFlashAttribute("successMessage", 
+            "Food category 'Apple' created successfully!");
+        verify(redirectAttributes, never()).addFlashAttribute(eq("errorMessage"), anyString());
+    }
+
     @Test
     void editFoodCategory_WithValidId_ShouldReturnEditView() {
         // Given
@@ -167,6 +199,10 @@ class FoodCategoryAdminControllerTest {
         assertEquals("redirect:/admin/food-categories", result);
         assertEquals(categoryId, testFoodCategory.getId());
         verify(foodCategoryRepository).save(testFoodCategory);
+        verify(foodCategoryCache).evict(categoryId);
+        InOrder inOrder = inOrder(foodCategoryReplica, macroTotalsRecalculator);
+        inOrder.verify(foodCategoryReplica).replicate(testFoodCategory);
+        inOrder.verify(macroTotalsRecalculator).recomputeForCategory(categoryId);
         verify(redirectAttributes).addFlashAttribute("successMessage", "Food category updated successfully!");
     }
 
@@ -202,6 +238,41 @@ class FoodCategoryAdminControllerTest {
             "Error updating food category: Update failed");
     }
 
+    @Test
+    void updateFoodCategory_WithReplicationException_ShouldStillRecomputeAndReportSuccess() {
+        // Given
+        Long categoryId = 1L;
+        when(bindingResult.hasErrors()).thenReturn(false);
+        when(foodCategoryRepository.save(testFoodCategory)).thenReturn(testFoodCategory);
+        doThrow(new RuntimeException("Replica down")).when(foodCategoryReplica).replicate(testFoodCategory);
+
+        // When
+        String result = controller.updateFoodCategory(categoryId, testFoodCategory, bindingResult, model, redirectAttributes);
+
+        // Then
+        assertEquals("redirect:/admin/food-categories", result);
+        verify(macroTotalsRecalculator).recomputeForCategory(categoryId);
+        verify(redirectAttributes).addFlashAttribute("successMessage", "Food category updated successfully!");
+        verify(redirectAttributes, never()).addFlashAttribute(eq("errorMessage"), anyString());
+    }
+
+    @Test
+    void updateFoodCategory_WithRecomputeException_ShouldStillReportSuccess() {
+        // Given
+        Long categoryId = 1L;
+        when(bindingResult.hasErrors()).thenReturn(false);
+        when(foodCategoryRepository.save(testFoodCategory)).thenReturn(testFoodCategory);
+        doThrow(new RuntimeException("Timeout")).when(macroTotalsRecalculator).recomputeForCategory(categoryId);
+
+        // When
+        String result = controller.updateFoodCategory(categoryId, testFoodCategory, bindingResult, model, redirectAttributes);
+
+        // Then
+        assertEquals("redirect:/admin/food-categories", result);
+        verify(foodCategoryReplica).replicate(testFoodCategory);
+        verify(redirectAttributes).addFlashAttribute("successMessage", "Food category updated successfully!");
+    }
+
     @Test
     void deleteFoodCategory_WithValidId_ShouldDeleteAndRedirect() {
         // Given
@@ -214,6 +285,26 @@ class FoodCategoryAdminControllerTest {
         // Then
         assertEquals("redirect:/admin/food-categories", result);
         verify(foodCategoryRepository).deleteById(categoryId);
+        verify(foodCategoryCache).evict(categoryId);
+        verify(foodCategoryReplica).remove(categoryId);
+        verify(macroTotalsRecalculator).recomputeForCategory(categoryId);
+        verify(redirectAttributes).addFlashAttribute("successMessage", 
+            "Food category 'Apple' deleted successfully!");
+    }
+
+    @Test
+    void deleteFoodCategory_WithReplicaRemovalException_ShouldStillRecomputeAndReportSuccess() {
+        // Given
+        Long categoryId = 1L;
+        when(foodCategoryRepository.findById(categoryId)).thenReturn(Optional.of(testFoodCategory));
+        doThrow(new RuntimeException("Replica down")).when(foodCategoryReplica).remove(categoryId);
+
+        // When
+        String result = controller.deleteFoodCategory(categoryId, redirectAttributes);
+
+        // Then
+        assertEquals("redirect:/admin/food-categories", result);
+        verify(macroTotalsRecalculator).recomputeForCategory(categoryId);
         verify(redirectAttributes).addFlashAttribute("successMessage", 
             "Food category 'Apple' deleted successfully!");
     }
@@ -0,0 +1,65 @@
+// k6 load test: concurrent coaches browsing an athlete's plan through the dashboard API.
+//
+//   k6 run -e BASE_URL=http://localhost:8080 -e VUS=1000 load-tests/coach-dashboard.js
+//
+// Run it once against the default (platform threads) and once with the
+// virtual-threads profile, then compare http_reqs (throughput) and the
+// p(99) of http_req_duration in the two summaries.
+import http from 'k6/http';
+import { check, fail } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const USERNAME = __ENV.USERNAME || 'Mathieu';
+const PASSWORD = __ENV.PASSWORD || 'Mathieu';
+const ATHLETE_ID = __ENV.ATHLETE_ID || '1';
+
+export const options = {
+    scenarios: {
+        coaches: {
+            executor: 'ramping-vus',
+            startVUs: 0,
+            stages: [
+                { duration: __ENV.RAMP_UP || '30s', target: Number(__ENV.VUS || 1000) },
+                { duration: __ENV.DURATION || '2m', target: Number(__ENV.VUS || 1000) },
+                { duration: '10s', target: 0 },
+            ],
+        },
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+    thresholds: {
+        http_req_failed: ['rate<0.01'],
+    },
+};
+
+// Form login once per virtual user; the session cookie is kept for its later iterations
+function login() {
+    const page = http.get(`${BASE_URL}/login`);
+    const csrf = page.html().find('input[name=_csrf]').attr('value');
+    const res = http.post(`${BASE_URL}/login`, { username: USERNAME, password: PASSWORD, _csrf: csrf },
+        { tags: { name: 'login' } });
+    if (!check(res, { 'logged in': (r) => r.status === 200 && !r.url.includes('/login') })) {
+        fail('login failed');
+    }
+}
+
+function getJson(path, name) {
+    const res = http.get(`${BASE_URL}${path}`, { tags: { name } });
+    check(res, { [`${name} 200`]: (r) => r.status === 200 });
+    return res.status === 200 ? res.json() : [];
+}
+
+export default function () {
+    if (__ITER === 0) {
+        login();
+    }
+
+    const days = getJson(`/api/athletes/${ATHLETE_ID}/days?limit=8`, 'days');
+    if (days.length > 0) {
+        const meals = getJson(`/api/days/${days[0].id}/meals`, 'meals');
+        if (meals.length > 0) {
+            getJson(`/api/meals/${meals[0].id}/foods`, 'foods');
+        }
+        getJson(`/api/days/${days[0].id}/nutrition`, 'dayNutrition');
+    }
+    getJson(`/api/athletes/${ATHLETE_ID}/nutrition`, 'athleteNutrition');
+}
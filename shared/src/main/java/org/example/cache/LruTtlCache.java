@@ -0,0 +1,126 @@
+package org.example.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Small thread-safe map bounded both in size and in time.
+ *
+ *  • least-recently-used entries are evicted once maxSize is reached
+ *  • entries expire ttlNanos after they were put, and are dropped on the
+ *    next read
+ *  • null keys and values are never stored, so get() returning null always
+ *    means absent or expired
+ */
+public final class LruTtlCache<K, V> {
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LongSupplier clock;
+    private final LongAdder evictions = new LongAdder();
+
+    // Access-ordered so the eldest entry is always the least recently used one
+    private final LinkedHashMap<K, Entry<V>> entries;
+    // Guards entries; a lock rather than a monitor so virtual threads never pin on it
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public LruTtlCache(int maxSize, long ttlNanos, LongSupplier clock) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+        this.maxSize = maxSize;
+        this.ttlNanos = ttlNanos;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > LruTtlCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached value, or null if absent or expired.
+     */
+    public V get(K key) {
+        lock.lock();
+        try {
+            Entry<V> entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (clock.getAsLong() - entry.loadedAt() > ttlNanos) {
+                entries.remove(key);
+                return null;
+            }
+            return entry.value();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Adds or replaces a value and restarts its TTL.
+     */
+    public void put(K key, V value) {
+        if (key == null || value == null) {
+            return;
+        }
+        lock.lock();
+        try {
+            entries.put(key, new Entry<>(value, clock.getAsLong()));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void remove(K key) {
+        lock.lock();
+        try {
+            entries.remove(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void clear() {
+        lock.lock();
+        try {
+            entries.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Number of entries currently held, expired ones included until read.
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int maxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Number of entries dropped so far to stay within maxSize.
+     */
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    private record Entry<V>(V value, long loadedAt) { }
+}
@@ -0,0 +1,149 @@
+package org.example.foodcategories;
+
+import org.example.cache.LruTtlCache;
+import org.example.observability.RequestStatistics;
+import org.example.repository.foodcategories.FoodCategoryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Read-through, size-bounded cache of FoodCategory rows keyed by id.
+ *
+ * Sits in front of FoodCategoryRepository so that nutrition lookups do not
+ * cost one round trip to the food-categories database per food row.
+ *  • least-recently-used entries are evicted once maxSize is reached
+ *  • entries expire after the TTL, which bounds how long another process
+ *    (e.g. the admin app) can see a stale category
+ *  • evict()/clear() must be called by whoever writes categories in-process
+ */
+@Component
+public class FoodCategoryCache {
+    private static final Logger logger = LoggerFactory.getLogger(FoodCategoryCache.class);
+
+    private final FoodCategoryRepository foodCategoryRepository;
+    private final LruTtlCache<Long, FoodCategory> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    @Autowired
+    public FoodCategoryCache(
+            FoodCategoryRepository foodCategoryRepository,
+            @Value("${app.food-category-cache.max-size:1000}") int maxSize,
+            @Value("${app.food-category-cache.ttl-seconds:60}") long ttlSeconds) {
+        this(foodCategoryRepository, maxSize, TimeUnit.SECONDS.toNanos(ttlSeconds), System::nanoTime);
+    }
+
+    FoodCategoryCache(FoodCategoryRepository foodCategoryRepository, int maxSize, long ttlNanos, LongSupplier clock) {
+        this.foodCategoryRepository = foodCategoryRepository;
+        this.entries = new LruTtlCache<>(maxSize, ttlNanos, clock);
+    }
+
+    /**
+     * Returns the category with the given id, loading it from the
+     * food-categories database on a miss. Missing categories are not cached.
+     */
+    public Optional<FoodCategory> findById(Long id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        RequestStatistics.foodCategoriesLookedUp(1);
+
+        FoodCategory cached = entries.get(id);
+        if (cached != null) {
+            hits.increment();
+            return Optional.of(cached);
+        }
+
+        misses.increment();
+        // Load outside the lock: concurrent misses on the same id may both hit
+        // the database, but no caller ever waits on another caller's query.
+        Optional<FoodCategory> loaded = foodCategoryRepository.findById(id);
+        loaded.ifPresent(this::put);
+        return loaded;
+    }
+
+    /**
+     * Resolves several ids at once. Cached ids are served from memory and all
+     * the misses are fetched with a single findAllById. Unknown ids are simply
+     * absent from the returned map.
+     */
+    public Map<Long, FoodCategory> findAllById(Collection<Long> ids) {
+        Map<Long, FoodCategory> result = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        RequestStatistics.foodCategoriesLookedUp(ids.size());
+
+        for (Long id : ids) {
+            if (id == null || result.containsKey(id) || missing.contains(id)) {
+                continue;
+            }
+            FoodCategory cached = entries.get(id);
+            if (cached != null) {
+                hits.increment();
+                result.put(id, cached);
+            } else {
+                missing.add(id);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            misses.add(missing.size());
+            for (FoodCategory category : foodCategoryRepository.findAllById(missing)) {
+                put(category);
+                result.put(category.getId(), category);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Adds or replaces a category, e.g. after it has been loaded in bulk.
+     */
+    public void put(FoodCategory category) {
+        if (category == null) {
+            return;
+        }
+        entries.put(category.getId(), category);
+    }
+
+    /**
+     * Drops a single category so the next lookup reloads it.
+     */
+    public void evict(Long id) {
+        if (id == null) {
+            return;
+        }
+        entries.remove(id);
+        logger.debug("Evicted food category {} from cache", id);
+    }
+
+    /**
+     * Drops every cached category.
+     */
+    public void clear() {
+        entries.clear();
+        logger.debug("Cleared food category cache");
+    }
+
+    public Stats stats() {
+        return new Stats(hits.sum(), misses.sum(), entries.evictions(), entries.size(), entries.maxSize());
+    }
+
+    /**
+     * Point-in-time cache counters.
+     */
+    public record Stats(long hits, long misses, long evictions, int size, int maxSize) { }
+}
@@ -0,0 +1,217 @@
+package org.example.foodcategories;
+
+import org.example.observability.SqlStatementCounter;
+import org.example.repository.foodcategories.FoodCategoryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Read-only copy of the food_categories table inside the primary database
+ * (food_categories_replica), so that nutrition totals are one SQL aggregate
+ * over foods joined with it rather than a per-row join in Java.
+ *  • sync()                - compares the copy with the food-categories database
+ *                            and writes only the differences; polled by the tracker,
+ *                            which also evicts the categories it reports as changed
+ *  • replicate() / remove() - pushed by the admin app right after an edit
+ *  • isFresh()             - whether the last full comparison, by any instance,
+ *                            is recent enough for the copy to be trusted
+ *
+ * Writes go straight to the primary database (never to a read replica), each
+ * call in its own transaction.
+ */
+@Component
+public class FoodCategoryReplica {
+    private static final Logger logger = LoggerFactory.getLogger(FoodCategoryReplica.class);
+
+    // Both take (name, prot, carb, fat, kcal, id)
+    private static final String INSERT =
+            "INSERT INTO food_categories_replica (name, prot, carb, fat, kcal, id) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE =
+            "UPDATE food_categories_replica SET name = ?, prot = ?, carb = ?, fat = ?, kcal = ? WHERE id = ?";
+
+    private final FoodCategoryRepository foodCategoryRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration maxLag;
+    private final Clock clock;
+
+    // Last successful sync() of this instance, for the lag metric
+    private volatile Instant lastSyncedAt;
+
+    // Source rows as of this instance's last successful sync(). The admin app
+    // pushes its edits into the copy itself, so the copy alone cannot tell
+    // what changed since this instance last looked
+    private volatile Map<Long, Row> lastSource;
+
+    public FoodCategoryReplica(
+            FoodCategoryRepository foodCategoryRepository,
+            @Qualifier("primaryDataSource") DataSource primaryDataSource,
+            @Value("${app.food-categories-replica.max-lag-seconds:300}") long maxLagSeconds) {
+        this(foodCategoryRepository, primaryDataSource, Duration.ofSeconds(maxLagSeconds), Clock.systemUTC());
+    }
+
+    FoodCategoryReplica(FoodCategoryRepository foodCategoryRepository, DataSource primaryDataSource,
+                        Duration maxLag, Clock clock) {
+        this.foodCategoryRepository = foodCategoryRepository;
+        DataSource dataSource = new SqlStatementCounter(primaryDataSource, SqlStatementCounter.PRIMARY);
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        this.maxLag = maxLag;
+        this.clock = clock;
+    }
+
+    /**
+     * Brings the whole copy in line with the food-categories database.
+     */
+    public SyncResult sync() {
+        List<FoodCategory> source = foodCategoryRepository.findAll();
+        Instant now = clock.instant();
+        Map<Long, Row> sourceRows = new HashMap<>();
+        for (FoodCategory category : source) {
+            sourceRows.put(category.getId(), Row.of(category));
+        }
+
+        SyncResult result = transactionTemplate.execute(status -> {
+            Map<Long, Row> copy = new HashMap<>();
+            jdbcTemplate.query("SELECT id, name, prot, carb, fat, kcal FROM food_categories_replica",
+                    rs -> {
+                        copy.put(rs.getLong("id"), new Row(
+                                rs.getString("name"),
+                                rs.getObject("prot", Double.class),
+                                rs.getObject("carb", Double.class),
+                                rs.getObject("fat", Double.class),
+                                rs.getObject("kcal", Double.class)));
+                    });
+
+            List<Object[]> inserts = new ArrayList<>();
+            List<Object[]> updates = new ArrayList<>();
+            for (Map.Entry<Long, Row> wanted : sourceRows.entrySet()) {
+                Row existing = copy.remove(wanted.getKey());
+                if (existing == null) {
+                    inserts.add(wanted.getValue().withIdLast(wanted.getKey()));
+                } else if (!existing.equals(wanted.getValue())) {
+                    updates.add(wanted.getValue().withIdLast(wanted.getKey()));
+                }
+            }
+            List<Object[]> deletes = copy.keySet().stream().map(id -> new Object[] {id}).toList();
+
+            jdbcTemplate.batchUpdate(INSERT, inserts);
+            jdbcTemplate.batchUpdate(UPDATE, updates);
+            jdbcTemplate.batchUpdate("DELETE FROM food_categories_replica WHERE id = ?", deletes);
+            markSynced(now);
+            return new SyncResult(inserts.size(), updates.size(), deletes.size(), changedSince(lastSource, sourceRows));
+        });
+
+        lastSyncedAt = now;
+        lastSource = sourceRows;
+        if (result.changed() > 0) {
+            logger.info("Food categories replica updated: {}", result);
+        }
+        return result;
+    }
+
+    /**
+     * Writes one category that was just created or edited.
+     */
+    public void replicate(FoodCategory category) {
+        Object[] values = Row.of(category).withIdLast(category.getId());
+        transactionTemplate.executeWithoutResult(status -> {
+            if (jdbcTemplate.update(UPDATE, values) == 0) {
+                jdbcTemplate.update(INSERT, values);
+            }
+        });
+    }
+
+    /**
+     * Removes one category that was just deleted.
+     */
+    public void remove(Long categoryId) {
+        transactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.update("DELETE FROM food_categories_replica WHERE id = ?", categoryId));
+    }
+
+    /**
+     * True if some instance fully synced the copy within the maximum lag.
+     */
+    public boolean isFresh() {
+        List<Timestamp> syncedAt = jdbcTemplate.queryForList(
+                "SELECT synced_at FROM food_categories_replica_sync WHERE id = 1", Timestamp.class);
+        if (syncedAt.isEmpty() || syncedAt.get(0) == null) {
+            return false;
+        }
+        return Duration.between(syncedAt.get(0).toInstant(), clock.instant()).compareTo(maxLag) <= 0;
+    }
+
+    /**
+     * Time since this instance last synced the copy, or empty if it never did.
+     */
+    public Optional<Duration> lag() {
+        Instant syncedAt = lastSyncedAt;
+        return syncedAt != null ? Optional.of(Duration.between(syncedAt, clock.instant())) : Optional.empty();
+    }
+
+    /**
+     * Ids edited or deleted at the source since the previous snapshot; none on the first sync.
+     */
+    private static Set<Long> changedSince(Map<Long, Row> previous, Map<Long, Row> current) {
+        if (previous == null) {
+            return Set.of();
+        }
+        Set<Long> changed = new TreeSet<>();
+        previous.forEach((id, row) -> {
+            if (!row.equals(current.get(id))) {
+                changed.add(id);
+            }
+        });
+        return changed;
+    }
+
+    private void markSynced(Instant now) {
+        Timestamp syncedAt = Timestamp.from(now);
+        if (jdbcTemplate.update("UPDATE food_categories_replica_sync SET synced_at = ? WHERE id = 1", syncedAt) == 0) {
+            jdbcTemplate.update("INSERT INTO food_categories_replica_sync (id, synced_at) VALUES (1, ?)", syncedAt);
+        }
+    }
+
+    private record Row(String name, Double prot, Double carb, Double fat, Double kcal) {
+
+        static Row of(FoodCategory category) {
+            return new Row(category.getName(), category.getProt(), category.getCarb(), category.getFat(), category.getKcal());
+        }
+
+        Object[] withIdLast(Long id) {
+            return new Object[] {name, prot, carb, fat, kcal, id};
+        }
+    }
+
+    /**
+     * How many rows of the copy one sync() inserted, updated and deleted, and
+     * which categories were edited or deleted at the source since this
+     * instance's previous sync() (whoever wrote them to the copy).
+     */
+    public record SyncResult(int inserted, int updated, int deleted, Set<Long> changedIds) {
+
+        public int changed() {
+            return inserted + updated + deleted;
+        }
+    }
+}
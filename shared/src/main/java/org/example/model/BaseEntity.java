@@ -5,8 +5,11 @@ import jakarta.persistence.*;
 @MappedSuperclass
 public abstract class BaseEntity {
 
+    // One pooled sequence shared by every BaseEntity table: Hibernate reserves
+    // 50 ids per round trip, which lets it batch inserts (IDENTITY cannot)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "base_entity_seq")
+    @SequenceGenerator(name = "base_entity_seq", sequenceName = "base_entity_seq", allocationSize = 50)
     private Long id;
 
     @Version
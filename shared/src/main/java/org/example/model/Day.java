@@ -1,12 +1,19 @@
 package org.example.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "days")
+@Table(name = "days", indexes = {
+        // Keyset pagination of an athlete's days, see DayRepository.findPageByAthleteId
+        @Index(name = "idx_days_athlete_date_id", columnList = "athlete_id, date DESC, id")
+})
+// Only changed columns are written: a rename must not overwrite the totals,
+// which NutritionService updates with relative SQL UPDATEs
+@DynamicUpdate
 public class Day extends BaseEntity {
 
     @Column(nullable = false)
@@ -22,6 +29,9 @@ public class Day extends BaseEntity {
     @OneToMany(mappedBy = "day", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Meal> meals = new ArrayList<>();
 
+    @Embedded
+    private MacroTotals totals = new MacroTotals();
+
     // Constructors
 
     public Day() { }
@@ -74,6 +84,16 @@ public class Day extends BaseEntity {
         this.meals = meals;
     }
 
+    /**
+     * Persisted nutrition totals of all foods of this day.
+     */
+    public MacroTotals getTotals() {
+        if (totals == null) {
+            totals = new MacroTotals();
+        }
+        return totals;
+    }
+
     // Relationship helper methods
 
     public void addMeal(Meal meal) {
@@ -90,6 +110,6 @@ public class Day extends BaseEntity {
         }
     }
 
-    // NOTE: Nutrition calculation methods removed - they're now handled in the controller
-    // with access to the FoodCategoryRepository for cross-database lookups
+    // NOTE: Nutrition totals are persisted (see MacroTotals) and maintained by the
+    // tracker on food writes, since food categories live in another database
 }
@@ -0,0 +1,104 @@
+package org.example.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import org.example.nutrition.MacroAccumulator;
+import org.example.nutrition.MacroProfile;
+import org.example.nutrition.NutritionRounding;
+
+/**
+ * Persisted protein/carb/fat/kcal totals of a Meal or a Day.
+ *
+ * Kept up to date incrementally on every food write, with the same rounding
+ * policy as MacroAccumulator (sum of per-row rounded values), so reads are a
+ * single-row lookup. MacroTotalsRecalculator repairs any drift.
+ */
+@Embeddable
+public class MacroTotals {
+
+    @Column(name = "total_prot", nullable = false)
+    private double protein;
+
+    @Column(name = "total_carb", nullable = false)
+    private double carbs;
+
+    @Column(name = "total_fat", nullable = false)
+    private double fat;
+
+    @Column(name = "total_kcal", nullable = false)
+    private int kcal;
+
+    public MacroTotals() { }
+
+    // --- Incremental updates ---
+
+    /**
+     * Adds one food row of the given quantity (in grams).
+     */
+    public void add(MacroProfile profile, int quantity) {
+        protein = NutritionRounding.grams(protein + profile.protFor(quantity));
+        carbs = NutritionRounding.grams(carbs + profile.carbFor(quantity));
+        fat = NutritionRounding.grams(fat + profile.fatFor(quantity));
+        kcal += profile.kcalFor(quantity);
+    }
+
+    /**
+     * Removes one food row of the given quantity (in grams).
+     */
+    public void subtract(MacroProfile profile, int quantity) {
+        protein = NutritionRounding.grams(protein - profile.protFor(quantity));
+        carbs = NutritionRounding.grams(carbs - profile.carbFor(quantity));
+        fat = NutritionRounding.grams(fat - profile.fatFor(quantity));
+        kcal -= profile.kcalFor(quantity);
+    }
+
+    /**
+     * Removes the totals of another meal, e.g. when a meal is deleted from its day.
+     */
+    public void subtract(MacroTotals other) {
+        protein = NutritionRounding.grams(protein - other.protein);
+        carbs = NutritionRounding.grams(carbs - other.carbs);
+        fat = NutritionRounding.grams(fat - other.fat);
+        kcal -= other.kcal;
+    }
+
+    // --- Full recomputation ---
+
+    /**
+     * Replaces the totals with a freshly computed aggregate.
+     */
+    public void set(MacroAccumulator accumulator) {
+        protein = accumulator.getProtein();
+        carbs = accumulator.getCarbs();
+        fat = accumulator.getFat();
+        kcal = accumulator.getKcal();
+    }
+
+    /**
+     * True if the totals equal a freshly computed aggregate.
+     */
+    public boolean matches(MacroAccumulator accumulator) {
+        return protein == accumulator.getProtein()
+                && carbs == accumulator.getCarbs()
+                && fat == accumulator.getFat()
+                && kcal == accumulator.getKcal();
+    }
+
+    // --- Getters ---
+
+    public double getProtein() {
+        return protein;
+    }
+
+    public double getCarbs() {
+        return carbs;
+    }
+
+    public double getFat() {
+        return fat;
+    }
+
+    public int getKcal() {
+        return kcal;
+    }
+}
@@ -1,11 +1,17 @@
 package org.example.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "meals")
+@Table(name = "meals", indexes = {
+        @Index(name = "idx_meals_day_id", columnList = "day_id, id")
+})
+// Only changed columns are written: a rename must not overwrite the totals,
+// which NutritionService updates with relative SQL UPDATEs
+@DynamicUpdate
 public class Meal extends BaseEntity {
 
     @Column(nullable = false)
@@ -18,6 +24,9 @@ public class Meal extends BaseEntity {
     @OneToMany(mappedBy = "meal", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Food> foods = new ArrayList<>();
 
+    @Embedded
+    private MacroTotals totals = new MacroTotals();
+
     // Constructors
 
     public Meal() { }
@@ -56,6 +65,16 @@ public class Meal extends BaseEntity {
         this.foods = foods;
     }
 
+    /**
+     * Persisted nutrition totals of this meal's foods.
+     */
+    public MacroTotals getTotals() {
+        if (totals == null) {
+            totals = new MacroTotals();
+        }
+        return totals;
+    }
+
     // Relationship helpers
 
     public void addFood(Food food) {
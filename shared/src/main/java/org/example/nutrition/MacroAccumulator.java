@@ -0,0 +1,67 @@
+package org.example.nutrition;
+
+/**
+ * Running protein/carb/fat/kcal totals backed by a primitive double[4].
+ *
+ * add() rounds each row with NutritionRounding before summing it and does not
+ * allocate, so it is safe to call in tight loops over thousands of foods.
+ */
+public final class MacroAccumulator {
+
+    private static final int PROT = 0;
+    private static final int CARB = 1;
+    private static final int FAT = 2;
+    private static final int KCAL = 3;
+
+    private final double[] totals = new double[4];
+
+    /**
+     * An accumulator holding rows that were already rounded and summed elsewhere,
+     * e.g. by the SQL aggregate of FoodRepository.sumNutritionByMealForDays.
+     */
+    public static MacroAccumulator ofSums(double prot, double carb, double fat, double kcal) {
+        MacroAccumulator accumulator = new MacroAccumulator();
+        accumulator.totals[PROT] = prot;
+        accumulator.totals[CARB] = carb;
+        accumulator.totals[FAT] = fat;
+        accumulator.totals[KCAL] = kcal;
+        return accumulator;
+    }
+
+    /**
+     * Adds one food row of the given quantity (in grams).
+     */
+    public void add(MacroProfile profile, int quantity) {
+        totals[PROT] += profile.protFor(quantity);
+        totals[CARB] += profile.carbFor(quantity);
+        totals[FAT] += profile.fatFor(quantity);
+        totals[KCAL] += profile.kcalFor(quantity);
+    }
+
+    /**
+     * Adds the totals of another accumulator, e.g. a meal into its day.
+     */
+    public void add(MacroAccumulator other) {
+        for (int i = 0; i < totals.length; i++) {
+            totals[i] += other.totals[i];
+        }
+    }
+
+    // --- Getters (rounded with the same policy as the rows) ---
+
+    public double getProtein() {
+        return NutritionRounding.grams(totals[PROT]);
+    }
+
+    public double getCarbs() {
+        return NutritionRounding.grams(totals[CARB]);
+    }
+
+    public double getFat() {
+        return NutritionRounding.grams(totals[FAT]);
+    }
+
+    public int getKcal() {
+        return NutritionRounding.kcal(totals[KCAL]);
+    }
+}
@@ -0,0 +1,44 @@
+package org.example.nutrition;
+
+import org.example.foodcategories.FoodCategory;
+
+/**
+ * Per-100 g macros of a food category, unboxed once so that the per-row
+ * math in MacroAccumulator works on primitives only.
+ */
+public record MacroProfile(double prot, double carb, double fat, double kcal) {
+
+    public static final MacroProfile ZERO = new MacroProfile(0.0, 0.0, 0.0, 0.0);
+
+    /**
+     * Builds a profile from a FoodCategory, treating missing values as zero.
+     */
+    public static MacroProfile of(FoodCategory category) {
+        if (category == null) {
+            return ZERO;
+        }
+        return new MacroProfile(
+                category.getProt() != null ? category.getProt() : 0.0,
+                category.getCarb() != null ? category.getCarb() : 0.0,
+                category.getFat() != null ? category.getFat() : 0.0,
+                category.getKcal() != null ? category.getKcal() : 0.0);
+    }
+
+    // --- Rounded values for one food row of the given quantity (in grams) ---
+
+    public double protFor(int quantity) {
+        return NutritionRounding.grams(prot * quantity / 100.0);
+    }
+
+    public double carbFor(int quantity) {
+        return NutritionRounding.grams(carb * quantity / 100.0);
+    }
+
+    public double fatFor(int quantity) {
+        return NutritionRounding.grams(fat * quantity / 100.0);
+    }
+
+    public int kcalFor(int quantity) {
+        return NutritionRounding.kcal(kcal * quantity / 100.0);
+    }
+}
@@ -0,0 +1,193 @@
+package org.example.nutrition;
+
+import org.example.foodcategories.FoodCategory;
+import org.example.foodcategories.FoodCategoryCache;
+import org.example.foodcategories.FoodCategoryReplica;
+import org.example.model.Day;
+import org.example.model.Meal;
+import org.example.repository.DayRepository;
+import org.example.repository.FoodRepository;
+import org.example.repository.MealRepository;
+import org.example.repository.projection.FoodNutritionRow;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Recomputes the persisted meal and day totals (MacroTotals) from the food rows.
+ *
+ * The tracker maintains those totals incrementally on every food write; this
+ * class is the full recomputation behind them:
+ *  • recomputeForCategory() - after a category's macros change in the admin app
+ *  • reconcileAll()         - periodic check of every day, repairing any drift
+ *
+ * Days are processed in chunks, each in its own primary-DB transaction. While
+ * the food_categories_replica copy is fresh (see FoodCategoryReplica), a chunk
+ * is a single SQL aggregate over foods joined with it; otherwise it falls back
+ * to one food-row query and one batched category lookup, summed in Java.
+ *
+ * Food writes change the same totals with relative UPDATEs that leave the
+ * version alone, so a chunk first locks its meal and day rows - meals before
+ * days, the order a food write updates them in - and only then reads the
+ * foods. A food write on those days waits for the chunk to commit and then
+ * adds its change on top of the repaired totals.
+ */
+@Component
+public class MacroTotalsRecalculator {
+    private static final Logger logger = LoggerFactory.getLogger(MacroTotalsRecalculator.class);
+
+    private static final int CHUNK_SIZE = 200;
+
+    private final FoodRepository foodRepo;
+    private final MealRepository mealRepo;
+    private final DayRepository dayRepo;
+    private final FoodCategoryCache foodCategoryCache;
+    private final FoodCategoryReplica foodCategoryReplica;
+    private final TransactionTemplate transactionTemplate;
+
+    public MacroTotalsRecalculator(
+            FoodRepository foodRepo,
+            MealRepository mealRepo,
+            DayRepository dayRepo,
+            FoodCategoryCache foodCategoryCache,
+            FoodCategoryReplica foodCategoryReplica,
+            @Qualifier("primaryTransactionManager") PlatformTransactionManager transactionManager) {
+        this.foodRepo = foodRepo;
+        this.mealRepo = mealRepo;
+        this.dayRepo = dayRepo;
+        this.foodCategoryCache = foodCategoryCache;
+        this.foodCategoryReplica = foodCategoryReplica;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Recomputes every day (and its meals) that uses the given category.
+     * Call it after the category has been saved or deleted and evicted from the cache.
+     */
+    public Result recomputeForCategory(Long categoryId) {
+        List<Long> dayIds = foodRepo.findDayIdsByCategoryId(categoryId);
+        boolean aggregateInDatabase = foodCategoryReplica.isFresh();
+
+        Result result = Result.NONE;
+        for (int from = 0; from < dayIds.size(); from += CHUNK_SIZE) {
+            List<Long> chunk = dayIds.subList(from, Math.min(from + CHUNK_SIZE, dayIds.size()));
+            result = result.plus(recomputeChunk(chunk, aggregateInDatabase));
+        }
+
+        logger.info("Recomputed nutrition totals for food category {}: {}", categoryId, result);
+        return result;
+    }
+
+    /**
+     * Checks the totals of every day and meal against a full recomputation
+     * and repairs the ones that differ.
+     */
+    public Result reconcileAll() {
+        boolean aggregateInDatabase = foodCategoryReplica.isFresh();
+        Result result = Result.NONE;
+        Long afterId = 0L;
+        while (true) {
+            List<Long> chunk = dayRepo.findIdsAfter(afterId, PageRequest.of(0, CHUNK_SIZE));
+            if (chunk.isEmpty()) {
+                break;
+            }
+            result = result.plus(recomputeChunk(chunk, aggregateInDatabase));
+            afterId = chunk.get(chunk.size() - 1);
+        }
+
+        if (result.repaired() > 0) {
+            logger.warn("Nutrition totals reconciliation repaired {} meals and {} days: {}",
+                    result.mealsRepaired(), result.daysRepaired(), result);
+        } else {
+            logger.info("Nutrition totals reconciliation found no drift: {}", result);
+        }
+        return result;
+    }
+
+    private Result recomputeChunk(List<Long> dayIds, boolean aggregateInDatabase) {
+        try {
+            return transactionTemplate.execute(status -> recomputeDays(dayIds, aggregateInDatabase));
+        } catch (PessimisticLockingFailureException e) {
+            // Lock timeout or deadlock with a coach's edit - the next run will check these days again
+            logger.warn("Skipped {} days locked during recomputation: {}", dayIds.size(), e.getMessage());
+            return Result.NONE;
+        }
+    }
+
+    Result recomputeDays(List<Long> dayIds, boolean aggregateInDatabase) {
+        List<Meal> meals = mealRepo.findByDayIdInForUpdate(dayIds);
+        List<Day> days = dayRepo.findAllByIdForUpdate(dayIds);
+        NutritionAggregation aggregation = aggregateInDatabase
+                ? NutritionAggregation.ofMealTotals(foodRepo.sumNutritionByMealForDays(dayIds))
+                : aggregateInMemory(dayIds);
+
+        int mealsRepaired = 0;
+        for (Meal meal : meals) {
+            MacroAccumulator expected = aggregation.forMeal(meal.getId());
+            if (!meal.getTotals().matches(expected)) {
+                meal.getTotals().set(expected);
+                mealsRepaired++;
+            }
+        }
+
+        int daysRepaired = 0;
+        for (Day day : days) {
+            MacroAccumulator expected = aggregation.forDay(day.getId());
+            if (!day.getTotals().matches(expected)) {
+                day.getTotals().set(expected);
+                daysRepaired++;
+            }
+        }
+
+        return new Result(days.size(), meals.size(), daysRepaired, mealsRepaired);
+    }
+
+    private NutritionAggregation aggregateInMemory(List<Long> dayIds) {
+        List<FoodNutritionRow> rows = foodRepo.findNutritionRowsByDayIds(dayIds);
+        return NutritionAggregation.of(rows, resolveProfiles(rows));
+    }
+
+    private Map<Long, MacroProfile> resolveProfiles(List<FoodNutritionRow> rows) {
+        // Resolve every distinct category in one go
+        Set<Long> categoryIds = new HashSet<>();
+        for (FoodNutritionRow row : rows) {
+            categoryIds.add(row.getCategoryId());
+        }
+        Map<Long, MacroProfile> profiles = new HashMap<>();
+        for (Map.Entry<Long, FoodCategory> entry : foodCategoryCache.findAllById(categoryIds).entrySet()) {
+            profiles.put(entry.getKey(), MacroProfile.of(entry.getValue()));
+        }
+        return profiles;
+    }
+
+    /**
+     * How many days and meals were checked, and how many of them had to be repaired.
+     */
+    public record Result(int daysChecked, int mealsChecked, int daysRepaired, int mealsRepaired) {
+
+        static final Result NONE = new Result(0, 0, 0, 0);
+
+        Result plus(Result other) {
+            return new Result(
+                    daysChecked + other.daysChecked,
+                    mealsChecked + other.mealsChecked,
+                    daysRepaired + other.daysRepaired,
+                    mealsRepaired + other.mealsRepaired);
+        }
+
+        int repaired() {
+            return daysRepaired + mealsRepaired;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package org.example.nutrition;
+
+import org.example.repository.projection.FoodNutritionRow;
+import org.example.repository.projection.MealNutritionTotals;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-day and per-meal macro totals summed from a list of food rows, or
+ * from per-meal totals the database already summed.
+ *
+ * Pure in-memory math (no repository access), so that MacroTotalsRecalculator
+ * and the benchmarks run exactly the same aggregation.
+ */
+public final class NutritionAggregation {
+
+    private final Map<Long, MacroAccumulator> byDay = new HashMap<>();
+    private final Map<Long, MacroAccumulator> byMeal = new HashMap<>();
+
+    private NutritionAggregation() {
+    }
+
+    /**
+     * Sums the rows by day and by meal. Rows whose category has no profile
+     * (deleted in the admin app) count as zero.
+     */
+    public static NutritionAggregation of(List<? extends FoodNutritionRow> rows, Map<Long, MacroProfile> profiles) {
+        NutritionAggregation aggregation = new NutritionAggregation();
+        for (FoodNutritionRow row : rows) {
+            MacroProfile profile = profiles.get(row.getCategoryId());
+            if (profile == null) {
+                continue;
+            }
+            aggregation.byDay.computeIfAbsent(row.getDayId(), id -> new MacroAccumulator()).add(profile, row.getQuantity());
+            aggregation.byMeal.computeIfAbsent(row.getMealId(), id -> new MacroAccumulator()).add(profile, row.getQuantity());
+        }
+        return aggregation;
+    }
+
+    /**
+     * Takes per-meal totals already summed in SQL and adds them up by day.
+     */
+    public static NutritionAggregation ofMealTotals(List<? extends MealNutritionTotals> meals) {
+        NutritionAggregation aggregation = new NutritionAggregation();
+        for (MealNutritionTotals meal : meals) {
+            MacroAccumulator totals = MacroAccumulator.ofSums(
+                    valueOf(meal.getProt()), valueOf(meal.getCarb()), valueOf(meal.getFat()), valueOf(meal.getKcal()));
+            aggregation.byMeal.put(meal.getMealId(), totals);
+            aggregation.byDay.computeIfAbsent(meal.getDayId(), id -> new MacroAccumulator()).add(totals);
+        }
+        return aggregation;
+    }
+
+    private static double valueOf(Double sum) {
+        return sum != null ? sum : 0.0;
+    }
+
+    /**
+     * Totals of a day, or zeros if none of the rows belong to it.
+     */
+    public MacroAccumulator forDay(Long dayId) {
+        return byDay.getOrDefault(dayId, new MacroAccumulator());
+    }
+
+    /**
+     * Totals of a meal, or zeros if none of the rows belong to it.
+     */
+    public MacroAccumulator forMeal(Long mealId) {
+        return byMeal.getOrDefault(mealId, new MacroAccumulator());
+    }
+}
@@ -0,0 +1,27 @@
+package org.example.nutrition;
+
+/**
+ * The single rounding policy for everything nutrition-related.
+ *
+ * Every food row is rounded on its own (grams to 0.1 g, energy to whole kcal)
+ * and totals are the sum of those rounded rows, so a meal or day total always
+ * matches what the UI shows when it adds up the rows it lists.
+ */
+public final class NutritionRounding {
+
+    private NutritionRounding() { }
+
+    /**
+     * Rounds a gram amount (protein, carbs, fat) to one decimal place.
+     */
+    public static double grams(double value) {
+        return Math.round(value * 10.0) / 10.0;
+    }
+
+    /**
+     * Rounds an energy amount to a whole kcal.
+     */
+    public static int kcal(double value) {
+        return (int) Math.round(value);
+    }
+}
@@ -0,0 +1,27 @@
+package org.example.observability;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Hibernate settings of the configurable query-observability mode, shared by
+ * the entity manager factories of both apps:
+ *  • statistics       - per-query execution counts and timings, read by QueryStatisticsEndpoint
+ *  • slow-query log   - statements slower than the threshold are logged by org.hibernate.SQL_SLOW
+ */
+public final class QueryObservability {
+
+    private QueryObservability() {
+    }
+
+    /**
+     * @param statistics      whether to collect Hibernate statistics (small per-query overhead)
+     * @param slowQueryMillis log statements slower than this; 0 disables the slow-query log
+     */
+    public static Map<String, Object> hibernateProperties(boolean statistics, long slowQueryMillis) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("hibernate.generate_statistics", String.valueOf(statistics));
+        properties.put("hibernate.log_slow_query", String.valueOf(slowQueryMillis));
+        return properties;
+    }
+}
@@ -0,0 +1,114 @@
+package org.example.observability;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * GET /actuator/queries lists, for the primary and foodCategories persistence
+ * units, the statements with the highest total execution time since startup
+ * (or the last reset). DELETE /actuator/queries resets the statistics, e.g.
+ * before a load test.
+ *
+ * Only populated while Hibernate statistics are enabled
+ * (app.query-observability.statistics=true).
+ */
+@Component
+@Endpoint(id = "queries")
+public class QueryStatisticsEndpoint {
+
+    static final int DEFAULT_LIMIT = 20;
+
+    private final Map<String, Statistics> statisticsByUnit;
+
+    @Autowired
+    public QueryStatisticsEndpoint(
+            @Qualifier("primaryEntityManagerFactory") EntityManagerFactory primary,
+            @Qualifier("foodCategoriesEntityManagerFactory") EntityManagerFactory foodCategories) {
+        this(units(primary.unwrap(SessionFactory.class).getStatistics(),
+                foodCategories.unwrap(SessionFactory.class).getStatistics()));
+    }
+
+    QueryStatisticsEndpoint(Map<String, Statistics> statisticsByUnit) {
+        this.statisticsByUnit = statisticsByUnit;
+    }
+
+    @ReadOperation
+    public Map<String, UnitReport> queries(@Nullable Integer limit) {
+        int top = limit != null && limit > 0 ? limit : DEFAULT_LIMIT;
+        Map<String, UnitReport> reports = new LinkedHashMap<>();
+        statisticsByUnit.forEach((unit, statistics) -> reports.put(unit, report(statistics, top)));
+        return reports;
+    }
+
+    @DeleteOperation
+    public void reset() {
+        statisticsByUnit.values().forEach(Statistics::clear);
+    }
+
+    private static UnitReport report(Statistics statistics, int limit) {
+        List<QueryReport> topByTotalTime = Arrays.stream(statistics.getQueries())
+                .map(query -> QueryReport.of(query, statistics.getQueryStatistics(query)))
+                .sorted(Comparator.comparingLong(QueryReport::totalMillis).reversed())
+                .limit(limit)
+                .toList();
+        return new UnitReport(
+                statistics.isStatisticsEnabled(),
+                statistics.getPrepareStatementCount(),
+                statistics.getQueryExecutionCount(),
+                statistics.getQueryExecutionMaxTimeQueryString(),
+                statistics.getQueryExecutionMaxTime(),
+                topByTotalTime);
+    }
+
+    private static Map<String, Statistics> units(Statistics primary, Statistics foodCategories) {
+        Map<String, Statistics> units = new LinkedHashMap<>();
+        units.put(SqlStatementCounter.PRIMARY, primary);
+        units.put(SqlStatementCounter.FOOD_CATEGORIES, foodCategories);
+        return units;
+    }
+
+    /**
+     * Statistics of one persistence unit.
+     *
+     * @param statementsPrepared JDBC statements prepared, including entity loads and writes
+     * @param queriesExecuted    HQL/JPQL/native query executions
+     */
+    public record UnitReport(
+            boolean statisticsEnabled,
+            long statementsPrepared,
+            long queriesExecuted,
+            String slowestQuery,
+            long slowestQueryMillis,
+            List<QueryReport> topByTotalTime) { }
+
+    /**
+     * Timings of one query string.
+     */
+    public record QueryReport(String query, long executions, long totalMillis, long averageMillis, long maxMillis, long rows) {
+
+        static QueryReport of(String query, QueryStatistics statistics) {
+            return new QueryReport(
+                    query,
+                    statistics.getExecutionCount(),
+                    statistics.getExecutionTotalTime(),
+                    statistics.getExecutionAvgTime(),
+                    statistics.getExecutionMaxTime(),
+                    statistics.getExecutionRowCount());
+        }
+    }
+}
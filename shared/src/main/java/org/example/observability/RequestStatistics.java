@@ -0,0 +1,115 @@
+package org.example.observability;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Work done on behalf of the current request: SQL statements per persistence
+ * unit and food category lookups.
+ *
+ * Filled on the request thread by SqlStatementCounter and FoodCategoryCache,
+ * and read by the request metrics once the request completes. Outside of
+ * begin()/end() (scheduled jobs, startup) nothing is recorded. Work the
+ * request hands to other threads is counted if wrapped with propagate().
+ */
+public final class RequestStatistics {
+
+    private static final ThreadLocal<RequestStatistics> CURRENT = new ThreadLocal<>();
+
+    private final Map<String, Integer> statements = new ConcurrentHashMap<>(4);
+    private final AtomicInteger foodCategoryLookups = new AtomicInteger();
+
+    private RequestStatistics() {
+    }
+
+    /**
+     * Starts recording for the current thread, replacing any previous recording.
+     */
+    public static RequestStatistics begin() {
+        RequestStatistics statistics = new RequestStatistics();
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    /**
+     * Stops recording for the current thread.
+     */
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Wraps a task so that what it does on another thread counts toward the
+     * current thread's recording. Returns the task unchanged when nothing is recorded.
+     */
+    public static Runnable propagate(Runnable task) {
+        RequestStatistics statistics = CURRENT.get();
+        if (statistics == null) {
+            return task;
+        }
+        return () -> {
+            try (Scope ignored = resume(statistics)) {
+                task.run();
+            }
+        };
+    }
+
+    /**
+     * The current thread's recording, or null outside of a request.
+     */
+    public static RequestStatistics current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Records into the given recording, taken with current() on the request
+     * thread, until the scope is closed; for work propagate() cannot wrap,
+     * e.g. a streamed response body. A null recording records nothing.
+     */
+    public static Scope resume(RequestStatistics statistics) {
+        RequestStatistics previous = CURRENT.get();
+        if (statistics != null) {
+            CURRENT.set(statistics);
+        } else {
+            CURRENT.remove();
+        }
+        return () -> {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        };
+    }
+
+    public static void statementExecuted(String persistenceUnit) {
+        RequestStatistics statistics = CURRENT.get();
+        if (statistics != null) {
+            statistics.statements.merge(persistenceUnit, 1, Integer::sum);
+        }
+    }
+
+    public static void foodCategoriesLookedUp(int count) {
+        RequestStatistics statistics = CURRENT.get();
+        if (statistics != null) {
+            statistics.foodCategoryLookups.addAndGet(count);
+        }
+    }
+
+    public int statements(String persistenceUnit) {
+        return statements.getOrDefault(persistenceUnit, 0);
+    }
+
+    public int foodCategoryLookups() {
+        return foodCategoryLookups.get();
+    }
+
+    /**
+     * Ends a resume(); closing never throws.
+     */
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,81 @@
+package org.example.observability;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+
+/**
+ * Counts the SQL statements sent through a DataSource into the current
+ * RequestStatistics, whoever sends them: Hibernate, JdbcTemplate or plain JDBC.
+ *  • every prepareStatement()/prepareCall() counts once, however many times
+ *    (or batch rows) it is then executed
+ *  • on a plain Statement every execute*() and addBatch() counts once
+ *
+ * Wrap the data source each consumer uses (entity manager factory, JdbcTemplate
+ * and its transaction manager alike), under the name of its database.
+ */
+public class SqlStatementCounter extends DelegatingDataSource {
+
+    public static final String PRIMARY = "primary";
+    public static final String FOOD_CATEGORIES = "foodCategories";
+
+    private static final Set<String> PREPARING = Set.of("prepareStatement", "prepareCall");
+    private static final Set<String> EXECUTING = Set.of(
+            "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "addBatch");
+
+    private final String persistenceUnit;
+
+    public SqlStatementCounter(DataSource targetDataSource, String persistenceUnit) {
+        super(targetDataSource);
+        this.persistenceUnit = persistenceUnit;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return counting(Connection.class, obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return counting(Connection.class, obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private <T> T counting(Class<T> type, T target) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    break;
+            }
+            if (type == Connection.class && PREPARING.contains(method.getName())
+                    || type == Statement.class && EXECUTING.contains(method.getName())) {
+                RequestStatistics.statementExecuted(persistenceUnit);
+            }
+            Object result = invoke(method, target, args);
+            if (type == Connection.class && method.getName().equals("createStatement")) {
+                return counting(Statement.class, (Statement) result);
+            }
+            return result;
+        };
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, handler));
+    }
+
+    private static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package org.example.observability;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Pinning diagnostics of the virtual-thread mode.
+ *
+ * A virtual thread that blocks (e.g. on JDBC I/O) while holding a monitor
+ * stays mounted on its carrier thread, and with few carriers the whole app
+ * stalls. This streams the JDK's own jdk.VirtualThreadPinned JFR events
+ * in-process and logs each one longer than the threshold with the frames
+ * that held the carrier. The pins are also counted as jvm.threads.virtual.pinned.
+ *
+ * Only active with spring.threads.virtual.enabled=true.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 12;
+
+    private final Duration threshold;
+    private final Counter pinned;
+    private volatile RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(
+            @Value("${app.virtual-threads.pinned-threshold-ms:20}") long thresholdMillis,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        this.threshold = Duration.ofMillis(thresholdMillis);
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        this.pinned = registry != null
+                ? Counter.builder("jvm.threads.virtual.pinned")
+                        .description("Virtual threads pinned to their carrier longer than the threshold")
+                        .register(registry)
+                : null;
+    }
+
+    @Override
+    public void start() {
+        RecordingStream recording = new RecordingStream();
+        recording.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recording.onEvent(PINNED_EVENT, this::onPinned);
+        recording.startAsync();
+        stream = recording;
+        logger.info("Watching for virtual threads pinned longer than {} ms", threshold.toMillis());
+    }
+
+    @Override
+    public void stop() {
+        RecordingStream recording = stream;
+        stream = null;
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return stream != null;
+    }
+
+    private void onPinned(RecordedEvent event) {
+        if (pinned != null) {
+            pinned.increment();
+        }
+        if (logger.isWarnEnabled()) {
+            logger.warn("Virtual thread pinned for {} ms:\n{}", event.getDuration().toMillis(), frames(event));
+        }
+    }
+
+    private static String frames(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return "\t(no stack trace)";
+        }
+        List<RecordedFrame> frames = event.getStackTrace().getFrames();
+        return frames.stream()
+                .limit(LOGGED_FRAMES)
+                .map(frame -> "\tat " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                        + ":" + frame.getLineNumber())
+                .collect(Collectors.joining("\n"));
+    }
+}
@@ -4,6 +4,7 @@ import org.example.model.Athlete;
 import org.example.model.Coach;
 import org.springframework.data.jpa.repository.JpaRepository;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * JPA repository for Athlete entities.
@@ -11,6 +12,9 @@ import java.util.List;
  * We add:
  *  • findByCoach(Coach)         – to look up by the coach entity  
  *  • findByCoachUsername(String) – to look up by the coach’s username  
+ *  • findByCoachId(Long)         – to look up by the coach’s id, without loading the coach
+ *  • findByIdAndCoachId(Long, Long) – ownership-checked lookup in a single statement
+ *  • existsByIdAndCoachId(Long, Long) – the same check, without loading the athlete
  */
 public interface AthleteRepository extends JpaRepository<Athlete, Long> {
 
@@ -23,4 +27,19 @@ public interface AthleteRepository extends JpaRepository<Athlete, Long> {
      * Fetch all athletes for the coach with the given username.
      */
     List<Athlete> findByCoachUsername(String username);
+
+    /**
+     * Fetch all athletes for the coach with the given id.
+     */
+    List<Athlete> findByCoachId(Long coachId);
+
+    /**
+     * Fetch an athlete only if it belongs to the given coach.
+     */
+    Optional<Athlete> findByIdAndCoachId(Long id, Long coachId);
+
+    /**
+     * Whether the athlete belongs to the given coach.
+     */
+    boolean existsByIdAndCoachId(Long id, Long coachId);
 }
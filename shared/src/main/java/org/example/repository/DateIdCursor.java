@@ -0,0 +1,39 @@
+package org.example.repository;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Keyset position in a listing ordered by (date desc, id asc): the date and
+ * id of the last row already returned. The next page starts strictly after it.
+ *
+ * Exchanged with clients as "yyyy-MM-dd_id", e.g. "2024-05-01_123".
+ */
+public record DateIdCursor(LocalDate date, Long id) {
+
+    private static final char SEPARATOR = '_';
+
+    /**
+     * Parses a cursor previously returned by toString().
+     *
+     * @throws IllegalArgumentException if the value is not a valid cursor
+     */
+    public static DateIdCursor parse(String value) {
+        int separator = value.lastIndexOf(SEPARATOR);
+        if (separator <= 0) {
+            throw new IllegalArgumentException("Invalid cursor: " + value);
+        }
+        try {
+            return new DateIdCursor(
+                    LocalDate.parse(value.substring(0, separator)),
+                    Long.valueOf(value.substring(separator + 1)));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + value, e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return date.toString() + SEPARATOR + id;
+    }
+}
@@ -2,17 +2,133 @@ package org.example.repository;
 
 import org.example.model.Day;
 import org.example.model.Athlete;
+import org.example.repository.projection.DaySummary;
+import org.example.repository.projection.DayTotals;
+import org.springframework.data.domain.Pageable;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface DayRepository extends JpaRepository<Day, Long> {
     
-    List<Day> findByAthleteOrderByDateDesc(Athlete athlete);
-    
+
+    /**
+     * First page of an athlete's days within [from, to], newest first.
+     * Pass PageRequest.of(0, size) as the page.
+     */
+    @Query("select d from Day d where d.athlete.id = :athleteId and d.date between :from and :to " +
+           "order by d.date desc, d.id asc")
+    List<Day> findPageByAthleteId(@Param("athleteId") Long athleteId,
+                                  @Param("from") LocalDate from,
+                                  @Param("to") LocalDate to,
+                                  Pageable pageable);
+
     Optional<Day> findByAthleteAndDayName(Athlete athlete, String dayName);
     
     Optional<Day> findByAthleteAndDayNameAndIdNot(Athlete athlete, String dayName, Long id);
+
+    /**
+     * Fetch a day only if its athlete belongs to the given coach (one joined query).
+     */
+    Optional<Day> findByIdAndAthleteCoachId(Long id, Long coachId);
+
+    /**
+     * Whether the day's athlete belongs to the given coach.
+     */
+    boolean existsByIdAndAthleteCoachId(Long id, Long coachId);
+
+    /**
+     * Same page as findPageByAthleteId, selecting only the listed columns.
+     * A day without a name is listed as Monday.
+     */
+    @Query("select new org.example.repository.projection.DaySummary(d.id, coalesce(d.dayName, 'Monday'), d.date, d.athlete.id) " +
+           "from Day d where d.athlete.id = :athleteId and d.date between :from and :to " +
+           "order by d.date desc, d.id asc")
+    List<DaySummary> findSummaryPageByAthleteId(@Param("athleteId") Long athleteId,
+                                                @Param("from") LocalDate from,
+                                                @Param("to") LocalDate to,
+                                                Pageable pageable);
+
+    /**
+     * Next page of an athlete's days within [from, to], after the (date, id) cursor.
+     */
+    @Query("select new org.example.repository.projection.DaySummary(d.id, coalesce(d.dayName, 'Monday'), d.date, d.athlete.id) " +
+           "from Day d where d.athlete.id = :athleteId and d.date between :from and :to " +
+           "and (d.date < :afterDate or (d.date = :afterDate and d.id > :afterId)) " +
+           "order by d.date desc, d.id asc")
+    List<DaySummary> findSummaryPageByAthleteIdAfter(@Param("athleteId") Long athleteId,
+                                                     @Param("from") LocalDate from,
+                                                     @Param("to") LocalDate to,
+                                                     @Param("afterDate") LocalDate afterDate,
+                                                     @Param("afterId") Long afterId,
+                                                     Pageable pageable);
+
+    /**
+     * Same page as findSummaryPageByAthleteId, with the persisted totals of each day.
+     */
+    @Query("select new org.example.repository.projection.DayTotals(d.id, d.dayName, d.date, " +
+           "d.totals.protein, d.totals.carbs, d.totals.fat, d.totals.kcal) " +
+           "from Day d where d.athlete.id = :athleteId and d.date between :from and :to " +
+           "order by d.date desc, d.id asc")
+    List<DayTotals> findTotalsPageByAthleteId(@Param("athleteId") Long athleteId,
+                                              @Param("from") LocalDate from,
+                                              @Param("to") LocalDate to,
+                                              Pageable pageable);
+
+    /**
+     * Same page as findSummaryPageByAthleteIdAfter, with the persisted totals of each day.
+     */
+    @Query("select new org.example.repository.projection.DayTotals(d.id, d.dayName, d.date, " +
+           "d.totals.protein, d.totals.carbs, d.totals.fat, d.totals.kcal) " +
+           "from Day d where d.athlete.id = :athleteId and d.date between :from and :to " +
+           "and (d.date < :afterDate or (d.date = :afterDate and d.id > :afterId)) " +
+           "order by d.date desc, d.id asc")
+    List<DayTotals> findTotalsPageByAthleteIdAfter(@Param("athleteId") Long athleteId,
+                                                   @Param("from") LocalDate from,
+                                                   @Param("to") LocalDate to,
+                                                   @Param("afterDate") LocalDate afterDate,
+                                                   @Param("afterId") Long afterId,
+                                                   Pageable pageable);
+
+    /**
+     * Day ids after the given one, in id order - for walking every day in chunks.
+     */
+    @Query("select d.id from Day d where d.id > :afterId order by d.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * The given days in id order, write-locked until the transaction ends.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select d from Day d where d.id in :ids order by d.id")
+    List<Day> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Adds a food row's or a whole meal's macros (negative to take them out)
+     * to the persisted totals of a day, in a single UPDATE rounded like MacroTotals.add.
+     * Does not check or bump the version, so concurrent food writes to the
+     * same day do not conflict; the loaded entity keeps its old totals.
+     */
+    @Modifying
+    @Query(value = "UPDATE days SET " +
+                   "total_prot = floor((total_prot + :prot) * 10 + 0.5) / 10, " +
+                   "total_carb = floor((total_carb + :carb) * 10 + 0.5) / 10, " +
+                   "total_fat = floor((total_fat + :fat) * 10 + 0.5) / 10, " +
+                   "total_kcal = total_kcal + :kcal " +
+                   "WHERE id = :dayId",
+           nativeQuery = true)
+    int addToTotals(@Param("dayId") Long dayId,
+                    @Param("prot") double prot,
+                    @Param("carb") double carb,
+                    @Param("fat") double fat,
+                    @Param("kcal") int kcal);
     
 }
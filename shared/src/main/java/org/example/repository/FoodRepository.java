@@ -1,16 +1,90 @@
 package org.example.repository;
 
 import org.example.model.Food;
-import org.example.model.Athlete;
 import org.example.model.Meal;
+import org.example.repository.projection.FoodNutritionRow;
+import org.example.repository.projection.FoodSummary;
+import org.example.repository.projection.MealNutritionTotals;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface FoodRepository extends JpaRepository<Food, Long> {
     
-    List<Food> findByMealDayAthleteOrderByMealDayDateDesc(Athlete athlete);
+    /**
+     * First page of an athlete's foods whose day is within [from, to], newest day first.
+     * Each food comes with its meal and day, whose date is part of the cursor.
+     */
+    @Query("select f from Food f join fetch f.meal m join fetch m.day d " +
+           "where d.athlete.id = :athleteId and d.date between :from and :to " +
+           "order by d.date desc, f.id asc")
+    List<Food> findPageByAthleteId(@Param("athleteId") Long athleteId,
+                                   @Param("from") LocalDate from,
+                                   @Param("to") LocalDate to,
+                                   Pageable pageable);
+
+    /**
+     * Next page of an athlete's foods within [from, to], after the (day date, food id) cursor.
+     */
+    @Query("select f from Food f join fetch f.meal m join fetch m.day d " +
+           "where d.athlete.id = :athleteId and d.date between :from and :to " +
+           "and (d.date < :afterDate or (d.date = :afterDate and f.id > :afterId)) " +
+           "order by d.date desc, f.id asc")
+    List<Food> findPageByAthleteIdAfter(@Param("athleteId") Long athleteId,
+                                        @Param("from") LocalDate from,
+                                        @Param("to") LocalDate to,
+                                        @Param("afterDate") LocalDate afterDate,
+                                        @Param("afterId") Long afterId,
+                                        Pageable pageable);
     
     List<Food> findByMealOrderByIdAsc(Meal meal);
+
+    /**
+     * Fetch a food only if its athlete belongs to the given coach (one joined query).
+     */
+    Optional<Food> findByIdAndMealDayAthleteCoachId(Long id, Long coachId);
+
+    /**
+     * The foods of a meal in id order, selecting only the listed columns.
+     */
+    @Query("select new org.example.repository.projection.FoodSummary(f.id, f.categoryId, f.quantity, f.meal.id) " +
+           "from Food f where f.meal.id = :mealId order by f.id")
+    List<FoodSummary> findSummariesByMealId(@Param("mealId") Long mealId);
+
+    /**
+     * Fetch (day id, meal id, category id, quantity) for every food of the given days in one query.
+     */
+    @Query("select f.meal.day.id as dayId, f.meal.id as mealId, f.categoryId as categoryId, f.quantity as quantity " +
+           "from Food f where f.meal.day.id in :dayIds order by f.meal.day.id, f.meal.id, f.id")
+    List<FoodNutritionRow> findNutritionRowsByDayIds(@Param("dayIds") Collection<Long> dayIds);
+
+    /**
+     * Per-meal macro totals of the given days in one aggregate, joined with the
+     * food_categories_replica copy in this database. Every row is rounded like
+     * NutritionRounding does (floor(x + 0.5), in double precision) before it is
+     * summed; foods whose category is not in the copy count as zero. Meals
+     * without any such food have no row.
+     */
+    @Query(value = "select m.day_id as dayId, f.meal_id as mealId, " +
+           "sum(floor(coalesce(c.prot, 0) * f.quantity / cast(100 as double precision) * 10 + 0.5) / 10) as prot, " +
+           "sum(floor(coalesce(c.carb, 0) * f.quantity / cast(100 as double precision) * 10 + 0.5) / 10) as carb, " +
+           "sum(floor(coalesce(c.fat, 0) * f.quantity / cast(100 as double precision) * 10 + 0.5) / 10) as fat, " +
+           "sum(floor(coalesce(c.kcal, 0) * f.quantity / cast(100 as double precision) + 0.5)) as kcal " +
+           "from foods f join meals m on m.id = f.meal_id join food_categories_replica c on c.id = f.category_id " +
+           "where m.day_id in (:dayIds) group by m.day_id, f.meal_id",
+           nativeQuery = true)
+    List<MealNutritionTotals> sumNutritionByMealForDays(@Param("dayIds") Collection<Long> dayIds);
+
+    /**
+     * Ids of the days that have at least one food of the given category.
+     */
+    @Query("select distinct f.meal.day.id from Food f where f.categoryId = :categoryId")
+    List<Long> findDayIdsByCategoryId(@Param("categoryId") Long categoryId);
     
 }
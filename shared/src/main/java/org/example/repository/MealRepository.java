@@ -1,21 +1,106 @@
 package org.example.repository;
 
 import org.example.model.Meal;
-import org.example.model.Athlete;
 import org.example.model.Day;
+import org.example.repository.projection.MealSummary;
+import org.example.repository.projection.MealTotals;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface MealRepository extends JpaRepository<Meal, Long> {
     
-    List<Meal> findByDayAthleteOrderByDayDateDesc(Athlete athlete);
+    /**
+     * First page of an athlete's meals whose day is within [from, to], newest day first.
+     * Each meal comes with its day, whose date is part of the cursor.
+     */
+    @Query("select m from Meal m join fetch m.day d where d.athlete.id = :athleteId and d.date between :from and :to " +
+           "order by d.date desc, m.id asc")
+    List<Meal> findPageByAthleteId(@Param("athleteId") Long athleteId,
+                                   @Param("from") LocalDate from,
+                                   @Param("to") LocalDate to,
+                                   Pageable pageable);
+
+    /**
+     * Next page of an athlete's meals within [from, to], after the (day date, meal id) cursor.
+     */
+    @Query("select m from Meal m join fetch m.day d where d.athlete.id = :athleteId and d.date between :from and :to " +
+           "and (d.date < :afterDate or (d.date = :afterDate and m.id > :afterId)) " +
+           "order by d.date desc, m.id asc")
+    List<Meal> findPageByAthleteIdAfter(@Param("athleteId") Long athleteId,
+                                        @Param("from") LocalDate from,
+                                        @Param("to") LocalDate to,
+                                        @Param("afterDate") LocalDate afterDate,
+                                        @Param("afterId") Long afterId,
+                                        Pageable pageable);
     
     List<Meal> findByDayOrderByIdAsc(Day day);
+
+    List<Meal> findByDayIdIn(Collection<Long> dayIds);
+
+    /**
+     * The meals of the given days in id order, write-locked until the transaction ends.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select m from Meal m where m.day.id in :dayIds order by m.id")
+    List<Meal> findByDayIdInForUpdate(@Param("dayIds") Collection<Long> dayIds);
     
     Optional<Meal> findByDayAndName(Day day, String name);
     
     Optional<Meal> findByDayAndNameAndIdNot(Day day, String name, Long id);
+
+    /**
+     * Fetch a meal only if its athlete belongs to the given coach (one joined query).
+     */
+    Optional<Meal> findByIdAndDayAthleteCoachId(Long id, Long coachId);
+
+    /**
+     * Whether the meal's athlete belongs to the given coach.
+     */
+    boolean existsByIdAndDayAthleteCoachId(Long id, Long coachId);
+
+    /**
+     * The meals of a day in id order, selecting only the listed columns.
+     */
+    @Query("select new org.example.repository.projection.MealSummary(m.id, m.name, m.day.id) " +
+           "from Meal m where m.day.id = :dayId order by m.id")
+    List<MealSummary> findSummariesByDayId(@Param("dayId") Long dayId);
+
+    /**
+     * The persisted totals of the meals of the given days, in id order.
+     */
+    @Query("select new org.example.repository.projection.MealTotals(m.id, m.day.id, " +
+           "m.totals.protein, m.totals.carbs, m.totals.fat, m.totals.kcal) " +
+           "from Meal m where m.day.id in :dayIds order by m.id")
+    List<MealTotals> findTotalsByDayIdIn(@Param("dayIds") Collection<Long> dayIds);
+
+    /**
+     * Adds one food row's macros (negative to take them out) to the persisted
+     * totals of a meal, in a single UPDATE rounded like MacroTotals.add.
+     * Does not check or bump the version, so concurrent food writes to the
+     * same meal do not conflict; the loaded entity keeps its old totals.
+     */
+    @Modifying
+    @Query(value = "UPDATE meals SET " +
+                   "total_prot = floor((total_prot + :prot) * 10 + 0.5) / 10, " +
+                   "total_carb = floor((total_carb + :carb) * 10 + 0.5) / 10, " +
+                   "total_fat = floor((total_fat + :fat) * 10 + 0.5) / 10, " +
+                   "total_kcal = total_kcal + :kcal " +
+                   "WHERE id = :mealId",
+           nativeQuery = true)
+    int addToTotals(@Param("mealId") Long mealId,
+                    @Param("prot") double prot,
+                    @Param("carb") double carb,
+                    @Param("fat") double fat,
+                    @Param("kcal") int kcal);
     
 }
@@ -0,0 +1,8 @@
+package org.example.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Columns of a Day listed by GET /api/athletes/{id}/days, selected without loading the entity.
+ */
+public record DaySummary(Long id, String dayName, LocalDate date, Long athleteId) { }
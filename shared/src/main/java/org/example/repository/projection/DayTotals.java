@@ -0,0 +1,8 @@
+package org.example.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Persisted totals of a Day listed by GET /api/athletes/{id}/nutrition, selected without loading the entity.
+ */
+public record DayTotals(Long id, String dayName, LocalDate date, double protein, double carbs, double fat, int kcal) { }
@@ -0,0 +1,16 @@
+package org.example.repository.projection;
+
+/**
+ * Minimal view of a Food row needed for nutrition math:
+ * which day and meal it belongs to, which category it points at, and how much of it.
+ */
+public interface FoodNutritionRow {
+
+    Long getDayId();
+
+    Long getMealId();
+
+    Long getCategoryId();
+
+    int getQuantity();
+}
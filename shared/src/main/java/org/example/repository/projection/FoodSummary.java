@@ -0,0 +1,7 @@
+package org.example.repository.projection;
+
+/**
+ * Columns of a Food listed by GET /api/meals/{id}/foods, selected without loading the entity.
+ * The category lives in the food-categories database and is resolved separately.
+ */
+public record FoodSummary(Long id, Long categoryId, int quantity, Long mealId) { }
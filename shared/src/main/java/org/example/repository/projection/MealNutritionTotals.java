@@ -0,0 +1,20 @@
+package org.example.repository.projection;
+
+/**
+ * Macro totals of one meal summed in SQL, each food row rounded the way
+ * NutritionRounding rounds it (see FoodRepository.sumNutritionByMealForDays).
+ */
+public interface MealNutritionTotals {
+
+    Long getDayId();
+
+    Long getMealId();
+
+    Double getProt();
+
+    Double getCarb();
+
+    Double getFat();
+
+    Double getKcal();
+}
@@ -0,0 +1,6 @@
+package org.example.repository.projection;
+
+/**
+ * Columns of a Meal listed by GET /api/days/{id}/meals, selected without loading the entity.
+ */
+public record MealSummary(Long id, String name, Long dayId) { }
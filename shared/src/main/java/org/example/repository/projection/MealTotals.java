@@ -0,0 +1,6 @@
+package org.example.repository.projection;
+
+/**
+ * Persisted totals of a Meal listed by GET /api/athletes/{id}/nutrition, selected without loading the entity.
+ */
+public record MealTotals(Long id, Long dayId, double protein, double carbs, double fat, int kcal) { }
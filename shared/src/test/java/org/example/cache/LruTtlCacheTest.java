@@ -0,0 +1,70 @@
+package org.example.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LruTtlCacheTest {
+
+    private static final long TTL_NANOS = 1_000L;
+
+    private final AtomicLong now = new AtomicLong();
+    private LruTtlCache<String, Long> cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new LruTtlCache<>(2, TTL_NANOS, now::get);
+    }
+
+    @Test
+    void get_AfterPut_ShouldReturnValue() {
+        // Given
+        cache.put("testcoach", 1L);
+
+        // When & Then
+        assertEquals(1L, cache.get("testcoach"));
+        assertNull(cache.get("unknown"));
+    }
+
+    @Test
+    void get_AfterTtl_ShouldReturnNull() {
+        // Given
+        cache.put("testcoach", 1L);
+
+        // When
+        now.addAndGet(TTL_NANOS + 1);
+
+        // Then
+        assertNull(cache.get("testcoach"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void put_BeyondMaxSize_ShouldEvictLeastRecentlyUsed() {
+        // Given
+        cache.put("a", 1L);
+        cache.put("b", 2L);
+        cache.get("a"); // "a" is now the most recently used
+
+        // When
+        cache.put("c", 3L);
+
+        // Then
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.evictions());
+        assertEquals(1L, cache.get("a"));
+        assertNull(cache.get("b"));
+    }
+
+    @Test
+    void put_NullValue_ShouldBeIgnored() {
+        // When
+        cache.put("a", null);
+
+        // Then
+        assertEquals(0, cache.size());
+    }
+}
@@ -0,0 +1,153 @@
+package org.example.foodcategories;
+
+import org.example.repository.foodcategories.FoodCategoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FoodCategoryCacheTest {
+
+    private static final long TTL_NANOS = 1_000L;
+
+    @Mock
+    private FoodCategoryRepository foodCategoryRepository;
+
+    private final AtomicLong now = new AtomicLong();
+    private FoodCategoryCache cache;
+
+    private FoodCategory apple;
+    private FoodCategory banana;
+
+    @BeforeEach
+    void setUp() {
+        cache = new FoodCategoryCache(foodCategoryRepository, 2, TTL_NANOS, now::get);
+
+        apple = new FoodCategory("Apple", 0.3, 14.0, 0.2, 52.0);
+        apple.setId(1L);
+
+        banana = new FoodCategory("Banana", 1.1, 23.0, 0.3, 89.0);
+        banana.setId(2L);
+    }
+
+    @Test
+    void findById_ShouldLoadOnceThenServeFromCache() {
+        // Given
+        when(foodCategoryRepository.findById(1L)).thenReturn(Optional.of(apple));
+
+        // When
+        Optional<FoodCategory> first = cache.findById(1L);
+        Optional<FoodCategory> second = cache.findById(1L);
+
+        // Then
+        assertEquals(apple, first.orElseThrow());
+        assertEquals(apple, second.orElseThrow());
+        verify(foodCategoryRepository, times(1)).findById(1L);
+        assertEquals(1, cache.stats().hits());
+        assertEquals(1, cache.stats().misses());
+    }
+
+    @Test
+    void findById_WithUnknownId_ShouldNotCacheAbsence() {
+        // Given
+        when(foodCategoryRepository.findById(99L)).thenReturn(Optional.empty());
+
+        // When
+        cache.findById(99L);
+        cache.findById(99L);
+
+        // Then
+        verify(foodCategoryRepository, times(2)).findById(99L);
+        assertEquals(0, cache.stats().size());
+    }
+
+    @Test
+    void findById_AfterTtl_ShouldReload() {
+        // Given
+        when(foodCategoryRepository.findById(1L)).thenReturn(Optional.of(apple));
+        cache.findById(1L);
+
+        // When
+        now.addAndGet(TTL_NANOS + 1);
+        cache.findById(1L);
+
+        // Then
+        verify(foodCategoryRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    void findAllById_ShouldBatchOnlyTheMisses() {
+        // Given
+        cache.put(apple);
+        when(foodCategoryRepository.findAllById(List.of(2L, 99L))).thenReturn(List.of(banana));
+
+        // When
+        Map<Long, FoodCategory> result = cache.findAllById(List.of(1L, 2L, 2L, 99L));
+
+        // Then
+        assertEquals(2, result.size());
+        assertEquals(apple, result.get(1L));
+        assertEquals(banana, result.get(2L));
+        verify(foodCategoryRepository, times(1)).findAllById(List.of(2L, 99L));
+        assertEquals(1, cache.stats().hits());
+        assertEquals(2, cache.stats().misses());
+    }
+
+    @Test
+    void put_BeyondMaxSize_ShouldEvictLeastRecentlyUsed() {
+        // Given
+        FoodCategory beef = new FoodCategory("Beef", 26.0, 0.0, 10.0, 260.0);
+        beef.setId(3L);
+        cache.put(apple);
+        cache.put(banana);
+        cache.findById(1L); // apple is now the most recently used
+
+        // When
+        cache.put(beef);
+
+        // Then
+        assertEquals(1, cache.stats().evictions());
+        assertEquals(2, cache.stats().size());
+        when(foodCategoryRepository.findById(2L)).thenReturn(Optional.of(banana));
+        cache.findById(2L);
+        verify(foodCategoryRepository).findById(2L);
+        verify(foodCategoryRepository, never()).findById(1L);
+    }
+
+    @Test
+    void evict_ShouldForceReload() {
+        // Given
+        when(foodCategoryRepository.findById(1L)).thenReturn(Optional.of(apple));
+        cache.findById(1L);
+
+        // When
+        cache.evict(1L);
+        cache.findById(1L);
+
+        // Then
+        verify(foodCategoryRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    void clear_ShouldEmptyCache() {
+        // Given
+        cache.put(apple);
+        cache.put(banana);
+
+        // When
+        cache.clear();
+
+        // Then
+        assertEquals(0, cache.stats().size());
+    }
+}
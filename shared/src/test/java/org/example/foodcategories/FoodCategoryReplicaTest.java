@@ -0,0 +1,138 @@
+package org.example.foodcategories;
+
+import org.example.repository.foodcategories.FoodCategoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * An in-memory H2 database stands in for the primary database, with the
+ * tables of the V5__food_categories_replica migration.
+ */
+@ExtendWith(MockitoExtension.class)
+class FoodCategoryReplicaTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T12:00:00Z");
+
+    @Mock
+    private FoodCategoryRepository foodCategoryRepository;
+
+    private JdbcTemplate jdbcTemplate;
+    private FoodCategoryReplica replica;
+
+    private FoodCategory apple;
+    private FoodCategory banana;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource primary = new DriverManagerDataSource(
+                "jdbc:h2:mem:replica-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(primary);
+        jdbcTemplate.execute("CREATE TABLE food_categories_replica (id BIGINT PRIMARY KEY, name VARCHAR(255), "
+                + "prot DOUBLE PRECISION, carb DOUBLE PRECISION, fat DOUBLE PRECISION, kcal DOUBLE PRECISION)");
+        jdbcTemplate.execute("CREATE TABLE food_categories_replica_sync (id SMALLINT PRIMARY KEY, "
+                + "synced_at TIMESTAMP WITH TIME ZONE NOT NULL)");
+        replica = new FoodCategoryReplica(foodCategoryRepository, primary, Duration.ofMinutes(5),
+                Clock.fixed(NOW, ZoneOffset.UTC));
+
+        apple = new FoodCategory("Apple", 0.3, 14.0, 0.2, 52.0);
+        apple.setId(1L);
+        banana = new FoodCategory("Banana", 1.1, 23.0, 0.3, 89.0);
+        banana.setId(2L);
+    }
+
+    @Test
+    void sync_ShouldWriteOnlyTheDifferences() {
+        // Given - apple is already copied, banana is new, id 3 was deleted at the source
+        jdbcTemplate.update("INSERT INTO food_categories_replica VALUES (1, 'Apple', 0.3, 14.0, 0.2, 52.0)");
+        jdbcTemplate.update("INSERT INTO food_categories_replica VALUES (3, 'Gone', 1.0, 1.0, 1.0, 1.0)");
+        when(foodCategoryRepository.findAll()).thenReturn(List.of(apple, banana));
+
+        // When
+        FoodCategoryReplica.SyncResult result = replica.sync();
+
+        // Then
+        assertEquals(new FoodCategoryReplica.SyncResult(1, 0, 1, Set.of()), result);
+        assertEquals(List.of(1L, 2L),
+                jdbcTemplate.queryForList("SELECT id FROM food_categories_replica ORDER BY id", Long.class));
+        assertTrue(replica.isFresh());
+        assertEquals(Duration.ZERO, replica.lag().orElseThrow());
+    }
+
+    @Test
+    void sync_WithChangedMacros_ShouldUpdateRow() {
+        // Given
+        jdbcTemplate.update("INSERT INTO food_categories_replica VALUES (1, 'Apple', 0.3, 14.0, 0.2, 50.0)");
+        when(foodCategoryRepository.findAll()).thenReturn(List.of(apple));
+
+        // When
+        FoodCategoryReplica.SyncResult result = replica.sync();
+
+        // Then
+        assertEquals(new FoodCategoryReplica.SyncResult(0, 1, 0, Set.of()), result);
+        assertEquals(52.0, jdbcTemplate.queryForObject("SELECT kcal FROM food_categories_replica WHERE id = 1", Double.class));
+    }
+
+    @Test
+    void sync_AfterEditsPushedByTheAdminApp_ShouldReportThemAsChanged() {
+        // Given - a first sync, then apple edited and banana deleted, both already pushed to the copy
+        when(foodCategoryRepository.findAll()).thenReturn(List.of(apple, banana));
+        replica.sync();
+        FoodCategory editedApple = new FoodCategory("Apple", 0.3, 14.0, 0.2, 60.0);
+        editedApple.setId(1L);
+        replica.replicate(editedApple);
+        replica.remove(2L);
+        when(foodCategoryRepository.findAll()).thenReturn(List.of(editedApple));
+
+        // When
+        FoodCategoryReplica.SyncResult result = replica.sync();
+
+        // Then - nothing left to write, but both are reported for eviction
+        assertEquals(new FoodCategoryReplica.SyncResult(0, 0, 0, Set.of(1L, 2L)), result);
+    }
+
+    @Test
+    void replicateAndRemove_ShouldWriteSingleCategory() {
+        // When
+        replica.replicate(apple);
+        apple.setKcal(60.0);
+        replica.replicate(apple);
+        replica.replicate(banana);
+        replica.remove(2L);
+
+        // Then
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList("SELECT id, kcal FROM food_categories_replica");
+        assertEquals(1, rows.size());
+        assertEquals(60.0, ((Number) rows.get(0).get("KCAL")).doubleValue());
+    }
+
+    @Test
+    void isFresh_BeforeAnySyncOrAfterMaxLag_ShouldBeFalse() {
+        // Given - no sync yet
+        assertFalse(replica.isFresh());
+        assertTrue(replica.lag().isEmpty());
+
+        // When - last synced by some instance 10 minutes ago
+        jdbcTemplate.update("INSERT INTO food_categories_replica_sync (id, synced_at) VALUES (1, ?)",
+                Timestamp.from(NOW.minus(Duration.ofMinutes(10))));
+
+        // Then
+        assertFalse(replica.isFresh());
+    }
+}
@@ -0,0 +1,75 @@
+package org.example.nutrition;
+
+import org.example.foodcategories.FoodCategory;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MacroAccumulatorTest {
+
+    @Test
+    void add_ShouldSumRoundedRowsRatherThanRawValues() {
+        // Given - 26 g/100 g at 1 g is 0.26 g, shown as 0.3 g per row
+        MacroProfile beef = new MacroProfile(26.0, 0.0, 10.0, 260.0);
+        MacroAccumulator accumulator = new MacroAccumulator();
+
+        // When
+        accumulator.add(beef, 1);
+        accumulator.add(beef, 1);
+        accumulator.add(beef, 1);
+
+        // Then - 0.3 + 0.3 + 0.3, not round(0.78)
+        assertEquals(0.9, accumulator.getProtein());
+        assertEquals(0.3, accumulator.getFat());
+        assertEquals(9, accumulator.getKcal());
+    }
+
+    @Test
+    void of_WithMissingMacros_ShouldTreatThemAsZero() {
+        // Given
+        FoodCategory water = new FoodCategory("water", null, null, null, null);
+        MacroAccumulator accumulator = new MacroAccumulator();
+
+        // When
+        accumulator.add(MacroProfile.of(water), 500);
+        accumulator.add(MacroProfile.of(null), 100);
+
+        // Then
+        assertEquals(0.0, accumulator.getProtein());
+        assertEquals(0.0, accumulator.getCarbs());
+        assertEquals(0.0, accumulator.getFat());
+        assertEquals(0, accumulator.getKcal());
+    }
+
+    @Test
+    void add_WithOtherAccumulator_ShouldMergeTotals() {
+        // Given
+        MacroProfile potato = new MacroProfile(2.0, 18.0, 0.1, 80.0);
+        MacroAccumulator breakfast = new MacroAccumulator();
+        MacroAccumulator lunch = new MacroAccumulator();
+        breakfast.add(potato, 100);
+        lunch.add(potato, 250);
+
+        // When
+        MacroAccumulator day = new MacroAccumulator();
+        day.add(breakfast);
+        day.add(lunch);
+
+        // Then
+        assertEquals(7.0, day.getProtein());
+        assertEquals(63.0, day.getCarbs());
+        assertEquals(0.4, day.getFat());
+        assertEquals(280, day.getKcal());
+    }
+
+    @Test
+    void kcalFor_ShouldRoundToWholeKcal() {
+        // Given
+        MacroProfile apple = new MacroProfile(0.3, 14.0, 0.2, 52.0);
+
+        // Then
+        assertEquals(27, apple.kcalFor(51)); // 26.52
+        assertEquals(26, apple.kcalFor(50)); // 26.0
+        assertEquals(7.1, apple.carbFor(51)); // 7.14
+    }
+}
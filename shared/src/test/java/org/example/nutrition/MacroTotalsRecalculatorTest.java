@@ -0,0 +1,195 @@
+package org.example.nutrition;
+
+import org.example.foodcategories.FoodCategory;
+import org.example.foodcategories.FoodCategoryCache;
+import org.example.foodcategories.FoodCategoryReplica;
+import org.example.model.Day;
+import org.example.model.Meal;
+import org.example.repository.DayRepository;
+import org.example.repository.FoodRepository;
+import org.example.repository.MealRepository;
+import org.example.repository.projection.FoodNutritionRow;
+import org.example.repository.projection.MealNutritionTotals;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MacroTotalsRecalculatorTest {
+
+    @Mock
+    private FoodRepository foodRepo;
+
+    @Mock
+    private MealRepository mealRepo;
+
+    @Mock
+    private DayRepository dayRepo;
+
+    @Mock
+    private FoodCategoryCache foodCategoryCache;
+
+    @Mock
+    private FoodCategoryReplica foodCategoryReplica;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private MacroTotalsRecalculator recalculator;
+
+    private FoodCategory potato;
+    private Day day;
+    private Meal lunch;
+    private Meal dinner;
+
+    @BeforeEach
+    void setUp() {
+        recalculator = new MacroTotalsRecalculator(foodRepo, mealRepo, dayRepo, foodCategoryCache, foodCategoryReplica, transactionManager);
+
+        potato = new FoodCategory("potato", 2.0, 18.0, 0.1, 80.0);
+        potato.setId(1L);
+
+        day = new Day();
+        day.setId(1L);
+        lunch = new Meal("Lunch", day);
+        lunch.setId(10L);
+        dinner = new Meal("Dinner", day);
+        dinner.setId(11L);
+    }
+
+    @Test
+    void recomputeForCategory_ShouldRewriteTotalsOfAffectedDaysAndMeals() {
+        // Given - totals still reflect the old potato macros
+        lunch.getTotals().add(new MacroProfile(1.0, 10.0, 0.0, 50.0), 200);
+        day.getTotals().add(new MacroProfile(1.0, 10.0, 0.0, 50.0), 200);
+        stubDay(List.of(row(10L, 1L, 200)));
+        when(foodRepo.findDayIdsByCategoryId(1L)).thenReturn(List.of(1L));
+
+        // When
+        MacroTotalsRecalculator.Result result = recalculator.recomputeForCategory(1L);
+
+        // Then
+        assertEquals(4.0, lunch.getTotals().getProtein());
+        assertEquals(160, lunch.getTotals().getKcal());
+        assertEquals(0, dinner.getTotals().getKcal());
+        assertEquals(36.0, day.getTotals().getCarbs());
+        assertEquals(1, result.daysRepaired());
+        assertEquals(1, result.mealsRepaired());
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void recomputeForCategory_ShouldLockMealsThenDaysBeforeReadingFoods() {
+        // Given
+        stubDay(List.of(row(10L, 1L, 200)));
+        when(foodRepo.findDayIdsByCategoryId(1L)).thenReturn(List.of(1L));
+
+        // When
+        recalculator.recomputeForCategory(1L);
+
+        // Then - a food write updates the meal before the day, so the same order cannot deadlock
+        InOrder inOrder = inOrder(mealRepo, dayRepo, foodRepo);
+        inOrder.verify(mealRepo).findByDayIdInForUpdate(List.of(1L));
+        inOrder.verify(dayRepo).findAllByIdForUpdate(List.of(1L));
+        inOrder.verify(foodRepo).findNutritionRowsByDayIds(List.of(1L));
+    }
+
+    @Test
+    void recomputeForCategory_WhenRowsCannotBeLocked_ShouldSkipTheChunk() {
+        // Given
+        when(foodRepo.findDayIdsByCategoryId(1L)).thenReturn(List.of(1L));
+        when(mealRepo.findByDayIdInForUpdate(List.of(1L))).thenThrow(new CannotAcquireLockException("lock timeout"));
+
+        // When
+        MacroTotalsRecalculator.Result result = recalculator.recomputeForCategory(1L);
+
+        // Then
+        assertEquals(MacroTotalsRecalculator.Result.NONE, result);
+        verify(transactionManager).rollback(any());
+        verifyNoInteractions(foodCategoryCache);
+    }
+
+    @Test
+    void reconcileAll_WithMatchingTotals_ShouldRepairNothing() {
+        // Given
+        lunch.getTotals().add(MacroProfile.of(potato), 100);
+        day.getTotals().add(MacroProfile.of(potato), 100);
+        stubDay(List.of(row(10L, 1L, 100), row(10L, 99L, 100)));
+        when(dayRepo.findIdsAfter(0L, PageRequest.of(0, 200))).thenReturn(List.of(1L));
+        when(dayRepo.findIdsAfter(1L, PageRequest.of(0, 200))).thenReturn(List.of());
+
+        // When
+        MacroTotalsRecalculator.Result result = recalculator.reconcileAll();
+
+        // Then
+        assertEquals(1, result.daysChecked());
+        assertEquals(2, result.mealsChecked());
+        assertEquals(0, result.daysRepaired());
+        assertEquals(0, result.mealsRepaired());
+        verify(foodCategoryCache, times(1)).findAllById(any());
+    }
+
+    @Test
+    void recomputeForCategory_WithFreshReplica_ShouldUseSqlAggregateInsteadOfCategoryLookups() {
+        // Given - 200 g of potato in lunch, as summed by the database
+        when(foodCategoryReplica.isFresh()).thenReturn(true);
+        when(foodRepo.findDayIdsByCategoryId(1L)).thenReturn(List.of(1L));
+        when(dayRepo.findAllByIdForUpdate(List.of(1L))).thenReturn(List.of(day));
+        when(mealRepo.findByDayIdInForUpdate(List.of(1L))).thenReturn(List.of(lunch, dinner));
+        when(foodRepo.sumNutritionByMealForDays(List.of(1L))).thenReturn(List.of(mealTotals(10L, 4.0, 36.0, 0.2, 160.0)));
+
+        // When
+        MacroTotalsRecalculator.Result result = recalculator.recomputeForCategory(1L);
+
+        // Then
+        assertEquals(4.0, lunch.getTotals().getProtein());
+        assertEquals(160, lunch.getTotals().getKcal());
+        assertEquals(0, dinner.getTotals().getKcal());
+        assertEquals(36.0, day.getTotals().getCarbs());
+        assertEquals(1, result.daysRepaired());
+        verify(foodRepo, never()).findNutritionRowsByDayIds(any());
+        verifyNoInteractions(foodCategoryCache);
+    }
+
+    private void stubDay(List<FoodNutritionRow> rows) {
+        when(dayRepo.findAllByIdForUpdate(List.of(1L))).thenReturn(List.of(day));
+        when(mealRepo.findByDayIdInForUpdate(List.of(1L))).thenReturn(List.of(lunch, dinner));
+        when(foodRepo.findNutritionRowsByDayIds(List.of(1L))).thenReturn(rows);
+        when(foodCategoryCache.findAllById(any())).thenAnswer(invocation ->
+                invocation.<Set<Long>>getArgument(0).contains(1L) ? Map.of(1L, potato) : Map.of());
+    }
+
+    private static FoodNutritionRow row(Long mealId, Long categoryId, int quantity) {
+        return new FoodNutritionRow() {
+            @Override public Long getDayId() { return 1L; }
+            @Override public Long getMealId() { return mealId; }
+            @Override public Long getCategoryId() { return categoryId; }
+            @Override public int getQuantity() { return quantity; }
+        };
+    }
+
+    private static MealNutritionTotals mealTotals(Long mealId, double prot, double carb, double fat, double kcal) {
+        return new MealNutritionTotals() {
+            @Override public Long getDayId() { return 1L; }
+            @Override public Long getMealId() { return mealId; }
+            @Override public Double getProt() { return prot; }
+            @Override public Double getCarb() { return carb; }
+            @Override public Double getFat() { return fat; }
+            @Override public Double getKcal() { return kcal; }
+        };
+    }
+}
@@ -0,0 +1,49 @@
+package org.example.observability;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CorrelationIdFilterTest {
+
+    private final CorrelationIdFilter filter = new CorrelationIdFilter();
+
+    @Test
+    void doFilter_WithValidHeader_ShouldReuseIdAndClearMdcAfterwards() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(CorrelationIdFilter.HEADER, "abc-123");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<String> duringRequest = new AtomicReference<>();
+
+        // When
+        filter.doFilter(request, response, (req, res) -> duringRequest.set(MDC.get(CorrelationIdFilter.MDC_KEY)));
+
+        // Then
+        assertEquals("abc-123", duringRequest.get());
+        assertEquals("abc-123", response.getHeader(CorrelationIdFilter.HEADER));
+        assertNull(MDC.get(CorrelationIdFilter.MDC_KEY));
+    }
+
+    @Test
+    void doFilter_WithMissingOrUnsafeHeader_ShouldGenerateId() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(CorrelationIdFilter.HEADER, "forged\nlog line");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        filter.doFilter(request, response, (req, res) -> { });
+
+        // Then
+        String requestId = response.getHeader(CorrelationIdFilter.HEADER);
+        assertNotNull(requestId);
+        assertNotEquals("forged\nlog line", requestId);
+        assertEquals(36, requestId.length());
+    }
+}
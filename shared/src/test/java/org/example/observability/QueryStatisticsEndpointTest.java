@@ -0,0 +1,80 @@
+package org.example.observability;
+
+import org.example.observability.QueryStatisticsEndpoint.QueryReport;
+import org.example.observability.QueryStatisticsEndpoint.UnitReport;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class QueryStatisticsEndpointTest {
+
+    @Mock
+    private Statistics primary;
+
+    @Mock
+    private Statistics foodCategories;
+
+    private QueryStatisticsEndpoint endpoint;
+
+    @BeforeEach
+    void setUp() {
+        Map<String, Statistics> units = new LinkedHashMap<>();
+        units.put(SqlStatementCounter.PRIMARY, primary);
+        units.put(SqlStatementCounter.FOOD_CATEGORIES, foodCategories);
+        endpoint = new QueryStatisticsEndpoint(units);
+    }
+
+    @Test
+    void queries_ShouldListTopStatementsByTotalTimePerUnit() {
+        // Given
+        QueryStatistics fast = queryStatistics(100, 50);
+        QueryStatistics slow = queryStatistics(2, 900);
+        QueryStatistics medium = queryStatistics(10, 300);
+        when(primary.getQueries()).thenReturn(new String[] {"fast", "slow", "medium"});
+        when(primary.getQueryStatistics("fast")).thenReturn(fast);
+        when(primary.getQueryStatistics("slow")).thenReturn(slow);
+        when(primary.getQueryStatistics("medium")).thenReturn(medium);
+        when(primary.isStatisticsEnabled()).thenReturn(true);
+        when(foodCategories.getQueries()).thenReturn(new String[0]);
+
+        // When
+        Map<String, UnitReport> reports = endpoint.queries(2);
+
+        // Then
+        assertEquals(List.of(SqlStatementCounter.PRIMARY, SqlStatementCounter.FOOD_CATEGORIES), List.copyOf(reports.keySet()));
+        List<QueryReport> top = reports.get(SqlStatementCounter.PRIMARY).topByTotalTime();
+        assertEquals(List.of("slow", "medium"), top.stream().map(QueryReport::query).toList());
+        assertEquals(2, top.get(0).executions());
+        assertTrue(reports.get(SqlStatementCounter.PRIMARY).statisticsEnabled());
+        assertTrue(reports.get(SqlStatementCounter.FOOD_CATEGORIES).topByTotalTime().isEmpty());
+    }
+
+    @Test
+    void reset_ShouldClearEveryUnit() {
+        // When
+        endpoint.reset();
+
+        // Then
+        verify(primary).clear();
+        verify(foodCategories).clear();
+    }
+
+    private static QueryStatistics queryStatistics(long executions, long totalMillis) {
+        QueryStatistics statistics = mock(QueryStatistics.class);
+        when(statistics.getExecutionCount()).thenReturn(executions);
+        when(statistics.getExecutionTotalTime()).thenReturn(totalMillis);
+        return statistics;
+    }
+}
@@ -0,0 +1,82 @@
+package org.example.observability;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestStatisticsTest {
+
+    @AfterEach
+    void tearDown() {
+        RequestStatistics.end();
+    }
+
+    @Test
+    void statementExecuted_ShouldCountPerPersistenceUnit() {
+        // Given
+        RequestStatistics statistics = RequestStatistics.begin();
+
+        // When
+        RequestStatistics.statementExecuted(SqlStatementCounter.PRIMARY);
+        RequestStatistics.statementExecuted(SqlStatementCounter.PRIMARY);
+        RequestStatistics.statementExecuted(SqlStatementCounter.FOOD_CATEGORIES);
+        RequestStatistics.foodCategoriesLookedUp(4);
+
+        // Then
+        assertEquals(2, statistics.statements(SqlStatementCounter.PRIMARY));
+        assertEquals(1, statistics.statements(SqlStatementCounter.FOOD_CATEGORIES));
+        assertEquals(4, statistics.foodCategoryLookups());
+    }
+
+    @Test
+    void outsideOfRequest_ShouldRecordNothing() {
+        // Given
+        RequestStatistics statistics = RequestStatistics.begin();
+        RequestStatistics.end();
+
+        // When
+        RequestStatistics.statementExecuted(SqlStatementCounter.PRIMARY);
+        RequestStatistics.foodCategoriesLookedUp(1);
+
+        // Then
+        assertEquals(0, statistics.statements(SqlStatementCounter.PRIMARY));
+        assertEquals(0, statistics.foodCategoryLookups());
+    }
+
+    @Test
+    void propagate_ShouldCountWorkDoneOnAnotherThread() {
+        // Given
+        RequestStatistics statistics = RequestStatistics.begin();
+        Runnable lookup = RequestStatistics.propagate(() -> {
+            RequestStatistics.statementExecuted(SqlStatementCounter.FOOD_CATEGORIES);
+            RequestStatistics.foodCategoriesLookedUp(1);
+        });
+
+        // When
+        CompletableFuture.runAsync(lookup).join();
+
+        // Then
+        assertEquals(1, statistics.statements(SqlStatementCounter.FOOD_CATEGORIES));
+        assertEquals(1, statistics.foodCategoryLookups());
+    }
+
+    @Test
+    void resume_ShouldRecordIntoGivenStatisticsUntilClosed() {
+        // Given
+        RequestStatistics statistics = RequestStatistics.begin();
+        RequestStatistics.end();
+
+        // When
+        try (RequestStatistics.Scope ignored = RequestStatistics.resume(statistics)) {
+            RequestStatistics.statementExecuted(SqlStatementCounter.PRIMARY);
+        }
+        RequestStatistics.statementExecuted(SqlStatementCounter.PRIMARY);
+
+        // Then
+        assertEquals(1, statistics.statements(SqlStatementCounter.PRIMARY));
+        assertNull(RequestStatistics.current());
+    }
+}
@@ -0,0 +1,80 @@
+package org.example.observability;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlStatementCounterTest {
+
+    private SqlStatementCounter dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource h2 = new DriverManagerDataSource(
+                "jdbc:h2:mem:counter-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        dataSource = new SqlStatementCounter(h2, SqlStatementCounter.PRIMARY);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE foods (id BIGINT PRIMARY KEY, quantity INT)");
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestStatistics.end();
+    }
+
+    @Test
+    void jdbcTemplate_ShouldCountEveryStatementAndBatchOnce() {
+        // Given
+        RequestStatistics statistics = RequestStatistics.begin();
+
+        // When
+        jdbcTemplate.batchUpdate("INSERT INTO foods (id, quantity) VALUES (?, ?)",
+                List.of(new Object[] {1L, 100}, new Object[] {2L, 200}));
+        Integer total = jdbcTemplate.queryForObject("SELECT SUM(quantity) FROM foods WHERE id > ?", Integer.class, 0);
+        jdbcTemplate.queryForList("SELECT id FROM foods");
+
+        // Then
+        assertEquals(300, total);
+        assertEquals(3, statistics.statements(SqlStatementCounter.PRIMARY));
+        assertEquals(0, statistics.statements(SqlStatementCounter.FOOD_CATEGORIES));
+    }
+
+    @Test
+    void plainStatement_ShouldCountEachExecutionAndBatchedSql() throws Exception {
+        // Given
+        RequestStatistics statistics = RequestStatistics.begin();
+
+        // When
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.executeUpdate("INSERT INTO foods (id, quantity) VALUES (1, 100)");
+            statement.addBatch("UPDATE foods SET quantity = 110 WHERE id = 1");
+            statement.addBatch("UPDATE foods SET quantity = 120 WHERE id = 1");
+            statement.executeBatch();
+        }
+
+        // Then
+        assertEquals(3, statistics.statements(SqlStatementCounter.PRIMARY));
+        assertEquals(120, jdbcTemplate.queryForObject("SELECT quantity FROM foods WHERE id = 1", Integer.class));
+    }
+
+    @Test
+    void connection_ShouldOnlyEqualItself() throws Exception {
+        // When
+        try (Connection connection = dataSource.getConnection()) {
+            // Then
+            assertEquals(connection, connection);
+            assertEquals(System.identityHashCode(connection), connection.hashCode());
+            assertFalse(connection.isClosed());
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package org.example.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DateIdCursorTest {
+
+    @Test
+    void parse_ShouldReadWhatToStringWrites() {
+        // Given
+        DateIdCursor cursor = new DateIdCursor(LocalDate.of(2024, 5, 1), 123L);
+
+        // When
+        DateIdCursor parsed = DateIdCursor.parse(cursor.toString());
+
+        // Then
+        assertEquals("2024-05-01_123", cursor.toString());
+        assertEquals(cursor, parsed);
+    }
+
+    @Test
+    void parse_WithInvalidValue_ShouldThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> DateIdCursor.parse("not-a-cursor"));
+        assertThrows(IllegalArgumentException.class, () -> DateIdCursor.parse("2024-13-01_1"));
+        assertThrows(IllegalArgumentException.class, () -> DateIdCursor.parse("2024-05-01_abc"));
+        assertThrows(IllegalArgumentException.class, () -> DateIdCursor.parse("_1"));
+    }
+}